@@ -1,8 +1,29 @@
+import cacheUtil.BlobCache;
+import changeDetector.MethodChangeDetector;
+import changeDetector.MethodChangeDetectors;
+import githubRepo.GithubRepoBatchAnalyzer;
 import githubRepo.GithubRepoJavaFileAnalyzer;
+import javaParserHelper.MethodSignatureCache;
 import org.apache.commons.collections4.iterators.PeekingIterator;
+import outputSink.FlushPolicy;
+import outputSink.OutputFormat;
+import repoSource.CachingRepoSource;
+import repoSource.FilePathFilter;
+import repoSource.GithubRepoSource;
+import repoSource.LocalGitRepoSource;
+import repoSource.RepoSource;
+import restApi.HttpTransport;
+import restApi.JavaHttpTransport;
+import restApi.ApiToken;
+import restApi.ResponseCache;
+import restApi.TokenPool;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.NoSuchElementException;
 
 /**
@@ -25,19 +46,28 @@ public class ConsoleStarter {
                 " of Java source files in the commits of the master branch of any GitHub repository.");
 
         System.out.println();
-        System.out.println("Usage arguments: repo_full_name [-u username password]" +
-                " [-p processed_commit_limit] [-t thread_count]");
+        printUsage();
+
         System.out.println();
 
-        System.out.println("The output CSV file and a state file (which includes the last processed commit's SHA value)" +
+        System.out.println("The output file (CSV by default) and a state file (which includes the next commit's SHA value and the lengths of the output files)" +
                 " will be created in the current directory. Both of the file names will contain repo_full_name as prefix.");
+        System.out.println("A manifest file lists a repo_full_name on each line (optionally followed by local_git_directory)," +
+                " and all of the repositories are analyzed in one run.");
     }
 
     private static void processWithArguments(String[] args) throws NoSuchElementException {
         PeekingIterator<String> argIterator = new PeekingIterator<>(Arrays.asList(args).iterator());
 
-        // repo_full_name
-        final String repoFullName = argIterator.next();
+        // (repo_full_name | -b manifest_file)
+        String repoFullName = "";
+        String manifestFileName = "";
+        if ("-b".equals(argIterator.peek().toLowerCase())) {
+            argIterator.next();
+            manifestFileName = argIterator.next();
+        } else {
+            repoFullName = argIterator.next();
+        }
 
         // [-u username password]
         String username = "";
@@ -48,6 +78,13 @@ public class ConsoleStarter {
             password = argIterator.next();
         }
 
+        // [-k token_file | -k env:VARIABLE_NAME]
+        String tokenSource = "";
+        if (argIterator.hasNext() && "-k".equals(argIterator.peek().toLowerCase())) {
+            argIterator.next();
+            tokenSource = argIterator.next();
+        }
+
         // [-p processed_commit_limit]
         long processedCommitLimit = 0L;
         if (argIterator.hasNext() && "-p".equals(argIterator.peek().toLowerCase())) {
@@ -59,6 +96,46 @@ public class ConsoleStarter {
             }
         }
 
+        // [-i include_globs]
+        List<String> includeGlobs = new ArrayList<>();
+        if (argIterator.hasNext() && "-i".equals(argIterator.peek().toLowerCase())) {
+            argIterator.next();
+            includeGlobs = FilePathFilter.splitGlobs(argIterator.next());
+        }
+
+        // [-x exclude_globs]
+        List<String> excludeGlobs = new ArrayList<>();
+        if (argIterator.hasNext() && "-x".equals(argIterator.peek().toLowerCase())) {
+            argIterator.next();
+            excludeGlobs = FilePathFilter.splitGlobs(argIterator.next());
+        }
+
+        // [-d detector_names]
+        List<MethodChangeDetector> methodChangeDetectors = new ArrayList<>();
+        if (argIterator.hasNext() && "-d".equals(argIterator.peek().toLowerCase())) {
+            argIterator.next();
+            try {
+                methodChangeDetectors = MethodChangeDetectors.getDetectors(Arrays.asList(argIterator.next().trim().split("\\s*,\\s*")));
+            } catch (IllegalArgumentException e) {
+                System.err.println(e.getMessage());
+                printUsage();
+                return;
+            }
+        }
+
+        // [-o output_format]
+        OutputFormat outputFormat = null;
+        if (argIterator.hasNext() && "-o".equals(argIterator.peek().toLowerCase())) {
+            argIterator.next();
+            try {
+                outputFormat = OutputFormat.fromName(argIterator.next());
+            } catch (IllegalArgumentException e) {
+                System.err.println(e.getMessage());
+                printUsage();
+                return;
+            }
+        }
+
         // [-t thread_count]
         int threadCount = 0;
         if (argIterator.hasNext() && "-t".equals(argIterator.peek().toLowerCase())) {
@@ -70,14 +147,289 @@ public class ConsoleStarter {
             }
         }
 
+        // [-pt parse_thread_count]
+        int parseThreadCount = 0;
+        if (argIterator.hasNext() && "-pt".equals(argIterator.peek().toLowerCase())) {
+            argIterator.next();
+            try {
+                parseThreadCount = Integer.parseInt(argIterator.next());
+            } catch (NumberFormatException e) {
+                e.printStackTrace();
+            }
+        }
+
+        // [-vt max_in_flight_fetch_count]
+        int maxInFlightFetchCount = 0;
+        if (argIterator.hasNext() && "-vt".equals(argIterator.peek().toLowerCase())) {
+            argIterator.next();
+            try {
+                maxInFlightFetchCount = Integer.parseInt(argIterator.next());
+            } catch (NumberFormatException e) {
+                e.printStackTrace();
+            }
+        }
+
+        // [-hc max_requests_per_host]
+        int maxRequestsPerHost = 0;
+        if (argIterator.hasNext() && "-hc".equals(argIterator.peek().toLowerCase())) {
+            argIterator.next();
+            try {
+                maxRequestsPerHost = Integer.parseInt(argIterator.next());
+            } catch (NumberFormatException e) {
+                e.printStackTrace();
+            }
+        }
+
+        // [-l lookahead_commit_count]
+        int lookaheadCommitCount = 0;
+        if (argIterator.hasNext() && "-l".equals(argIterator.peek().toLowerCase())) {
+            argIterator.next();
+            try {
+                lookaheadCommitCount = Integer.parseInt(argIterator.next());
+            } catch (NumberFormatException e) {
+                e.printStackTrace();
+            }
+        }
+
+        // [-r commit_range_count]
+        int commitRangeCount = 0;
+        if (argIterator.hasNext() && "-r".equals(argIterator.peek().toLowerCase())) {
+            argIterator.next();
+            try {
+                commitRangeCount = Integer.parseInt(argIterator.next());
+            } catch (NumberFormatException e) {
+                e.printStackTrace();
+            }
+        }
+
+        // [-ci checkpoint_commit_interval]
+        int checkpointCommitInterval = 0;
+        if (argIterator.hasNext() && "-ci".equals(argIterator.peek().toLowerCase())) {
+            argIterator.next();
+            try {
+                checkpointCommitInterval = Integer.parseInt(argIterator.next());
+            } catch (NumberFormatException e) {
+                e.printStackTrace();
+            }
+        }
+
+        // [-f flush_policy]
+        FlushPolicy flushPolicy = null;
+        if (argIterator.hasNext() && "-f".equals(argIterator.peek().toLowerCase())) {
+            argIterator.next();
+            try {
+                flushPolicy = FlushPolicy.parse(argIterator.next());
+            } catch (IllegalArgumentException e) {
+                System.err.println(e.getMessage());
+                printUsage();
+                return;
+            }
+        }
+
+        // [-g local_git_directory]
+        String localGitDirectory = "";
+        if (argIterator.hasNext() && "-g".equals(argIterator.peek().toLowerCase())) {
+            argIterator.next();
+            localGitDirectory = argIterator.next();
+        }
+
+        // [-c blob_cache_directory]
+        String blobCacheDirectory = "";
+        if (argIterator.hasNext() && "-c".equals(argIterator.peek().toLowerCase())) {
+            argIterator.next();
+            blobCacheDirectory = argIterator.next();
+        }
+
+        // [-m blob_cache_memory_mb]
+        long blobCacheMemoryMb = 0L;
+        if (argIterator.hasNext() && "-m".equals(argIterator.peek().toLowerCase())) {
+            argIterator.next();
+            try {
+                blobCacheMemoryMb = Long.parseLong(argIterator.next());
+            } catch (NumberFormatException e) {
+                e.printStackTrace();
+            }
+        }
+
+        // [-rc response_cache_directory]
+        String responseCacheDirectory = "";
+        if (argIterator.hasNext() && "-rc".equals(argIterator.peek().toLowerCase())) {
+            argIterator.next();
+            responseCacheDirectory = argIterator.next();
+        }
+
+        // [-bc concurrent_repo_count]
+        int concurrentRepoCount = 0;
+        if (argIterator.hasNext() && "-bc".equals(argIterator.peek().toLowerCase())) {
+            argIterator.next();
+            try {
+                concurrentRepoCount = Integer.parseInt(argIterator.next());
+            } catch (NumberFormatException e) {
+                e.printStackTrace();
+            }
+        }
+
+        // [-cw]
+        boolean compareWindowSkipEnabled = false;
+        if (argIterator.hasNext() && "-cw".equals(argIterator.peek().toLowerCase())) {
+            argIterator.next();
+            compareWindowSkipEnabled = true;
+        }
+
+        // [-np]
+        boolean patchCheckEnabled = true;
+        if (argIterator.hasNext() && "-np".equals(argIterator.peek().toLowerCase())) {
+            argIterator.next();
+            patchCheckEnabled = false;
+        }
+
+        List<GithubRepoBatchAnalyzer.BatchRepo> batchRepos;
+        if (manifestFileName.isEmpty()) {
+            batchRepos = Collections.singletonList(new GithubRepoBatchAnalyzer.BatchRepo(repoFullName, localGitDirectory));
+        } else {
+            try {
+                batchRepos = GithubRepoBatchAnalyzer.readManifest(new File(manifestFileName));
+            } catch (IOException e) {
+                e.printStackTrace();
+                return;
+            }
+        }
+
+        File blobCacheDiskDirectory = blobCacheDirectory.isEmpty() ? null : new File(blobCacheDirectory);
+        BlobCache blobCache = (blobCacheMemoryMb != 0L) ?
+                new BlobCache(blobCacheMemoryMb * 1024L * 1024L, blobCacheDiskDirectory) :
+                new BlobCache(blobCacheDiskDirectory);
+
+        List<ApiToken> apiTokens = new ArrayList<>();
+        if (!username.isEmpty() && !password.isEmpty())
+            apiTokens.add(ApiToken.ofBasic(username, password));
+        if (!tokenSource.isEmpty()) {
+            try {
+                apiTokens.addAll(TokenPool.readApiTokens(tokenSource));
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        TokenPool tokenPool = new TokenPool(apiTokens);
+
+        ResponseCache responseCache = responseCacheDirectory.isEmpty() ? null : new ResponseCache(new File(responseCacheDirectory));
+
+        // all of the repositories share the API budget, the connections and the caches
+        HttpTransport httpTransport = null;
+        MethodSignatureCache methodSignatureCache = new MethodSignatureCache();
+        List<GithubRepoSource> githubRepoSources = new ArrayList<>();
+        List<GithubRepoJavaFileAnalyzer> githubRepoJavaFileAnalyzers = new ArrayList<>();
+        List<GithubRepoBatchAnalyzer.RepoResult> repoResults = new ArrayList<>();  // of the repositories which cannot be opened
+
         try {
-            GithubRepoJavaFileAnalyzer githubRepoJavaFileAnalyzer = new GithubRepoJavaFileAnalyzer(repoFullName, username, password);
+            for (GithubRepoBatchAnalyzer.BatchRepo batchRepo : batchRepos) {
+                GithubRepoSource githubRepoSource = null;
+                if (batchRepo.localGitDirectory.isEmpty()) {
+                    if (httpTransport == null)
+                        httpTransport = (maxRequestsPerHost != 0) ? new JavaHttpTransport(maxRequestsPerHost) : new JavaHttpTransport();
 
-            if (threadCount != 0)
-                githubRepoJavaFileAnalyzer.setThreadCount(threadCount);
+                    githubRepoSource = new GithubRepoSource(batchRepo.repoFullName, tokenPool, httpTransport);
+                    githubRepoSource.getRestApiClient().getRestApiClient().setResponseCache(responseCache);
+                    githubRepoSource.setCompareWindowSkipEnabled(compareWindowSkipEnabled);
+                    githubRepoSources.add(githubRepoSource);
+                }
 
-            githubRepoJavaFileAnalyzer.analyzeJavaFileMethodParameterInMasterBranchCommits(processedCommitLimit);
-            System.out.println("Success!");
+                RepoSource repoSource;
+                try {
+                    repoSource = new CachingRepoSource((githubRepoSource != null) ?
+                            githubRepoSource : new LocalGitRepoSource(batchRepo.repoFullName, new File(batchRepo.localGitDirectory)), blobCache);
+                } catch (IOException e) {
+                    if (manifestFileName.isEmpty())
+                        throw e;
+
+                    // the other repositories of a batch are still analyzed
+                    e.printStackTrace();
+                    repoResults.add(new GithubRepoBatchAnalyzer.RepoResult(batchRepo.repoFullName, e, 0L, 0L, 0L, 0L));
+                    continue;
+                }
+                GithubRepoJavaFileAnalyzer githubRepoJavaFileAnalyzer = new GithubRepoJavaFileAnalyzer(repoSource);
+                githubRepoJavaFileAnalyzers.add(githubRepoJavaFileAnalyzer);
+
+                githubRepoJavaFileAnalyzer.setMethodSignatureCache(methodSignatureCache);
+                githubRepoJavaFileAnalyzer.setPatchCheckEnabled(patchCheckEnabled);
+
+                if (threadCount != 0)
+                    githubRepoJavaFileAnalyzer.setThreadCount(threadCount);
+
+                if (parseThreadCount != 0)
+                    githubRepoJavaFileAnalyzer.setParseThreadCount(parseThreadCount);
+
+                // a GitHub download never blocks a thread, so it ignores the download threads (its number is still limited by -t)
+                if ((maxInFlightFetchCount != 0) && (githubRepoSource == null)) {
+                    githubRepoJavaFileAnalyzer.setVirtualThreadsEnabled(true);
+                    githubRepoJavaFileAnalyzer.setMaxInFlightFetchCount(maxInFlightFetchCount);
+                } else if (maxInFlightFetchCount != 0) {
+                    System.err.println("Virtual threads are not used for " + batchRepo.repoFullName +
+                            ", because GitHub downloads are asynchronous (use -t to limit them).");
+                }
+
+                if (lookaheadCommitCount != 0)
+                    githubRepoJavaFileAnalyzer.setLookaheadCommitCount(lookaheadCommitCount);
+
+                if (commitRangeCount != 0)
+                    githubRepoJavaFileAnalyzer.setCommitRangeCount(commitRangeCount);
+
+                if (checkpointCommitInterval != 0)
+                    githubRepoJavaFileAnalyzer.setCheckpointCommitInterval(checkpointCommitInterval);
+
+                if (flushPolicy != null)
+                    githubRepoJavaFileAnalyzer.setFlushPolicy(flushPolicy);
+
+                if (!includeGlobs.isEmpty() || !excludeGlobs.isEmpty()) {
+                    githubRepoJavaFileAnalyzer.setFilePathFilter(new FilePathFilter(
+                            includeGlobs.isEmpty() ? Collections.singletonList(FilePathFilter.JAVA_FILES_GLOB) : includeGlobs,
+                            excludeGlobs));
+                }
+
+                if (!methodChangeDetectors.isEmpty())
+                    githubRepoJavaFileAnalyzer.setMethodChangeDetectors(methodChangeDetectors);
+
+                if (outputFormat != null)
+                    githubRepoJavaFileAnalyzer.setOutputFormat(outputFormat);
+            }
+
+            if (manifestFileName.isEmpty()) {
+                githubRepoJavaFileAnalyzers.get(0).analyzeJavaFileMethodParameterInMasterBranchCommits(processedCommitLimit);
+                System.out.println("Success!");
+            } else {
+                GithubRepoBatchAnalyzer githubRepoBatchAnalyzer = new GithubRepoBatchAnalyzer(githubRepoJavaFileAnalyzers);
+                if (concurrentRepoCount != 0)
+                    githubRepoBatchAnalyzer.setConcurrentRepoCount(concurrentRepoCount);
+
+                repoResults.addAll(githubRepoBatchAnalyzer.analyze(processedCommitLimit));
+                printBatchSummary(repoResults);
+            }
+
+            long patchSkippedFileCount = 0L;
+            for (GithubRepoJavaFileAnalyzer githubRepoJavaFileAnalyzer : githubRepoJavaFileAnalyzers) {
+                patchSkippedFileCount += githubRepoJavaFileAnalyzer.getPatchSkippedFileCount();
+            }
+
+            System.out.println("Blob cache: " + blobCache);
+            System.out.println("Parse cache: " + methodSignatureCache);
+            System.out.println("Files skipped by their patches: " + patchSkippedFileCount +
+                    " (file versions neither downloaded nor parsed: " + 2L * patchSkippedFileCount + ")");
+            if (!githubRepoSources.isEmpty()) {
+                long skippedCommitCount = 0L;
+                long pagedCommitCount = 0L;
+                long extraFilePageCount = 0L;
+                for (GithubRepoSource githubRepoSource : githubRepoSources) {
+                    skippedCommitCount += githubRepoSource.getSkippedCommitCount();
+                    pagedCommitCount += githubRepoSource.getRepoHelper().getPagedCommitCount();
+                    extraFilePageCount += githubRepoSource.getRepoHelper().getExtraFilePageCount();
+                }
+
+                System.out.println("API budget:\n    " + tokenPool);
+                System.out.println("Commits skipped without Java changes: " + skippedCommitCount);
+                System.out.println("Commits with paged file lists: " + pagedCommitCount + " (extra pages: " + extraFilePageCount + ")");
+            }
+            if (responseCache != null)
+                System.out.println("Response cache: " + responseCache);
         } catch (Exception e) {
             e.printStackTrace();
 
@@ -88,6 +440,56 @@ public class ConsoleStarter {
             } catch (IOException e1) {
                 e1.printStackTrace();
             }
+        } finally {
+            for (GithubRepoJavaFileAnalyzer githubRepoJavaFileAnalyzer : githubRepoJavaFileAnalyzers) {
+                try {
+                    githubRepoJavaFileAnalyzer.getRepoSource().close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * This method shows the usage arguments, and the names accepted by the options.
+     */
+    private static void printUsage() {
+        System.out.println("Usage arguments: (repo_full_name | -b manifest_file) [-u username password] [-k token_file | -k env:VARIABLE_NAME]" +
+                " [-p processed_commit_limit] [-i include_globs] [-x exclude_globs] [-d detector_names] [-o output_format] [-t thread_count] [-pt parse_thread_count] [-vt max_in_flight_fetch_count]" +
+                " [-hc max_requests_per_host] [-l lookahead_commit_count] [-r commit_range_count] [-ci checkpoint_commit_interval]" +
+                " [-f flush_policy] [-g local_git_directory] [-c blob_cache_directory] [-m blob_cache_memory_mb]" +
+                " [-rc response_cache_directory] [-bc concurrent_repo_count] [-cw] [-np]");
+        System.out.println();
+
+        System.out.println("Change detectors: " + String.join(", ", MethodChangeDetectors.getDetectorNames()));
+        System.out.println("Output formats: " + String.join(", ", OutputFormat.getFormatNames()));
+        System.out.println("Flush policy: a comma separated list of size:<KB>, time:<milliseconds> and commit");
+    }
+
+    /**
+     * This method shows the result of each repository of a batch and their totals.
+     *
+     * @param repoResults results of the repositories
+     */
+    private static void printBatchSummary(List<GithubRepoBatchAnalyzer.RepoResult> repoResults) {
+        long failedRepoCount = 0L;
+        long processedCommitCount = 0L;
+        long methodChangeCount = 0L;
+
+        System.out.println("Repositories:");
+        for (GithubRepoBatchAnalyzer.RepoResult repoResult : repoResults) {
+            System.out.println("    " + repoResult);
+
+            if (repoResult.failure != null)
+                failedRepoCount++;
+            processedCommitCount += repoResult.processedCommitCount;
+            methodChangeCount += repoResult.methodChangeCount;
         }
+
+        System.out.println("Total: " + repoResults.size() + " repositories (failed: " + failedRepoCount + "), commits: " +
+                processedCommitCount + ", method changes: " + methodChangeCount);
+        if (failedRepoCount == 0L)
+            System.out.println("Success!");
     }
 }
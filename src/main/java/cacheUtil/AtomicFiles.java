@@ -0,0 +1,92 @@
+package cacheUtil;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class writes files atomically, so an interrupted write never leaves a torn file.
+ */
+public class AtomicFiles {
+    //region constant variables
+
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    //endregion
+
+
+    //region static methods
+
+    /**
+     * This method writes bytes into a temporary file next to the target file, and then renames it to the target file.
+     *
+     * @param path  path of the target file
+     * @param bytes bytes to write
+     * @throws IOException if any error occurs while writing
+     */
+    public static void write(Path path, byte[] bytes) throws IOException {
+        write(path, bytes, false);
+    }
+
+    /**
+     * This method writes bytes atomically like {@link #write(Path, byte[])}, and also forces the bytes
+     * and the rename to the storage device, so the file survives a crash of the operating system as well.
+     *
+     * @param path  path of the target file
+     * @param bytes bytes to write
+     * @throws IOException if any error occurs while writing
+     */
+    public static void writeSynced(Path path, byte[] bytes) throws IOException {
+        write(path, bytes, true);
+    }
+
+    //endregion
+
+
+    //region helper methods
+
+    private static void write(Path path, byte[] bytes, boolean synced) throws IOException {
+        Path parentPath = path.toAbsolutePath().getParent();
+        Files.createDirectories(parentPath);
+
+        Path tempPath = Files.createTempFile(parentPath, path.getFileName().toString(), TEMP_FILE_SUFFIX);
+        try {
+            if (synced) {
+                try (FileChannel fileChannel = FileChannel.open(tempPath, StandardOpenOption.WRITE)) {
+                    ByteBuffer byteBuffer = ByteBuffer.wrap(bytes);
+                    while (byteBuffer.hasRemaining()) {
+                        fileChannel.write(byteBuffer);
+                    }
+                    fileChannel.force(true);
+                }
+            } else {
+                Files.write(tempPath, bytes);
+            }
+
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempPath);
+        }
+
+        if (synced)
+            syncDirectory(parentPath);
+    }
+
+    /**
+     * This method forces the entries of a directory (such as a rename) to the storage device.
+     * Some platforms (like Windows) cannot open a directory, and then nothing is done.
+     */
+    private static void syncDirectory(Path directoryPath) {
+        try (FileChannel directoryChannel = FileChannel.open(directoryPath, StandardOpenOption.READ)) {
+            directoryChannel.force(true);
+        } catch (IOException ignored) {
+            // the rename is still atomic, only its durability depends on the platform
+        }
+    }
+
+    //endregion
+}
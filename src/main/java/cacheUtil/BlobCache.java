@@ -0,0 +1,177 @@
+package cacheUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * This class caches text blobs (such as file versions) by key. It has an in-memory LRU tier limited by size in bytes,
+ * and an optional on-disk tier which survives restarts. Concurrent loads of a same key are done only once.
+ */
+public class BlobCache {
+    //region constant variables
+
+    private static final long DEFAULT_MAX_MEMORY_BYTES = 64L * 1024L * 1024L;
+
+    //endregion
+
+
+    //region variables
+
+    private final File diskDirectory;
+
+    private final LruCache<String, String> memoryTier;
+
+    private final AtomicLong diskHitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    //endregion
+
+
+    //region constructors
+
+    /**
+     * @param maxMemoryBytes maximum size of the in-memory tier in bytes
+     * @param diskDirectory  directory of the on-disk tier (here, null means no on-disk tier)
+     */
+    public BlobCache(long maxMemoryBytes, File diskDirectory) {
+        this.diskDirectory = diskDirectory;
+        this.memoryTier = new LruCache<>(maxMemoryBytes, blob -> 2L * blob.length());
+    }
+
+    public BlobCache(File diskDirectory) {
+        this(DEFAULT_MAX_MEMORY_BYTES, diskDirectory);
+    }
+
+    public BlobCache() {
+        this(DEFAULT_MAX_MEMORY_BYTES, null);
+    }
+
+    //endregion
+
+
+    //region stats getter methods
+
+    public long getMemoryHitCount() {
+        return memoryTier.getHitCount();
+    }
+
+    public long getDiskHitCount() {
+        return diskHitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * This method returns the ratio of requests served from any tier of the cache.
+     *
+     * @return hit rate between 0 and 1
+     */
+    public double getHitRate() {
+        long hitCount = getMemoryHitCount() + getDiskHitCount();
+        long requestCount = hitCount + getMissCount();
+
+        return (requestCount == 0L) ? 0.0 : ((double) hitCount / requestCount);
+    }
+
+    //endregion
+
+
+    //region methods
+
+    /**
+     * This method returns the cached blob of a key, or loads and caches it if it is not cached yet.
+     *
+     * @param key    key of the blob
+     * @param loader loader of the blob when it is not cached
+     * @return the blob
+     * @throws Exception if the loader fails
+     */
+    public String get(String key, Callable<String> loader) throws Exception {
+        return memoryTier.get(key, () -> {
+            String blob = getFromDisk(key);
+            if (blob != null) {
+                diskHitCount.incrementAndGet();
+                return blob;
+            }
+
+            missCount.incrementAndGet();
+            blob = loader.call();
+            putToDisk(key, blob);
+            return blob;
+        });
+    }
+
+    /**
+     * This method returns the cached blob of a key, or loads and caches it asynchronously if it is not cached yet.
+     *
+     * @param key    key of the blob
+     * @param loader asynchronous loader of the blob when it is not cached
+     * @return future of the blob
+     */
+    public CompletableFuture<String> getAsync(String key, Supplier<CompletableFuture<String>> loader) {
+        return memoryTier.getAsync(key, () -> {
+            try {
+                String blob = getFromDisk(key);
+                if (blob != null) {
+                    diskHitCount.incrementAndGet();
+                    return CompletableFuture.completedFuture(blob);
+                }
+            } catch (IOException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+
+            missCount.incrementAndGet();
+            return loader.get().thenApply(blob -> {
+                try {
+                    putToDisk(key, blob);
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+                return blob;
+            });
+        });
+    }
+
+    @Override
+    public String toString() {
+        return String.format("memory hits: %d, disk hits: %d, misses: %d, hit rate: %.1f%%",
+                getMemoryHitCount(), getDiskHitCount(), getMissCount(), getHitRate() * 100.0);
+    }
+
+    //endregion
+
+
+    //region helper methods
+
+    private String getFromDisk(String key) throws IOException {
+        if (diskDirectory == null) return null;
+
+        Path blobPath = getDiskPath(key);
+        if (!Files.isRegularFile(blobPath)) return null;
+
+        return new String(Files.readAllBytes(blobPath), StandardCharsets.UTF_8);
+    }
+
+    private void putToDisk(String key, String blob) throws IOException {
+        if (diskDirectory == null) return;
+
+        AtomicFiles.write(getDiskPath(key), blob.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Path getDiskPath(String key) {
+        String keyDigest = ContentDigest.getHexDigest(key);
+        return diskDirectory.toPath().resolve(keyDigest.substring(0, 2)).resolve(keyDigest.substring(2));
+    }
+
+    //endregion
+}
@@ -0,0 +1,46 @@
+package cacheUtil;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * This class creates compact digests of text contents to be used as cache keys.
+ */
+public class ContentDigest {
+    //region constant variables
+
+    private static final String DIGEST_ALGORITHM = "SHA-1";
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    //endregion
+
+
+    //region static methods
+
+    /**
+     * This method returns the hexadecimal SHA-1 digest of a text.
+     *
+     * @param text text
+     * @return the hexadecimal SHA-1 digest of the text
+     */
+    public static String getHexDigest(String text) {
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance(DIGEST_ALGORITHM).digest(text.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        char[] hexDigest = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; i++) {
+            hexDigest[i * 2] = HEX_DIGITS[(digest[i] >> 4) & 0x0F];
+            hexDigest[i * 2 + 1] = HEX_DIGITS[digest[i] & 0x0F];
+        }
+
+        return new String(hexDigest);
+    }
+
+    //endregion
+}
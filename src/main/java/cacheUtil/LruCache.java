@@ -0,0 +1,199 @@
+package cacheUtil;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * This class is an in-memory LRU cache limited by the total weight (such as estimated size in bytes) of its values.
+ * Concurrent loads of a same key are done only once.
+ *
+ * @param <K> type of keys
+ * @param <V> type of values
+ */
+public class LruCache<K, V> {
+    //region variables
+
+    private final long maxWeight;
+    private final ToLongFunction<V> weigher;
+
+    private final LinkedHashMap<K, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight = 0L;
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> loadingValues = new ConcurrentHashMap<>();
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    //endregion
+
+
+    //region constructors
+
+    /**
+     * @param maxWeight maximum total weight of the cached values
+     * @param weigher   function which returns the weight of a value
+     */
+    public LruCache(long maxWeight, ToLongFunction<V> weigher) {
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    //endregion
+
+
+    //region stats getter methods
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    //endregion
+
+
+    //region methods
+
+    /**
+     * This method returns the cached value of a key, or loads and caches it if it is not cached yet.
+     * If the same key is being loaded by another thread, this method waits for that load instead of loading again.
+     *
+     * @param key    key of the value
+     * @param loader loader of the value when it is not cached
+     * @return the value
+     * @throws Exception if the loader fails
+     */
+    public V get(K key, Callable<V> loader) throws Exception {
+        V value = getIfPresent(key);
+        if (value != null) {
+            hitCount.incrementAndGet();
+            return value;
+        }
+
+        CompletableFuture<V> loadingValue = new CompletableFuture<>();
+        CompletableFuture<V> existingLoadingValue = loadingValues.putIfAbsent(key, loadingValue);
+        if (existingLoadingValue != null) {
+            hitCount.incrementAndGet();
+            return getLoadedValue(existingLoadingValue);
+        }
+
+        missCount.incrementAndGet();
+        try {
+            value = loader.call();
+            put(key, value);
+
+            loadingValue.complete(value);
+            return value;
+        } catch (Exception e) {
+            loadingValue.completeExceptionally(e);
+            throw e;
+        } finally {
+            loadingValues.remove(key);
+        }
+    }
+
+    /**
+     * This method returns the cached value of a key, or loads and caches it asynchronously if it is not cached yet.
+     * If the same key is being loaded, this method returns the future of that load instead of loading again.
+     *
+     * @param key    key of the value
+     * @param loader asynchronous loader of the value when it is not cached
+     * @return future of the value
+     */
+    public CompletableFuture<V> getAsync(K key, Supplier<CompletableFuture<V>> loader) {
+        V value = getIfPresent(key);
+        if (value != null) {
+            hitCount.incrementAndGet();
+            return CompletableFuture.completedFuture(value);
+        }
+
+        CompletableFuture<V> loadingValue = new CompletableFuture<>();
+        CompletableFuture<V> existingLoadingValue = loadingValues.putIfAbsent(key, loadingValue);
+        if (existingLoadingValue != null) {
+            hitCount.incrementAndGet();
+            return existingLoadingValue;
+        }
+
+        missCount.incrementAndGet();
+        CompletableFuture<V> loadedValue;
+        try {
+            loadedValue = loader.get();
+        } catch (RuntimeException e) {
+            loadedValue = CompletableFuture.failedFuture(e);
+        }
+
+        loadedValue.whenComplete((newValue, throwable) -> {
+            if (throwable == null)
+                put(key, newValue);
+            loadingValues.remove(key);
+
+            if (throwable == null)
+                loadingValue.complete(newValue);
+            else
+                loadingValue.completeExceptionally(throwable);
+        });
+
+        return loadingValue;
+    }
+
+    public synchronized V getIfPresent(K key) {
+        return entries.get(key);
+    }
+
+    /**
+     * This method caches a value and evicts the least recently used values while the total weight exceeds the limit.
+     * A value heavier than the limit itself is not cached.
+     *
+     * @param key   key of the value
+     * @param value the value
+     */
+    public synchronized void put(K key, V value) {
+        long valueWeight = weigher.applyAsLong(value);
+        if (valueWeight > maxWeight) return;
+
+        V oldValue = entries.put(key, value);
+        if (oldValue != null)
+            weight -= weigher.applyAsLong(oldValue);
+        weight += valueWeight;
+
+        Iterator<Map.Entry<K, V>> iterator = entries.entrySet().iterator();
+        while ((weight > maxWeight) && iterator.hasNext()) {
+            weight -= weigher.applyAsLong(iterator.next().getValue());
+            iterator.remove();
+        }
+    }
+
+    //endregion
+
+
+    //region helper methods
+
+    private static <V> V getLoadedValue(CompletableFuture<V> loadingValue) throws Exception {
+        try {
+            return loadingValue.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw (cause instanceof Exception) ? (Exception) cause : e;
+        }
+    }
+
+    //endregion
+}
@@ -0,0 +1,41 @@
+package changeDetector;
+
+import javaParserHelper.MethodStruct;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class detects the added methods, namely the added signatures whose scope path and name
+ * have no removed signature (so a changed signature of an existing method is not an added method).
+ * A renamed method is reported as an added method as well.
+ */
+public class AddedMethodDetector implements MethodChangeDetector {
+    //region constant variables
+
+    public static final String NAME = "addedMethod";
+
+    //endregion
+
+
+    //region override methods
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public List<MethodChange> detectChanges(MethodSignatureComparison comparison) {
+        List<MethodChange> changes = new ArrayList<>();
+
+        for (MethodStruct addedMethodStruct : comparison.getAddedMethodStructs()) {
+            if (!comparison.hasRemovedMethodOfSameName(addedMethodStruct))
+                changes.add(new MethodChange(null, addedMethodStruct));
+        }
+
+        return changes;
+    }
+
+    //endregion
+}
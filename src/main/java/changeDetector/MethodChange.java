@@ -0,0 +1,25 @@
+package changeDetector;
+
+import javaParserHelper.MethodStruct;
+
+/**
+ * This class is the structure of a method signature change between two versions of a Java file.
+ */
+public class MethodChange {
+    //region variables
+
+    public final MethodStruct oldMethodStruct;  // null if the method has been added
+    public final MethodStruct newMethodStruct;  // null if the method has been removed
+
+    //endregion
+
+
+    //region constructors
+
+    public MethodChange(MethodStruct oldMethodStruct, MethodStruct newMethodStruct) {
+        this.oldMethodStruct = oldMethodStruct;
+        this.newMethodStruct = newMethodStruct;
+    }
+
+    //endregion
+}
@@ -0,0 +1,39 @@
+package changeDetector;
+
+import java.util.List;
+
+/**
+ * This interface detects one kind of method signature changes between two versions of a Java file.
+ * Several detectors share the same comparison of a parsed file pair, so all of the change kinds
+ * are detected in a single run. A detector is called from several parse threads at the same time,
+ * so it should not keep any state.
+ */
+public interface MethodChangeDetector {
+    //region methods
+
+    /**
+     * This method returns the name of the detector, which is used to select the detector and to name its output file.
+     *
+     * @return the name of the detector
+     */
+    String getName();
+
+    /**
+     * This method detects the changes of a file pair.
+     *
+     * @param comparison comparison of the method signatures of both versions of a file
+     * @return the detected changes (in the order of the current version)
+     */
+    List<MethodChange> detectChanges(MethodSignatureComparison comparison);
+
+    /**
+     * This method returns the suffix of the output CSV file name (after the repository name).
+     *
+     * @return the suffix of the file name
+     */
+    default String getCsvFileSuffix() {
+        return "_" + getName() + ".csv";
+    }
+
+    //endregion
+}
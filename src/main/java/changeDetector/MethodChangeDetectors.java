@@ -0,0 +1,83 @@
+package changeDetector;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * This class creates the built-in change detectors by their names.
+ */
+public class MethodChangeDetectors {
+    //region constant variables
+
+    private static final Map<String, Supplier<MethodChangeDetector>> DETECTOR_SUPPLIERS = createDetectorSuppliers();
+
+    //endregion
+
+
+    //region static methods
+
+    /**
+     * @return the names of the built-in detectors
+     */
+    public static List<String> getDetectorNames() {
+        return Collections.unmodifiableList(new ArrayList<>(DETECTOR_SUPPLIERS.keySet()));
+    }
+
+    /**
+     * This method creates the default detectors, which detect the increases of method parameters.
+     *
+     * @return the default detectors
+     */
+    public static List<MethodChangeDetector> getDefaultDetectors() {
+        return Collections.singletonList(new ParameterIncreaseDetector());
+    }
+
+    /**
+     * This method creates the built-in detectors of the given names.
+     *
+     * @param detectorNames names of the detectors
+     * @return the detectors (in the same order)
+     * @throws IllegalArgumentException if any name is not a built-in detector, or is given more than once
+     *                                  (the detectors of a name would write to the same output file)
+     */
+    public static List<MethodChangeDetector> getDetectors(List<String> detectorNames) throws IllegalArgumentException {
+        List<MethodChangeDetector> detectors = new ArrayList<>(detectorNames.size());
+        Set<String> addedDetectorNames = new HashSet<>();
+        for (String detectorName : detectorNames) {
+            Supplier<MethodChangeDetector> detectorSupplier = DETECTOR_SUPPLIERS.get(detectorName);
+            if (detectorSupplier == null)
+                throw new IllegalArgumentException("Unknown change detector: " + detectorName + " (known: " + getDetectorNames() + ")");
+            if (!addedDetectorNames.add(detectorName))
+                throw new IllegalArgumentException("Duplicate change detector: " + detectorName);
+
+            detectors.add(detectorSupplier.get());
+        }
+
+        return detectors;
+    }
+
+    //endregion
+
+
+    //region helper methods
+
+    private static Map<String, Supplier<MethodChangeDetector>> createDetectorSuppliers() {
+        Map<String, Supplier<MethodChangeDetector>> detectorSuppliers = new LinkedHashMap<>();
+        detectorSuppliers.put(ParameterIncreaseDetector.NAME, ParameterIncreaseDetector::new);
+        detectorSuppliers.put(ParameterRemovalDetector.NAME, ParameterRemovalDetector::new);
+        detectorSuppliers.put(ParameterTypeChangeDetector.NAME, ParameterTypeChangeDetector::new);
+        detectorSuppliers.put(ReturnTypeChangeDetector.NAME, ReturnTypeChangeDetector::new);
+        detectorSuppliers.put(MethodRenameDetector.NAME, MethodRenameDetector::new);
+        detectorSuppliers.put(AddedMethodDetector.NAME, AddedMethodDetector::new);
+        detectorSuppliers.put(RemovedMethodDetector.NAME, RemovedMethodDetector::new);
+        return detectorSuppliers;
+    }
+
+    //endregion
+}
@@ -0,0 +1,54 @@
+package changeDetector;
+
+import javaParserHelper.MethodStruct;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * This class detects the methods which have been renamed. A method of a new name is paired with a method
+ * of a disappeared name in the same scope path, if both have the same return type and parameter types.
+ * Each removed method is paired at most once, in the order of the current version.
+ */
+public class MethodRenameDetector implements MethodChangeDetector {
+    //region constant variables
+
+    public static final String NAME = "methodRename";
+
+    //endregion
+
+
+    //region override methods
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public List<MethodChange> detectChanges(MethodSignatureComparison comparison) {
+        List<MethodChange> changes = new ArrayList<>();
+        Set<MethodStruct> pairedMethodStructs = new HashSet<>();
+
+        for (MethodStruct addedMethodStruct : comparison.getAddedMethodStructs()) {
+            if (comparison.hasPreviousMethodOfSameName(addedMethodStruct)) continue;  // not a new name
+
+            for (MethodStruct removedMethodStruct : comparison.getRemovedMethodStructs()) {
+                if (!comparison.hasCurrentMethodOfSameName(removedMethodStruct) &&
+                        removedMethodStruct.scopePath.equals(addedMethodStruct.scopePath) &&
+                        removedMethodStruct.returnType.equals(addedMethodStruct.returnType) &&
+                        removedMethodStruct.parameters.equals(addedMethodStruct.parameters) &&
+                        pairedMethodStructs.add(removedMethodStruct)) {
+                    changes.add(new MethodChange(removedMethodStruct, addedMethodStruct));
+                    break;
+                }
+            }
+        }
+
+        return changes;
+    }
+
+    //endregion
+}
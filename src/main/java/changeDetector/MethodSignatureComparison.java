@@ -0,0 +1,186 @@
+package changeDetector;
+
+import javaParserHelper.MethodNameKey;
+import javaParserHelper.MethodStruct;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This class compares the method signatures of two versions of a Java file once, and keeps the indexes
+ * which are shared by every change detector. A method is "added" if its exact signature is not in the previous
+ * version, and "removed" if its exact signature is not in the current version.
+ */
+public class MethodSignatureComparison {
+    //region variables
+
+    private final List<MethodStruct> previousMethodStructs;
+    private final List<MethodStruct> currentMethodStructs;
+
+    private final Map<MethodNameKey, List<MethodStruct>> previousMethodStructMap;
+
+    private final List<MethodStruct> addedMethodStructs;
+    private final List<MethodStruct> removedMethodStructs;
+    private final Map<MethodNameKey, List<MethodStruct>> removedMethodStructMap;
+    private final Map<MethodNameKey, List<MethodStruct>> removedMethodStructNameMap;
+
+    // keyed by the name keys regardless of the return types (see MethodStruct.sameNameKey)
+    private final Set<MethodNameKey> previousMethodNames;
+    private final Set<MethodNameKey> currentMethodNames;
+    private final Set<MethodNameKey> addedMethodNames;
+
+    //endregion
+
+
+    //region constructors
+
+    /**
+     * @param previousMethodStructs method signatures of the previous version
+     * @param currentMethodStructs  method signatures of the current version
+     */
+    public MethodSignatureComparison(List<MethodStruct> previousMethodStructs, List<MethodStruct> currentMethodStructs) {
+        this.previousMethodStructs = previousMethodStructs;
+        this.currentMethodStructs = currentMethodStructs;
+
+        Set<MethodStruct> previousMethodStructSet = new HashSet<>(previousMethodStructs);
+        Set<MethodStruct> currentMethodStructSet = new HashSet<>(currentMethodStructs);
+
+        this.previousMethodStructMap = new HashMap<>();
+        this.previousMethodNames = new HashSet<>();
+        this.removedMethodStructs = new ArrayList<>();
+        this.removedMethodStructMap = new HashMap<>();
+        this.removedMethodStructNameMap = new HashMap<>();
+        for (MethodStruct methodStruct : previousMethodStructs) {
+            addToMap(previousMethodStructMap, methodStruct.nameKey, methodStruct);
+            previousMethodNames.add(methodStruct.sameNameKey);
+
+            if (!currentMethodStructSet.contains(methodStruct)) {
+                removedMethodStructs.add(methodStruct);
+                addToMap(removedMethodStructMap, methodStruct.nameKey, methodStruct);
+                addToMap(removedMethodStructNameMap, methodStruct.sameNameKey, methodStruct);
+            }
+        }
+
+        this.currentMethodNames = new HashSet<>();
+        this.addedMethodStructs = new ArrayList<>();
+        this.addedMethodNames = new HashSet<>();
+        for (MethodStruct methodStruct : currentMethodStructs) {
+            currentMethodNames.add(methodStruct.sameNameKey);
+
+            if (!previousMethodStructSet.contains(methodStruct)) {
+                addedMethodStructs.add(methodStruct);
+                addedMethodNames.add(methodStruct.sameNameKey);
+            }
+        }
+    }
+
+    //endregion
+
+
+    //region getter methods
+
+    public List<MethodStruct> getPreviousMethodStructs() {
+        return previousMethodStructs;
+    }
+
+    public List<MethodStruct> getCurrentMethodStructs() {
+        return currentMethodStructs;
+    }
+
+    /**
+     * @return the methods of the current version whose exact signatures are not in the previous version
+     */
+    public List<MethodStruct> getAddedMethodStructs() {
+        return addedMethodStructs;
+    }
+
+    /**
+     * @return the methods of the previous version whose exact signatures are not in the current version
+     */
+    public List<MethodStruct> getRemovedMethodStructs() {
+        return removedMethodStructs;
+    }
+
+    //endregion
+
+
+    //region methods
+
+    /**
+     * This method returns the methods of the previous version with the same scope path, return type and name.
+     *
+     * @param nameKey name key of a method
+     * @return the methods (empty if none)
+     */
+    public List<MethodStruct> getPreviousMethodStructs(MethodNameKey nameKey) {
+        return previousMethodStructMap.getOrDefault(nameKey, Collections.emptyList());
+    }
+
+    /**
+     * This method returns the removed methods with the same scope path, return type and name.
+     *
+     * @param nameKey name key of a method
+     * @return the removed methods (empty if none)
+     */
+    public List<MethodStruct> getRemovedMethodStructs(MethodNameKey nameKey) {
+        return removedMethodStructMap.getOrDefault(nameKey, Collections.emptyList());
+    }
+
+    /**
+     * This method returns the removed methods with the same scope path and name (regardless of the return type).
+     *
+     * @param methodStruct a method
+     * @return the removed methods (empty if none)
+     */
+    public List<MethodStruct> getRemovedMethodStructsOfSameName(MethodStruct methodStruct) {
+        return removedMethodStructNameMap.getOrDefault(methodStruct.sameNameKey, Collections.emptyList());
+    }
+
+    /**
+     * @param methodStruct a method
+     * @return true if the previous version has any method with the same scope path and name
+     */
+    public boolean hasPreviousMethodOfSameName(MethodStruct methodStruct) {
+        return previousMethodNames.contains(methodStruct.sameNameKey);
+    }
+
+    /**
+     * @param methodStruct a method
+     * @return true if the current version has any method with the same scope path and name
+     */
+    public boolean hasCurrentMethodOfSameName(MethodStruct methodStruct) {
+        return currentMethodNames.contains(methodStruct.sameNameKey);
+    }
+
+    /**
+     * @param methodStruct a method
+     * @return true if any added method has the same scope path and name
+     */
+    public boolean hasAddedMethodOfSameName(MethodStruct methodStruct) {
+        return addedMethodNames.contains(methodStruct.sameNameKey);
+    }
+
+    /**
+     * @param methodStruct a method
+     * @return true if any removed method has the same scope path and name
+     */
+    public boolean hasRemovedMethodOfSameName(MethodStruct methodStruct) {
+        return removedMethodStructNameMap.containsKey(methodStruct.sameNameKey);
+    }
+
+    //endregion
+
+
+    //region helper methods
+
+    private static <K> void addToMap(Map<K, List<MethodStruct>> methodStructMap, K key, MethodStruct methodStruct) {
+        methodStructMap.computeIfAbsent(key, k -> new ArrayList<>(1)).add(methodStruct);
+    }
+
+    //endregion
+}
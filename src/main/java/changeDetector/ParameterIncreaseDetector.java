@@ -0,0 +1,59 @@
+package changeDetector;
+
+import javaParserHelper.MethodStruct;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class detects the methods whose parameters have been increased (the original analysis of the program).
+ * A method is compared with the first previous method of the same scope path, return type and name,
+ * unless the previous version has the exact same signature.
+ */
+public class ParameterIncreaseDetector implements MethodChangeDetector {
+    //region constant variables
+
+    public static final String NAME = "parameterIncrease";
+
+    private static final String CSV_FILE_SUFFIX = "_methodAnalysis.csv";
+
+    //endregion
+
+
+    //region override methods
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public List<MethodChange> detectChanges(MethodSignatureComparison comparison) {
+        List<MethodChange> changes = new ArrayList<>();
+
+        for (MethodStruct methodStruct : comparison.getCurrentMethodStructs()) {
+            List<MethodStruct> foundMethodStructs = comparison.getPreviousMethodStructs(methodStruct.nameKey);
+
+            if (foundMethodStructs.isEmpty()) continue;  // added method, so ignore
+            if (foundMethodStructs.contains(methodStruct)) continue;  // same method found, so ignore
+
+            MethodStruct foundMethodStruct = foundMethodStructs.get(0);
+
+            if (foundMethodStruct.parameters.size() < methodStruct.parameters.size()) {  // parameter added, so we have found our required condition
+                changes.add(new MethodChange(foundMethodStruct, methodStruct));
+            }
+        }
+
+        return changes;
+    }
+
+    /**
+     * The output file keeps the name used before there were several detectors.
+     */
+    @Override
+    public String getCsvFileSuffix() {
+        return CSV_FILE_SUFFIX;
+    }
+
+    //endregion
+}
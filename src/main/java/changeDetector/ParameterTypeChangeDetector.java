@@ -0,0 +1,45 @@
+package changeDetector;
+
+import javaParserHelper.MethodStruct;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class detects the methods whose parameter types have been changed without changing the number of parameters.
+ * An added method is paired with the first removed method of the same scope path, return type and name
+ * which has the same number of parameters.
+ */
+public class ParameterTypeChangeDetector implements MethodChangeDetector {
+    //region constant variables
+
+    public static final String NAME = "parameterTypeChange";
+
+    //endregion
+
+
+    //region override methods
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public List<MethodChange> detectChanges(MethodSignatureComparison comparison) {
+        List<MethodChange> changes = new ArrayList<>();
+
+        for (MethodStruct addedMethodStruct : comparison.getAddedMethodStructs()) {
+            for (MethodStruct removedMethodStruct : comparison.getRemovedMethodStructs(addedMethodStruct.nameKey)) {
+                if (removedMethodStruct.parameters.size() == addedMethodStruct.parameters.size()) {
+                    changes.add(new MethodChange(removedMethodStruct, addedMethodStruct));
+                    break;
+                }
+            }
+        }
+
+        return changes;
+    }
+
+    //endregion
+}
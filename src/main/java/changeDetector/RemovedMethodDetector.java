@@ -0,0 +1,41 @@
+package changeDetector;
+
+import javaParserHelper.MethodStruct;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class detects the removed methods, namely the removed signatures whose scope path and name
+ * have no added signature (so a changed signature of an existing method is not a removed method).
+ * A renamed method is reported as a removed method as well.
+ */
+public class RemovedMethodDetector implements MethodChangeDetector {
+    //region constant variables
+
+    public static final String NAME = "removedMethod";
+
+    //endregion
+
+
+    //region override methods
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public List<MethodChange> detectChanges(MethodSignatureComparison comparison) {
+        List<MethodChange> changes = new ArrayList<>();
+
+        for (MethodStruct removedMethodStruct : comparison.getRemovedMethodStructs()) {
+            if (!comparison.hasAddedMethodOfSameName(removedMethodStruct))
+                changes.add(new MethodChange(removedMethodStruct, null));
+        }
+
+        return changes;
+    }
+
+    //endregion
+}
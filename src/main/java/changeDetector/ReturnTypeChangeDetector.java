@@ -0,0 +1,46 @@
+package changeDetector;
+
+import javaParserHelper.MethodStruct;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class detects the methods whose return types have been changed.
+ * An added method is paired with the first removed method of the same scope path, name and parameter types
+ * which has another return type.
+ */
+public class ReturnTypeChangeDetector implements MethodChangeDetector {
+    //region constant variables
+
+    public static final String NAME = "returnTypeChange";
+
+    //endregion
+
+
+    //region override methods
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public List<MethodChange> detectChanges(MethodSignatureComparison comparison) {
+        List<MethodChange> changes = new ArrayList<>();
+
+        for (MethodStruct addedMethodStruct : comparison.getAddedMethodStructs()) {
+            for (MethodStruct removedMethodStruct : comparison.getRemovedMethodStructsOfSameName(addedMethodStruct)) {
+                if (!removedMethodStruct.returnType.equals(addedMethodStruct.returnType) &&
+                        removedMethodStruct.parameters.equals(addedMethodStruct.parameters)) {
+                    changes.add(new MethodChange(removedMethodStruct, addedMethodStruct));
+                    break;
+                }
+            }
+        }
+
+        return changes;
+    }
+
+    //endregion
+}
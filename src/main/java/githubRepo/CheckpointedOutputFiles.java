@@ -0,0 +1,214 @@
+package githubRepo;
+
+import cacheUtil.AtomicFiles;
+import outputSink.FlushPolicy;
+import outputSink.MethodChangeSink;
+import outputSink.OutputFormat;
+import threadUtil.ThreadPools;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * This class is the output files of a run together with their state file, which makes the output exactly-once.
+ * A checkpoint flushes the output files and forces them to the storage device, and then replaces the state file atomically
+ * with the SHA value of the next commit to be processed and the length of each output file at that point.
+ * When the run is resumed, each output file is truncated to its length in the state file, so the rows written
+ * after the last checkpoint (which will be written again) are never duplicated, and a torn row is never kept.
+ * The output files share a dedicated writer thread, so the rows are written to the disk in the background.
+ */
+public class CheckpointedOutputFiles implements Closeable {
+    //region constant variables
+
+    private static final char STATE_FIELD_SEPARATOR = '\t';
+    private static final String WRITER_THREAD_NAME_PREFIX = "output-writer";
+
+    //endregion
+
+
+    //region variables
+
+    private final File stateFile;
+    private final List<File> outputFiles;
+    private final OutputFormat outputFormat;
+    private final FlushPolicy flushPolicy;
+
+    private final List<MethodChangeSink> sinks;
+    private ExecutorService writerExecutorService = null;  // created when the output files are opened
+
+    //endregion
+
+
+    //region constructors
+
+    /**
+     * @param stateFile    state file (the first line is the SHA value of the next commit to be processed)
+     * @param outputFiles  output files (one for each detector)
+     * @param outputFormat format of the output files
+     * @param flushPolicy  flush policy of the output files between checkpoints
+     */
+    public CheckpointedOutputFiles(File stateFile, List<File> outputFiles, OutputFormat outputFormat, FlushPolicy flushPolicy) {
+        this.stateFile = stateFile;
+        this.outputFiles = new ArrayList<>(outputFiles);
+        this.outputFormat = outputFormat;
+        this.flushPolicy = flushPolicy;
+
+        this.sinks = new ArrayList<>(outputFiles.size());
+    }
+
+    //endregion
+
+
+    //region methods
+
+    /**
+     * This method reads the SHA value of the next commit to be processed from the state file.
+     *
+     * @return the SHA value of the last checkpoint, or null if there is no state file
+     * @throws IOException if any error occurs while reading
+     */
+    public String getCheckpointCommitSha() throws IOException {
+        if (!stateFile.isFile())
+            return null;
+
+        return readStateLines().get(0).trim();
+    }
+
+    /**
+     * This method opens the output files. If there is a state file, each output file is truncated to its length
+     * in the last checkpoint and opened for appending. Otherwise (or if an output file does not exist),
+     * the output file is created (with the header line, if the format has one).
+     * A state file of an older version (which only has the SHA value) leaves the existing output files as they are.
+     *
+     * @param withHeader true to write the header line into a created output file
+     * @throws IOException if any error occurs while opening
+     */
+    public void open(boolean withHeader) throws IOException {
+        boolean resumed = stateFile.isFile();
+        Map<String, Long> outputFileLengths = resumed ? readOutputFileLengths() : new HashMap<>();
+
+        writerExecutorService = ThreadPools.newFixedThreadPool(WRITER_THREAD_NAME_PREFIX, 1);
+        try {
+            for (File outputFile : outputFiles) {
+                boolean appended = resumed && outputFile.isFile();
+                if (appended && outputFileLengths.containsKey(outputFile.getPath()))
+                    truncate(outputFile, outputFileLengths.get(outputFile.getPath()));
+
+                sinks.add(outputFormat.createSink(outputFile, appended, withHeader, writerExecutorService, flushPolicy));
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return sinks (in the order of the output files)
+     */
+    public List<MethodChangeSink> getSinks() {
+        return sinks;
+    }
+
+    /**
+     * This method appends the bytes of a file (of the same format) to an opened output file.
+     *
+     * @param outputFileIndex index of the output file
+     * @param file            file to append
+     * @throws IOException if any error occurs while copying
+     */
+    public void appendFile(int outputFileIndex, File file) throws IOException {
+        sinks.get(outputFileIndex).appendFile(file);
+    }
+
+    /**
+     * This method writes a checkpoint. The output files are forced to the storage device before the state file
+     * is replaced, so the lengths in the state file are always available after a crash.
+     *
+     * @param nextCommitSha SHA value of the next commit to be processed
+     * @throws IOException if any error occurs while writing
+     */
+    public void checkpoint(String nextCommitSha) throws IOException {
+        StringBuilder state = new StringBuilder(nextCommitSha).append('\n');
+
+        for (int i = 0; i < outputFiles.size(); i++) {
+            long outputFileLength = sinks.get(i).sync();
+            state.append(outputFileLength).append(STATE_FIELD_SEPARATOR).append(outputFiles.get(i).getPath()).append('\n');
+        }
+
+        AtomicFiles.writeSynced(stateFile.toPath(), state.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * This method closes the output files without writing a checkpoint. A failure is only shown,
+     * because the rows after the last checkpoint are dropped when the run is resumed anyway.
+     */
+    @Override
+    public void close() {
+        for (MethodChangeSink sink : sinks) {
+            try {
+                sink.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        sinks.clear();
+
+        if (writerExecutorService != null) {
+            try {
+                ThreadPools.shutdown(writerExecutorService);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writerExecutorService = null;
+        }
+    }
+
+    //endregion
+
+
+    //region helper methods
+
+    private List<String> readStateLines() throws IOException {
+        List<String> stateLines = Files.readAllLines(stateFile.toPath(), StandardCharsets.UTF_8);
+        if (stateLines.isEmpty())
+            throw new IOException("State file is empty: " + stateFile.getPath());
+
+        return stateLines;
+    }
+
+    private Map<String, Long> readOutputFileLengths() throws IOException {
+        Map<String, Long> outputFileLengths = new HashMap<>();
+
+        List<String> stateLines = readStateLines();
+        for (String stateLine : stateLines.subList(1, stateLines.size())) {
+            int separatorIndex = stateLine.indexOf(STATE_FIELD_SEPARATOR);
+            if (separatorIndex < 0)
+                continue;
+
+            outputFileLengths.put(stateLine.substring(separatorIndex + 1), Long.parseLong(stateLine.substring(0, separatorIndex)));
+        }
+
+        return outputFileLengths;
+    }
+
+    private static void truncate(File outputFile, long length) throws IOException {
+        try (FileChannel outputFileChannel = FileChannel.open(outputFile.toPath(), StandardOpenOption.WRITE)) {
+            if (outputFileChannel.size() > length) {
+                outputFileChannel.truncate(length);
+                outputFileChannel.force(false);
+            } else if (outputFileChannel.size() < length) {
+                System.err.println(outputFile.getPath() + " is shorter than its last checkpoint, so some rows may be missing.");
+            }
+        }
+    }
+
+    //endregion
+}
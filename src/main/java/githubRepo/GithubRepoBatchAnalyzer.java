@@ -0,0 +1,225 @@
+package githubRepo;
+
+import threadUtil.ThreadPools;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * This class analyzes several repositories in one process. A few repositories are analyzed at the same time,
+ * and all of them share the threads which download and parse files, so the analyzers (created with the same
+ * token pool, transport and caches) also share the API budget, the connections and the cached files.
+ * The repositories take turns for the download permits (see {@link WorkerPools}).
+ * The failure of a repository does not stop the others, and its result shows the failure instead.
+ */
+public class GithubRepoBatchAnalyzer {
+    //region constant variables
+
+    private static final String MANIFEST_COMMENT_PREFIX = "#";
+    private static final String MANIFEST_SEPARATOR_REGEX = "\\s+";
+
+    private static final int DEFAULT_CONCURRENT_REPO_COUNT = 2;
+
+    //endregion
+
+
+    //region variables
+
+    private final List<GithubRepoJavaFileAnalyzer> analyzers;
+
+    private int concurrentRepoCount = DEFAULT_CONCURRENT_REPO_COUNT;
+
+    //endregion
+
+
+    //region constructors
+
+    /**
+     * @param analyzers analyzers of the repositories (the worker pools are created by the settings of the first one)
+     */
+    public GithubRepoBatchAnalyzer(List<GithubRepoJavaFileAnalyzer> analyzers) {
+        this.analyzers = new ArrayList<>(analyzers);
+    }
+
+    //endregion
+
+
+    //region concurrentRepoCount getter and setter
+
+    public int getConcurrentRepoCount() {
+        return concurrentRepoCount;
+    }
+
+    /**
+     * This method sets how many repositories are analyzed at the same time. The others wait for their turn.
+     *
+     * @param concurrentRepoCount number of repositories analyzed at the same time (at least 1)
+     */
+    public void setConcurrentRepoCount(int concurrentRepoCount) {
+        this.concurrentRepoCount = Math.max(1, concurrentRepoCount);
+    }
+
+    //endregion
+
+
+    //region methods
+
+    /**
+     * This method analyzes every repository (in the order of the analyzers), each into its own output files.
+     *
+     * @param processedCommitLimit commit limit of each repository (here, 0 (zero) means no limit)
+     * @return the results of the repositories (in the order of the analyzers)
+     * @throws Exception if interrupted while waiting for the repositories
+     */
+    public List<RepoResult> analyze(long processedCommitLimit) throws Exception {
+        List<RepoResult> repoResults = new ArrayList<>(analyzers.size());
+        if (analyzers.isEmpty()) return repoResults;
+
+        int repoThreadCount = Math.min(concurrentRepoCount, analyzers.size());
+        WorkerPools workerPools = getWorkerPoolsAnalyzer().createWorkerPools();
+        ExecutorService repoExecutorService = ThreadPools.newFixedThreadPool("repo", repoThreadCount);
+
+        List<Future<RepoResult>> repoResultFutures = new ArrayList<>(analyzers.size());
+        try {
+            for (GithubRepoJavaFileAnalyzer analyzer : analyzers) {
+                analyzer.setSharedWorkerPools(workerPools);
+                if (repoThreadCount > 1)
+                    analyzer.setFileProgressShown(false);  // the runs share the console
+
+                repoResultFutures.add(repoExecutorService.submit(() -> analyzeRepo(analyzer, processedCommitLimit)));
+            }
+
+            for (Future<RepoResult> repoResultFuture : repoResultFutures) {
+                repoResults.add(repoResultFuture.get());
+            }
+        } finally {
+            for (Future<RepoResult> repoResultFuture : repoResultFutures) {
+                repoResultFuture.cancel(true);
+            }
+
+            ThreadPools.shutdown(repoExecutorService);
+            workerPools.shutdown();
+        }
+
+        return repoResults;
+    }
+
+    //endregion
+
+
+    //region static methods
+
+    /**
+     * This method reads the repositories of a manifest file. Each line has a repository full name,
+     * optionally followed by the directory of its local clone. Empty lines and lines starting with {@code #} are ignored.
+     *
+     * @param manifestFile manifest file
+     * @return the repositories of the manifest (in the order of the lines)
+     * @throws IOException if any error occurs while reading
+     */
+    public static List<BatchRepo> readManifest(File manifestFile) throws IOException {
+        List<BatchRepo> batchRepos = new ArrayList<>();
+        for (String line : Files.readAllLines(manifestFile.toPath(), StandardCharsets.UTF_8)) {
+            String trimmedLine = line.trim();
+            if (trimmedLine.isEmpty() || trimmedLine.startsWith(MANIFEST_COMMENT_PREFIX))
+                continue;
+
+            String[] fields = trimmedLine.split(MANIFEST_SEPARATOR_REGEX, 2);
+            batchRepos.add(new BatchRepo(fields[0], (fields.length > 1) ? fields[1] : ""));
+        }
+
+        return batchRepos;
+    }
+
+    //endregion
+
+
+    //region helper methods
+
+    /**
+     * This method chooses the analyzer whose thread settings create the shared worker pools.
+     * Virtual threads are enabled only for the repositories whose downloads block a thread (local clones),
+     * so the first such analyzer is chosen if there is one.
+     *
+     * @return the analyzer
+     */
+    private GithubRepoJavaFileAnalyzer getWorkerPoolsAnalyzer() {
+        for (GithubRepoJavaFileAnalyzer analyzer : analyzers) {
+            if (analyzer.isVirtualThreadsEnabled())
+                return analyzer;
+        }
+
+        return analyzers.get(0);
+    }
+
+    private static RepoResult analyzeRepo(GithubRepoJavaFileAnalyzer analyzer, long processedCommitLimit) {
+        long startTimeMillis = System.currentTimeMillis();
+
+        Exception failure = null;
+        try {
+            analyzer.analyzeJavaFileMethodParameterInMasterBranchCommits(processedCommitLimit);
+        } catch (Exception e) {
+            e.printStackTrace();
+            failure = e;
+        }
+
+        return new RepoResult(analyzer.getRepoSource().getRepoFullName(), failure, analyzer.getProcessedCommitCount(),
+                analyzer.getWrittenMethodChangeCount(), analyzer.getPatchSkippedFileCount(),
+                System.currentTimeMillis() - startTimeMillis);
+    }
+
+    //endregion
+
+
+    //region helper structures
+
+    /**
+     * This class is the structure of a repository of a manifest.
+     */
+    public static class BatchRepo {
+        public final String repoFullName;
+        public final String localGitDirectory;  // here, empty means the repository is read from GitHub
+
+        public BatchRepo(String repoFullName, String localGitDirectory) {
+            this.repoFullName = repoFullName;
+            this.localGitDirectory = localGitDirectory;
+        }
+    }
+
+    /**
+     * This class is the structure of the result of a repository.
+     */
+    public static class RepoResult {
+        public final String repoFullName;
+        public final Exception failure;  // here, null means success
+        public final long processedCommitCount;
+        public final long methodChangeCount;
+        public final long patchSkippedFileCount;
+        public final long elapsedMillis;
+
+        public RepoResult(String repoFullName, Exception failure, long processedCommitCount, long methodChangeCount,
+                          long patchSkippedFileCount, long elapsedMillis) {
+            this.repoFullName = repoFullName;
+            this.failure = failure;
+            this.processedCommitCount = processedCommitCount;
+            this.methodChangeCount = methodChangeCount;
+            this.patchSkippedFileCount = patchSkippedFileCount;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %s, commits: %d, method changes: %d, files skipped by their patches: %d, time: %.1f s",
+                    repoFullName, (failure == null) ? "success" : ("failed (" + failure + ")"),
+                    processedCommitCount, methodChangeCount, patchSkippedFileCount, elapsedMillis / 1000.0);
+        }
+    }
+
+    //endregion
+}
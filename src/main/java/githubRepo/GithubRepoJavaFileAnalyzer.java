@@ -1,25 +1,39 @@
 package githubRepo;
 
+import cacheUtil.AtomicFiles;
+import changeDetector.MethodChange;
+import changeDetector.MethodChangeDetector;
+import changeDetector.MethodChangeDetectors;
+import changeDetector.MethodSignatureComparison;
 import com.github.javaparser.ParseProblemException;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import javaParserHelper.JavaMethodVisitor;
+import javaParserHelper.MethodSignatureCache;
+import javaParserHelper.MethodSignaturePatchChecker;
 import javaParserHelper.MethodStruct;
-import org.apache.commons.collections4.MultiValuedMap;
-import org.apache.commons.collections4.multimap.ArrayListValuedHashMap;
-import restApi.github.GithubRestApiClient;
-import restApi.github.GithubRestApiRepoFileHelper;
-import restApi.github.GithubRestApiRepoHelper;
+import outputSink.FlushPolicy;
+import outputSink.MethodChangeSink;
+import outputSink.OutputFormat;
+import repoSource.CommitFile;
+import repoSource.CommitInfo;
+import repoSource.FilePathFilter;
+import repoSource.GithubRepoSource;
+import repoSource.RepoSource;
+import restApi.TokenPool;
+import threadUtil.FairSharePermits;
+import threadUtil.Futures;
+import threadUtil.ThreadPools;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
-import java.util.Scanner;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 /**
  * This class analyzes commits in a Github repository to detect changes among Java files.
@@ -27,34 +41,72 @@ import java.util.concurrent.Future;
 public class GithubRepoJavaFileAnalyzer {
     //region constant variables
 
-    private static final String CSV_FILE_SUFFIX = "_methodAnalysis.csv";
     private static final String LAST_COMMIT_FILE_SUFFIX = "_lastCommitSha";
+    private static final String COMMIT_RANGES_FILE_SUFFIX = "_commitRanges";
+    private static final String COMMIT_RANGE_NAME_PREFIX = "range";
 
-    private static final int DEFAULT_THREAD_COUNT = 1;
+    private static final String JAVA_FILE_EXTENSION = ".java";
+
+    private static final int DEFAULT_THREAD_COUNT = 2;
+    private static final int DEFAULT_PARSE_THREAD_COUNT = Runtime.getRuntime().availableProcessors();
+    private static final int DEFAULT_MAX_IN_FLIGHT_FETCH_COUNT = 64;
+    private static final int DEFAULT_LOOKAHEAD_COMMIT_COUNT = 1;
+    private static final int COMMIT_BATCH_SIZE = 100;
+    private static final int DEFAULT_COMMIT_RANGE_COUNT = 1;
+    private static final int DEFAULT_CHECKPOINT_COMMIT_INTERVAL = 10;
 
     //endregion
 
 
     //region variables
 
-    private final GithubRestApiClient restApiClient;
+    private final RepoSource repoSource;
 
-    private final GithubRestApiRepoHelper repoHelper;
-    private final GithubRestApiRepoFileHelper repoFileHelper;
+    private MethodSignatureCache methodSignatureCache = new MethodSignatureCache();
 
     private int threadCount = DEFAULT_THREAD_COUNT;
+    private int parseThreadCount = DEFAULT_PARSE_THREAD_COUNT;
+
+    private boolean virtualThreadsEnabled = false;
+    private int maxInFlightFetchCount = DEFAULT_MAX_IN_FLIGHT_FETCH_COUNT;
+    private int lookaheadCommitCount = DEFAULT_LOOKAHEAD_COMMIT_COUNT;
+    private int commitRangeCount = DEFAULT_COMMIT_RANGE_COUNT;
+    private int checkpointCommitInterval = DEFAULT_CHECKPOINT_COMMIT_INTERVAL;
+    private FlushPolicy flushPolicy = FlushPolicy.DEFAULT;
+    private OutputFormat outputFormat = OutputFormat.CSV;
+
+    private FilePathFilter filePathFilter = FilePathFilter.ofJavaFiles();
+
+    private List<MethodChangeDetector> methodChangeDetectors = MethodChangeDetectors.getDefaultDetectors();
+
+    private WorkerPools sharedWorkerPools = null;  // here, null means each run creates its own worker pools
+    private boolean fileProgressShown = true;
+
+    private boolean patchCheckEnabled = true;
+    private final AtomicLong patchSkippedFileCount = new AtomicLong();
+
+    private final AtomicLong processedCommitCount = new AtomicLong();
+    private final AtomicLong writtenMethodChangeCount = new AtomicLong();
 
     //endregion
 
 
     //region constructors
 
-    public GithubRepoJavaFileAnalyzer(String repoFullName, String username, String password) {
-        restApiClient = new GithubRestApiClient(username, password);
-        restApiClient.setRepoFullName(repoFullName);
+    public GithubRepoJavaFileAnalyzer(RepoSource repoSource) {
+        this.repoSource = repoSource;
+    }
+
+    /**
+     * @param repoFullName full name of the repository (owner/name)
+     * @param tokenPool    pool of the credentials which the API requests are spread across
+     */
+    public GithubRepoJavaFileAnalyzer(String repoFullName, TokenPool tokenPool) {
+        this(new GithubRepoSource(repoFullName, tokenPool));
+    }
 
-        repoHelper = restApiClient.getRepoHelper();
-        repoFileHelper = repoHelper.getRepoFileHelper();
+    public GithubRepoJavaFileAnalyzer(String repoFullName, String username, String password) {
+        this(new GithubRepoSource(repoFullName, username, password));
     }
 
     public GithubRepoJavaFileAnalyzer(String repoFullName) {
@@ -64,12 +116,26 @@ public class GithubRepoJavaFileAnalyzer {
     //endregion
 
 
+    //region repoSource getter
+
+    public RepoSource getRepoSource() {
+        return repoSource;
+    }
+
+    //endregion
+
+
     //region threadCount getter and setter
 
     public int getThreadCount() {
         return threadCount;
     }
 
+    /**
+     * This method sets the number of threads which download files (network I/O).
+     *
+     * @param threadCount number of download threads
+     */
     public void setThreadCount(int threadCount) {
         this.threadCount = threadCount;
     }
@@ -77,6 +143,304 @@ public class GithubRepoJavaFileAnalyzer {
     //endregion
 
 
+    //region parseThreadCount getter and setter
+
+    public int getParseThreadCount() {
+        return parseThreadCount;
+    }
+
+    /**
+     * This method sets the number of threads which parse files (CPU-bound).
+     *
+     * @param parseThreadCount number of parse threads
+     */
+    public void setParseThreadCount(int parseThreadCount) {
+        this.parseThreadCount = parseThreadCount;
+    }
+
+    //endregion
+
+
+    //region methodSignatureCache getter and setter
+
+    public MethodSignatureCache getMethodSignatureCache() {
+        return methodSignatureCache;
+    }
+
+    public void setMethodSignatureCache(MethodSignatureCache methodSignatureCache) {
+        this.methodSignatureCache = methodSignatureCache;
+    }
+
+    //endregion
+
+
+    //region virtual threads getter and setter methods
+
+    public boolean isVirtualThreadsEnabled() {
+        return virtualThreadsEnabled;
+    }
+
+    /**
+     * This method enables running every blocking file download on its own virtual thread (JDK 21 or later),
+     * instead of on the fixed pool of {@code threadCount} threads, and limits the in-flight downloads
+     * by {@code maxInFlightFetchCount} instead of {@code threadCount}.
+     * If virtual threads are not supported by the running JVM, the fixed pool is used.
+     *
+     * @param virtualThreadsEnabled true to enable virtual threads
+     */
+    public void setVirtualThreadsEnabled(boolean virtualThreadsEnabled) {
+        this.virtualThreadsEnabled = virtualThreadsEnabled;
+    }
+
+    public int getMaxInFlightFetchCount() {
+        return maxInFlightFetchCount;
+    }
+
+    /**
+     * This method sets how many file downloads can be in flight at the same time when virtual threads are enabled.
+     *
+     * @param maxInFlightFetchCount maximum number of concurrent file downloads
+     */
+    public void setMaxInFlightFetchCount(int maxInFlightFetchCount) {
+        this.maxInFlightFetchCount = maxInFlightFetchCount;
+    }
+
+    //endregion
+
+
+    //region worker pools getter and setter methods
+
+    public WorkerPools getSharedWorkerPools() {
+        return sharedWorkerPools;
+    }
+
+    /**
+     * This method makes the runs use the given worker pools (such as the pools shared by the analyzers of a batch),
+     * instead of creating their own pools by the thread settings. The shared pools are not stopped by the runs.
+     *
+     * @param sharedWorkerPools worker pools (here, null means each run creates its own worker pools)
+     */
+    public void setSharedWorkerPools(WorkerPools sharedWorkerPools) {
+        this.sharedWorkerPools = sharedWorkerPools;
+    }
+
+    /**
+     * This method creates worker pools by the thread settings of this analyzer.
+     *
+     * @return the worker pools
+     */
+    public WorkerPools createWorkerPools() {
+        return WorkerPools.create(threadCount, parseThreadCount, virtualThreadsEnabled, maxInFlightFetchCount);
+    }
+
+    //endregion
+
+
+    //region fileProgressShown getter and setter
+
+    public boolean isFileProgressShown() {
+        return fileProgressShown;
+    }
+
+    /**
+     * This method sets whether the progress of the files of each commit is shown on the same line of the console.
+     * Otherwise, a single line is shown for each commit, which is readable when several runs share the console.
+     *
+     * @param fileProgressShown true to show the progress of the files
+     */
+    public void setFileProgressShown(boolean fileProgressShown) {
+        this.fileProgressShown = fileProgressShown;
+    }
+
+    //endregion
+
+
+    //region lookaheadCommitCount getter and setter
+
+    public int getLookaheadCommitCount() {
+        return lookaheadCommitCount;
+    }
+
+    /**
+     * This method sets how many commits can be fetched and processed ahead of the commit being written to output.
+     *
+     * @param lookaheadCommitCount lookahead window of commits (at least 1)
+     */
+    public void setLookaheadCommitCount(int lookaheadCommitCount) {
+        this.lookaheadCommitCount = Math.max(1, lookaheadCommitCount);
+    }
+
+    //endregion
+
+
+    //region commitRangeCount getter and setter
+
+    public int getCommitRangeCount() {
+        return commitRangeCount;
+    }
+
+    /**
+     * This method sets into how many ranges of consecutive commits the history is split.
+     * If there are more than one range, the SHA values of the commits are listed first,
+     * and the ranges are analyzed at the same time (sharing the download and parse threads),
+     * each of them with its own state file. Their output files are merged in commit order at the end.
+     *
+     * @param commitRangeCount number of commit ranges (here, 1 means the history is walked one commit at a time)
+     */
+    public void setCommitRangeCount(int commitRangeCount) {
+        this.commitRangeCount = Math.max(1, commitRangeCount);
+    }
+
+    //endregion
+
+
+    //region checkpointCommitInterval getter and setter
+
+    public int getCheckpointCommitInterval() {
+        return checkpointCommitInterval;
+    }
+
+    /**
+     * This method sets after how many written commits a checkpoint is written. A checkpoint forces the output files
+     * to the storage device, so a longer interval writes faster, but an interrupted run repeats more commits.
+     *
+     * @param checkpointCommitInterval number of written commits between checkpoints (at least 1)
+     */
+    public void setCheckpointCommitInterval(int checkpointCommitInterval) {
+        this.checkpointCommitInterval = Math.max(1, checkpointCommitInterval);
+    }
+
+    //endregion
+
+
+    //region flushPolicy getter and setter
+
+    public FlushPolicy getFlushPolicy() {
+        return flushPolicy;
+    }
+
+    /**
+     * This method sets when the buffered rows of the output files are handed to their writer thread between checkpoints.
+     *
+     * @param flushPolicy flush policy
+     */
+    public void setFlushPolicy(FlushPolicy flushPolicy) {
+        this.flushPolicy = flushPolicy;
+    }
+
+    //endregion
+
+
+    //region outputFormat getter and setter
+
+    public OutputFormat getOutputFormat() {
+        return outputFormat;
+    }
+
+    /**
+     * This method sets the format of the output files. An interrupted run should be resumed with the same format,
+     * because the output files of another format are started from the resumed commit.
+     *
+     * @param outputFormat output format
+     */
+    public void setOutputFormat(OutputFormat outputFormat) {
+        this.outputFormat = outputFormat;
+    }
+
+    //endregion
+
+
+    //region filePathFilter getter and setter
+
+    public FilePathFilter getFilePathFilter() {
+        return filePathFilter;
+    }
+
+    /**
+     * This method sets which Java files are analyzed (such as only main sources, without tests).
+     * The filter is also given to the repo source, so that the commits which change no accepted Java file
+     * are not fetched if the source can avoid it.
+     *
+     * @param filePathFilter filter of the file paths (Java files not accepted by it are ignored)
+     */
+    public void setFilePathFilter(FilePathFilter filePathFilter) {
+        this.filePathFilter = filePathFilter;
+    }
+
+    //endregion
+
+
+    //region methodChangeDetectors getter and setter
+
+    public List<MethodChangeDetector> getMethodChangeDetectors() {
+        return methodChangeDetectors;
+    }
+
+    /**
+     * This method sets which kinds of method signature changes are detected. All of the detectors share
+     * the same parsed file pairs, and each of them writes its own output file.
+     *
+     * @param methodChangeDetectors detectors of method signature changes (at least one)
+     */
+    public void setMethodChangeDetectors(List<MethodChangeDetector> methodChangeDetectors) {
+        this.methodChangeDetectors = new ArrayList<>(methodChangeDetectors);
+    }
+
+    //endregion
+
+
+    //region patch check getter and setter methods
+
+    public boolean isPatchCheckEnabled() {
+        return patchCheckEnabled;
+    }
+
+    /**
+     * This method enables skipping the modified Java files whose patches cannot change any method signature
+     * (such as changes only inside method bodies or comments). Neither version of such a file is downloaded or parsed.
+     *
+     * @param patchCheckEnabled true to skip the files by their patches
+     */
+    public void setPatchCheckEnabled(boolean patchCheckEnabled) {
+        this.patchCheckEnabled = patchCheckEnabled;
+    }
+
+    /**
+     * This method returns the number of modified Java files which have been skipped by their patches.
+     * Each of them has saved the downloads and parses of two file versions.
+     *
+     * @return the number of the skipped files
+     */
+    public long getPatchSkippedFileCount() {
+        return patchSkippedFileCount.get();
+    }
+
+    //endregion
+
+
+    //region metric getter methods
+
+    /**
+     * This method returns the number of commits which have been processed and written (by all runs of this analyzer).
+     *
+     * @return the number of the processed commits
+     */
+    public long getProcessedCommitCount() {
+        return processedCommitCount.get();
+    }
+
+    /**
+     * This method returns the number of method signature changes which have been written (for all detectors).
+     *
+     * @return the number of the written changes
+     */
+    public long getWrittenMethodChangeCount() {
+        return writtenMethodChangeCount.get();
+    }
+
+    //endregion
+
+
     //region methods
 
     /**
@@ -87,222 +451,549 @@ public class GithubRepoJavaFileAnalyzer {
      * @throws Exception if any error occurs
      */
     public void analyzeJavaFileMethodParameterInMasterBranchCommits(final long processedCommitLimit) throws Exception {
-        String fileNamePrefix = repoHelper.getRepoFullName().replace('/', '_');
-        String csvFileName = fileNamePrefix + CSV_FILE_SUFFIX;
-        String lastCommitFileName = fileNamePrefix + LAST_COMMIT_FILE_SUFFIX;
-
-        // if the program is interrupted, it will restart from the last processed commit instead of the latest commit
-        JsonObject currentCommit;
-        PrintWriter csvPrintWriter;
-        if (new File(lastCommitFileName).isFile()) {
-            Scanner scanner = new Scanner(new FileReader(lastCommitFileName));
-            currentCommit = repoHelper.getCommitInfo(scanner.nextLine());
-            scanner.close();
-
-            csvPrintWriter = new PrintWriter(new FileWriter(csvFileName, true), true);
-        } else {
-            currentCommit = repoHelper.getLatestCommitInfo();
-            csvPrintWriter = new PrintWriter(new FileWriter(csvFileName), true);
-            csvPrintWriter.println("Commit SHA,Java File,Old function signature,New function signature");
+        String fileNamePrefix = repoSource.getRepoFullName().replace('/', '_');
+
+        // an interrupted run of commit ranges is resumed in the same way
+        if ((commitRangeCount > 1) || new File(fileNamePrefix + COMMIT_RANGES_FILE_SUFFIX).isFile()) {
+            analyzeInCommitRanges(fileNamePrefix, processedCommitLimit);
+            return;
         }
 
-        PrintWriter lastCommitPrintWriter = new PrintWriter(new FileWriter(lastCommitFileName), true);
+        CheckpointedOutputFiles outputFiles = new CheckpointedOutputFiles(new File(fileNamePrefix + LAST_COMMIT_FILE_SUFFIX),
+                getOutputFiles(fileNamePrefix), outputFormat, flushPolicy);
 
-        String currentCommitSha = GithubRestApiRepoHelper.getCommitSha(currentCommit);
-        String previousCommitSha = GithubRestApiRepoHelper.getPreviousCommitSha(currentCommit);
+        // if the program is interrupted, it will restart from the last checkpoint instead of the latest commit
+        String checkpointCommitSha = outputFiles.getCheckpointCommitSha();
+        CommitInfo currentCommit = (checkpointCommitSha != null) ?
+                repoSource.getCommitInfo(checkpointCommitSha) : repoSource.getLatestCommitInfo();
+
+        outputFiles.open(true);
+        WorkerPools workerPools = null;
+        try {
+            workerPools = (sharedWorkerPools != null) ? sharedWorkerPools : createWorkerPools();
+            analyzeCommits(currentCommit, processedCommitLimit, outputFiles, workerPools, null);
+        } finally {
+            if ((workerPools != null) && (workerPools != sharedWorkerPools))
+                workerPools.shutdown();
+            outputFiles.close();
+        }
+    }
 
-        lastCommitPrintWriter = writeToFirstLine(currentCommitSha, lastCommitPrintWriter, lastCommitFileName);
+    //endregion
 
-        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
 
-        long processedCommitCount = 0L;
-        while ((previousCommitSha != null) &&
-                ((processedCommitLimit == 0L) || (processedCommitCount < processedCommitLimit))) {
-            String consoleOutputBase = "Processing commit: " + currentCommitSha + " : ";
-            System.out.print(consoleOutputBase);
+    //region pipeline methods
 
-            JsonArray currentCommitFiles = getModifiedJavaFiles(GithubRestApiRepoHelper.getCommitFiles(currentCommit));
+    /**
+     * This method runs the pipeline over the first-parent history starting from a given commit.
+     * The commit fetcher and the file dispatcher run on their own threads, and the results are written on this thread.
+     * A checkpoint is written before the first commit, after every {@code checkpointCommitInterval} written commits,
+     * and after the last written commit. If the run fails while a commit is written, its rows are dropped on resume.
+     *
+     * @param firstCommit          the first commit to be processed
+     * @param processedCommitLimit commit limit (here, 0 (zero) means no limit)
+     * @param outputFiles          opened output files (one for each detector) with their state file
+     * @param workerPools          threads which download and parse files
+     * @param rangeName            name of the commit range (here, null means the only run)
+     * @throws Exception if any error occurs
+     */
+    private void analyzeCommits(CommitInfo firstCommit, long processedCommitLimit, CheckpointedOutputFiles outputFiles,
+                                WorkerPools workerPools, String rangeName) throws Exception {
+        outputFiles.checkpoint(firstCommit.sha);
+
+        BlockingQueue<CommitInfo> commitQueue = new ArrayBlockingQueue<>(lookaheadCommitCount);
+        BlockingQueue<PendingCommit> pendingCommitQueue = new ArrayBlockingQueue<>(lookaheadCommitCount);
+        AtomicReference<Exception> stageException = new AtomicReference<>();
+
+        String threadNameSuffix = (rangeName == null) ? "" : ("-" + rangeName);
+        Thread commitFetcherThread = new Thread(() -> {
+            try {
+                fetchCommits(firstCommit, processedCommitLimit, commitQueue);
+            } catch (Exception e) {
+                stageException.compareAndSet(null, e);
+                putEndOfStage(commitQueue, END_OF_COMMITS, droppedCommit -> {
+                });
+            }
+        }, "commit-fetcher" + threadNameSuffix);
+
+        Thread fileDispatcherThread = new Thread(() -> {
+            try {
+                dispatchCommitFiles(commitQueue, pendingCommitQueue, workerPools);
+            } catch (Exception e) {
+                stageException.compareAndSet(null, e);
+                putEndOfStage(pendingCommitQueue, END_OF_PENDING_COMMITS, PendingCommit::cancel);
+            }
+        }, "file-dispatcher" + threadNameSuffix);
 
-            List<Future<OutputDataForEachFileName>> futureList = new ArrayList<>(currentCommitFiles.size());
-            for (JsonElement jsonElement : currentCommitFiles) {
-                final String fileName = GithubRestApiRepoFileHelper.getFileName(jsonElement.getAsJsonObject());
-                final String currentCommitShaFinal = currentCommitSha;
-                final String previousCommitShaFinal = previousCommitSha;
+        commitFetcherThread.start();
+        fileDispatcherThread.start();
 
-                futureList.add(executorService.submit(() ->
-                        processEachFileName(fileName, currentCommitShaFinal, previousCommitShaFinal)));
+        PendingCommit pendingCommit = null;
+        String nextCommitSha = firstCommit.sha;
+        int uncheckpointedCommitCount = 0;
+        try {
+            while ((pendingCommit = pendingCommitQueue.take()) != END_OF_PENDING_COMMITS) {
+                writePendingCommit(pendingCommit, outputFiles.getSinks(), rangeName);
+                processedCommitCount.incrementAndGet();
+
+                nextCommitSha = pendingCommit.previousCommitSha;
+                if (++uncheckpointedCommitCount >= checkpointCommitInterval) {
+                    outputFiles.checkpoint(nextCommitSha);
+                    uncheckpointedCommitCount = 0;
+                }
             }
 
-            int processedFileIndex = 0;
-            for (Future<OutputDataForEachFileName> future : futureList) {
-                OutputDataForEachFileName outputDataForEachFileName = future.get();
+            // every written commit is complete, even if a stage has failed
+            if (uncheckpointedCommitCount > 0)
+                outputFiles.checkpoint(nextCommitSha);
+
+            if (stageException.get() != null)
+                throw stageException.get();
+        } finally {
+            commitFetcherThread.interrupt();
+            fileDispatcherThread.interrupt();
+            commitFetcherThread.join();
+            fileDispatcherThread.join();
+
+            // cancel the remaining work if the run has failed
+            if (pendingCommit != null)
+                pendingCommit.cancel();
+            for (PendingCommit remainingPendingCommit : pendingCommitQueue) {
+                remainingPendingCommit.cancel();
+            }
+        }
+    }
 
-                writeToFile(csvPrintWriter, outputDataForEachFileName);
+    /**
+     * This method analyzes the history in several ranges of consecutive commits at the same time.
+     * The SHA values of the commits to be processed are listed first (and kept in a state file),
+     * and each range runs its own pipeline into its own output files and state file.
+     * When every range is done, the output files of the ranges are appended to the output files of the repo
+     * in commit order, and the state file of the repo is updated as if the commits were walked one at a time.
+     * If the program is interrupted, each range restarts from its last checkpoint.
+     *
+     * @param fileNamePrefix       prefix of the output file names
+     * @param processedCommitLimit commit limit (here, 0 (zero) means no limit)
+     * @throws Exception if any error occurs
+     */
+    private void analyzeInCommitRanges(String fileNamePrefix, long processedCommitLimit) throws Exception {
+        File commitRangesFile = new File(fileNamePrefix + COMMIT_RANGES_FILE_SUFFIX);
 
-                printAndReplaceAtSameLineOfConsole(consoleOutputBase +
-                        Long.toString(Math.round(((double) processedFileIndex) / currentCommitFiles.size() * 100.0)) + "%");
-                processedFileIndex++;
+        CommitRanges commitRanges;
+        if (commitRangesFile.isFile()) {
+            commitRanges = CommitRanges.read(commitRangesFile);
+        } else {
+            CheckpointedOutputFiles outputFiles = new CheckpointedOutputFiles(new File(fileNamePrefix + LAST_COMMIT_FILE_SUFFIX),
+                    getOutputFiles(fileNamePrefix), outputFormat, flushPolicy);
+            String checkpointCommitSha = outputFiles.getCheckpointCommitSha();
+            String firstCommitSha = (checkpointCommitSha != null) ? checkpointCommitSha : repoSource.getLatestCommitInfo().sha;
+
+            // one more commit is listed, which is the commit after the last processed commit
+            List<String> commitShas = repoSource.getFirstParentCommitShas(firstCommitSha,
+                    (processedCommitLimit == 0L) ? Long.MAX_VALUE : (processedCommitLimit + 1L));
+            commitRanges = new CommitRanges(commitShas, commitRangeCount);
+
+            // the output files of the repo are opened like a run without ranges, and their lengths are kept for the merge
+            outputFiles.open(true);
+            try {
+                outputFiles.checkpoint(firstCommitSha);
+            } finally {
+                outputFiles.close();
             }
+            commitRanges.write(commitRangesFile);
+        }
 
-            currentCommit = repoHelper.getCommitInfo(previousCommitSha);
-            currentCommitSha = GithubRestApiRepoHelper.getCommitSha(currentCommit);
-            previousCommitSha = GithubRestApiRepoHelper.getPreviousCommitSha(currentCommit);
+        System.out.println("Analyzing " + commitRanges.getProcessedCommitCount() + " commits of " + repoSource.getRepoFullName() + " in " +
+                commitRanges.rangeCount + " commit ranges.");
 
-            lastCommitPrintWriter = writeToFirstLine(currentCommitSha, lastCommitPrintWriter, lastCommitFileName);
+        WorkerPools workerPools = (sharedWorkerPools != null) ? sharedWorkerPools : createWorkerPools();
+        ExecutorService rangeExecutorService = ThreadPools.newFixedThreadPool(COMMIT_RANGE_NAME_PREFIX, Math.max(1, commitRanges.rangeCount));
+        CompletionService<Void> rangeCompletionService = new ExecutorCompletionService<>(rangeExecutorService);
+        List<Future<Void>> rangeFutures = new ArrayList<>(commitRanges.rangeCount);
+        try {
+            for (int rangeIndex = 0; rangeIndex < commitRanges.rangeCount; rangeIndex++) {
+                final int currentRangeIndex = rangeIndex;
+                rangeFutures.add(rangeCompletionService.submit(() -> {
+                    analyzeCommitRange(fileNamePrefix, commitRanges, currentRangeIndex, workerPools);
+                    return null;
+                }));
+            }
 
-            printAndReplaceAtSameLineOfConsole(consoleOutputBase + "100%\n");
-            processedCommitCount++;
+            // the first failed range stops the others
+            for (int i = 0; i < rangeFutures.size(); i++) {
+                Futures.getResult(rangeCompletionService.take());
+            }
+        } finally {
+            for (Future<Void> rangeFuture : rangeFutures) {
+                rangeFuture.cancel(true);
+            }
+
+            ThreadPools.shutdown(rangeExecutorService);
+            if (workerPools != sharedWorkerPools)
+                workerPools.shutdown();
+        }
+
+        mergeCommitRanges(fileNamePrefix, commitRanges, commitRangesFile);
+    }
+
+    /**
+     * This method analyzes a commit range, starting from its last checkpoint if it has been interrupted.
+     *
+     * @param fileNamePrefix prefix of the output file names of the repo
+     * @param commitRanges   commit ranges
+     * @param rangeIndex     index of the commit range
+     * @param workerPools    threads which download and parse files
+     * @throws Exception if any error occurs
+     */
+    private void analyzeCommitRange(String fileNamePrefix, CommitRanges commitRanges, int rangeIndex,
+                                    WorkerPools workerPools) throws Exception {
+        String rangeName = getCommitRangeName(rangeIndex);
+        String rangeFileNamePrefix = fileNamePrefix + "_" + rangeName;
+        CheckpointedOutputFiles outputFiles = new CheckpointedOutputFiles(new File(rangeFileNamePrefix + LAST_COMMIT_FILE_SUFFIX),
+                getOutputFiles(rangeFileNamePrefix), outputFormat, flushPolicy);
+
+        int startIndex = commitRanges.getStartIndex(rangeIndex);
+        int endIndex = commitRanges.getEndIndex(rangeIndex);
+
+        String checkpointCommitSha = outputFiles.getCheckpointCommitSha();
+        if (checkpointCommitSha != null) {
+            int checkpointCommitIndex = commitRanges.commitShas.indexOf(checkpointCommitSha);
+            if ((checkpointCommitIndex < startIndex) || (checkpointCommitIndex >= endIndex))
+                return;  // the range is done
+
+            startIndex = checkpointCommitIndex;
         }
 
-        executorService.shutdown();
+        outputFiles.open(false);
+        try {
+            analyzeCommits(repoSource.getCommitInfo(commitRanges.commitShas.get(startIndex)), endIndex - startIndex,
+                    outputFiles, workerPools, rangeName);
+        } finally {
+            outputFiles.close();
+        }
+    }
+
+    /**
+     * This method appends the output files of the commit ranges to the output files of the repo in commit order,
+     * updates the state file of the repo, and deletes the files of the commit ranges.
+     * The output files of the repo are truncated to their lengths before the merge first, so an interrupted merge
+     * is repeated from the start, and a merge which has already updated the state file of the repo is not repeated.
+     *
+     * @param fileNamePrefix   prefix of the output file names of the repo
+     * @param commitRanges     commit ranges (all of them are done)
+     * @param commitRangesFile state file of the commit ranges
+     * @throws Exception if any error occurs
+     */
+    private void mergeCommitRanges(String fileNamePrefix, CommitRanges commitRanges, File commitRangesFile) throws Exception {
+        CheckpointedOutputFiles outputFiles = new CheckpointedOutputFiles(new File(fileNamePrefix + LAST_COMMIT_FILE_SUFFIX),
+                getOutputFiles(fileNamePrefix), outputFormat, flushPolicy);
+
+        if (!commitRanges.getEndCommitSha().equals(outputFiles.getCheckpointCommitSha())) {
+            outputFiles.open(true);
+            try {
+                for (int detectorIndex = 0; detectorIndex < methodChangeDetectors.size(); detectorIndex++) {
+                    for (int rangeIndex = 0; rangeIndex < commitRanges.rangeCount; rangeIndex++) {
+                        File rangeOutputFile = getOutputFile(fileNamePrefix + "_" + getCommitRangeName(rangeIndex),
+                                methodChangeDetectors.get(detectorIndex));
+                        if (rangeOutputFile.isFile())
+                            outputFiles.appendFile(detectorIndex, rangeOutputFile);
+                    }
+                }
+
+                outputFiles.checkpoint(commitRanges.getEndCommitSha());
+            } finally {
+                outputFiles.close();
+            }
+        }
 
-        csvPrintWriter.close();
-        lastCommitPrintWriter.close();
+        Files.delete(commitRangesFile.toPath());
+        for (int rangeIndex = 0; rangeIndex < commitRanges.rangeCount; rangeIndex++) {
+            String rangeFileNamePrefix = fileNamePrefix + "_" + getCommitRangeName(rangeIndex);
+            for (MethodChangeDetector methodChangeDetector : methodChangeDetectors) {
+                Files.deleteIfExists(getOutputFile(rangeFileNamePrefix, methodChangeDetector).toPath());
+            }
+            Files.deleteIfExists(new File(rangeFileNamePrefix + LAST_COMMIT_FILE_SUFFIX).toPath());
+        }
     }
 
     //endregion
 
 
-    //region helper methods
+    //region pipeline stage methods
+
+    /**
+     * This method is the first stage of the pipeline. It walks the first-parent history starting from the given commit
+     * and puts each commit to be processed into the commit queue. The bounded queue lets the fetcher stay
+     * at most {@code lookaheadCommitCount} commits ahead of the file dispatcher.
+     *
+     * @param firstCommit          the first commit to be processed
+     * @param processedCommitLimit commit limit (here, 0 (zero) means no limit)
+     * @param commitQueue          queue to put fetched commits into
+     * @throws Exception if any error occurs
+     */
+    private void fetchCommits(CommitInfo firstCommit, long processedCommitLimit,
+                              BlockingQueue<CommitInfo> commitQueue) throws Exception {
+        CommitInfo currentCommit = firstCommit;
+        String previousCommitSha = currentCommit.getPreviousCommitSha();
+        Deque<CommitInfo> previousCommits = new ArrayDeque<>();
+
+        long fetchedCommitCount = 0L;
+        while ((previousCommitSha != null) &&
+                ((processedCommitLimit == 0L) || (fetchedCommitCount < processedCommitLimit))) {
+            commitQueue.put(currentCommit);
+            fetchedCommitCount++;
+
+            if ((processedCommitLimit != 0L) && (fetchedCommitCount >= processedCommitLimit))
+                break;  // the next commit is not needed, its SHA value is already known for the state file
+
+            if (previousCommits.isEmpty()) {
+                long neededCommitCount = (processedCommitLimit == 0L) ?
+                        COMMIT_BATCH_SIZE : Math.min(COMMIT_BATCH_SIZE, processedCommitLimit - fetchedCommitCount);
+                previousCommits.addAll(repoSource.getPreviousCommitInfos(currentCommit, (int) neededCommitCount,
+                        filePathFilter));
+            }
+
+            currentCommit = previousCommits.isEmpty() ?
+                    repoSource.getCommitInfo(previousCommitSha) : previousCommits.poll();
+            previousCommitSha = currentCommit.getPreviousCommitSha();
+        }
+
+        commitQueue.put(END_OF_COMMITS);
+    }
 
     /**
-     * This method filters modified java files from fileJsonArray.
+     * This method is the second stage of the pipeline. It submits the download and parse tasks
+     * of every modified Java file of each commit, and puts the pending results into the pending commit queue
+     * in commit order.
      *
-     * @param fileJsonArray JsonArray of files of a commit
-     * @return filtered JsonArray of files which are modified Java files
+     * @param commitQueue        queue to take fetched commits from
+     * @param pendingCommitQueue queue to put pending commits into
+     * @param workerPools        threads which download and parse files
+     * @throws Exception if any error occurs
      */
-    private static JsonArray getModifiedJavaFiles(JsonArray fileJsonArray) {
-        JsonArray filteredJsonArray = GithubRestApiRepoFileHelper.getFilesByStatus(fileJsonArray, GithubRestApiRepoFileHelper.FileStatus.MODIFIED);
-        return GithubRestApiRepoFileHelper.getFilesByExtension(filteredJsonArray, ".java");
+    private void dispatchCommitFiles(BlockingQueue<CommitInfo> commitQueue, BlockingQueue<PendingCommit> pendingCommitQueue,
+                                     WorkerPools workerPools) throws Exception {
+        CommitInfo currentCommit;
+        while ((currentCommit = commitQueue.take()) != END_OF_COMMITS) {
+            final String currentCommitSha = currentCommit.sha;
+            final String previousCommitSha = currentCommit.getPreviousCommitSha();
+
+            List<CommitFile> currentCommitFiles = getModifiedJavaFiles(currentCommit.files);
+
+            PendingCommit pendingCommit = new PendingCommit(currentCommitSha, previousCommitSha,
+                    new ArrayList<>(currentCommitFiles.size()), new ArrayList<>(currentCommitFiles.size() * 2));
+            try {
+                for (CommitFile commitFile : currentCommitFiles) {
+                    if (patchCheckEnabled && !MethodSignaturePatchChecker.mayChangeMethodSignatures(commitFile.patch)) {
+                        patchSkippedFileCount.incrementAndGet();
+                        continue;
+                    }
+
+                    final String fileName = commitFile.fileName;
+
+                    CompletableFuture<String> currentJavaFileText = getFileTextAsync(currentCommitSha, fileName,
+                            workerPools.ioExecutorService, workerPools.fetchPermits);
+                    pendingCommit.downloadFutureList.add(currentJavaFileText);
+                    CompletableFuture<String> previousJavaFileText = getFileTextAsync(previousCommitSha, fileName,
+                            workerPools.ioExecutorService, workerPools.fetchPermits);
+                    pendingCommit.downloadFutureList.add(previousJavaFileText);
+
+                    pendingCommit.futureList.add(currentJavaFileText
+                            .thenCombine(previousJavaFileText, (currentText, previousText) ->
+                                    new FileVersionsForEachFileName(fileName, currentText, previousText, currentCommitSha))
+                            .thenApplyAsync(this::parseEachFileName, workerPools.parseExecutorService));
+                }
+
+                pendingCommitQueue.put(pendingCommit);
+            } catch (Exception e) {
+                pendingCommit.cancel();  // the downloads of a commit which never reaches the queue must not hold permits
+                throw e;
+            }
+        }
+
+        pendingCommitQueue.put(END_OF_PENDING_COMMITS);
     }
 
     /**
-     * This method processes the two file versions of a same file name
-     * from two commits (current commit and previous commit).
+     * This method is the last stage of the pipeline. It waits for the results of a pending commit
+     * and writes them in file order, so the output files keep the commit order.
+     * The progress of the files is shown only if it is enabled and the commit does not belong to one of several commit ranges.
      *
-     * @param fileName          file name
-     * @param currentCommitSha  current commit SHA value
-     * @param previousCommitSha previous commit SHA value
-     * @return output data consisting of file name, method signature changes and current commit SHA
+     * @param pendingCommit pending commit
+     * @param sinks         sinks of the output files (one for each detector)
+     * @param rangeName     name of the commit range (here, null means the only run)
      * @throws Exception if any error occurs
      */
-    private OutputDataForEachFileName processEachFileName(final String fileName, final String currentCommitSha, final String previousCommitSha) throws Exception {
-        ExecutorService executorService = Executors.newFixedThreadPool(2);
+    private void writePendingCommit(PendingCommit pendingCommit, List<MethodChangeSink> sinks, String rangeName) throws Exception {
+        boolean fileProgressShown = this.fileProgressShown && (rangeName == null);
+
+        String consoleOutputBase = "Processing commit: " + pendingCommit.currentCommitSha + " : ";
+        if (fileProgressShown)
+            System.out.print(consoleOutputBase);
+
+        int processedFileIndex = 0;
+        for (Future<OutputDataForEachFileName> future : pendingCommit.futureList) {
+            OutputDataForEachFileName outputDataForEachFileName = Futures.getResult(future);
+
+            for (int detectorIndex = 0; detectorIndex < sinks.size(); detectorIndex++) {
+                MethodChangeSink sink = sinks.get(detectorIndex);
+                List<MethodChange> methodChanges = outputDataForEachFileName.methodChanges.get(detectorIndex);
+                for (MethodChange methodChange : methodChanges) {
+                    sink.write(outputDataForEachFileName.currentCommitSha, outputDataForEachFileName.fileName, methodChange);
+                }
+                writtenMethodChangeCount.addAndGet(methodChanges.size());
+            }
+
+            if (fileProgressShown)
+                printAndReplaceAtSameLineOfConsole(consoleOutputBase +
+                        Long.toString(Math.round(((double) processedFileIndex) / pendingCommit.futureList.size() * 100.0)) + "%");
+            processedFileIndex++;
+        }
+
+        for (MethodChangeSink sink : sinks) {
+            sink.endCommit();
+        }
 
-        Future<String> currentJavaFileTextThread = executorService.submit(() -> getFileText(currentCommitSha, fileName));
-        Future<String> previousJavaFileTextThread = executorService.submit(() -> getFileText(previousCommitSha, fileName));
+        if (fileProgressShown) {
+            printAndReplaceAtSameLineOfConsole(consoleOutputBase + "100%\n");
+        } else {
+            String runName = repoSource.getRepoFullName() + ((rangeName == null) ? "" : (" " + rangeName));
+            System.out.println("Processed commit (" + runName + "): " + pendingCommit.currentCommitSha);
+        }
+    }
+
+    //endregion
+
+
+    //region helper methods
+
+    /**
+     * This method filters modified java files (accepted by the file path filter) from the changed files of a commit.
+     *
+     * @param commitFiles changed files of a commit
+     * @return filtered list of files which are modified Java files
+     */
+    private List<CommitFile> getModifiedJavaFiles(List<CommitFile> commitFiles) {
+        List<CommitFile> filteredCommitFiles = new ArrayList<>(commitFiles.size());
 
-        String currentJavaFileText = currentJavaFileTextThread.get();
-        String previousJavaFileText = previousJavaFileTextThread.get();
+        for (CommitFile commitFile : commitFiles) {
+            if ((commitFile.status == CommitFile.FileStatus.MODIFIED) && commitFile.fileName.endsWith(JAVA_FILE_EXTENSION) &&
+                    filePathFilter.test(commitFile.fileName))
+                filteredCommitFiles.add(commitFile);
+        }
 
-        executorService.shutdown();
+        return filteredCommitFiles;
+    }
 
-        List<MethodChange> methodChanges = compareJavaFileMethodParameter(currentJavaFileText, previousJavaFileText);
-        return new OutputDataForEachFileName(fileName, methodChanges, currentCommitSha);
+    /**
+     * This method parses the two file versions of a same file name to detect method signature changes.
+     *
+     * @param fileVersions both file versions of a same file name
+     * @return output data consisting of file name, method signature changes (for each detector) and current commit SHA
+     */
+    private OutputDataForEachFileName parseEachFileName(FileVersionsForEachFileName fileVersions) {
+        List<List<MethodChange>> methodChanges = detectMethodChanges(fileVersions.currentJavaFileText, fileVersions.previousJavaFileText);
+        return new OutputDataForEachFileName(fileVersions.fileName, methodChanges, fileVersions.currentCommitSha);
     }
 
-    private String getFileText(String commitSha, String fileName) throws Exception {
-        return repoFileHelper.getRepoFileAsString(commitSha, fileName);
+    /**
+     * This method downloads a file version in the background. It waits for a permit first (in the turn of the repository,
+     * as the permits may be shared with other repositories), so the number of in-flight downloads stays limited,
+     * and the permit is released when the download ends.
+     *
+     * @param commitSha    commit SHA value of a commit (version of a file)
+     * @param fileName     file name
+     * @param executor     executor for a blocking download
+     * @param fetchPermits permits which limit the number of in-flight downloads
+     * @return future of the file text
+     * @throws InterruptedException if interrupted while waiting for a permit
+     */
+    private CompletableFuture<String> getFileTextAsync(String commitSha, String fileName, Executor executor,
+                                                       FairSharePermits fetchPermits) throws InterruptedException {
+        fetchPermits.acquire(repoSource.getRepoFullName());
+
+        CompletableFuture<String> fileText;
+        try {
+            fileText = repoSource.getRepoFileAsStringAsync(commitSha, fileName, executor);
+        } catch (RuntimeException e) {
+            fetchPermits.release();
+            throw e;
+        }
+
+        fileText.whenComplete((text, throwable) -> fetchPermits.release());
+        return fileText;
     }
 
     /**
-     * This method compares method signatures of the two Java files to detect increases of method parameters.
+     * This method compares method signatures of the two Java files once, and runs every detector on the comparison.
      *
      * @param currentJavaFile  source code of current Java file
      * @param previousJavaFile source code of previous Java file
-     * @return a list of method signatures where the current Java file adds parameters of a same method of the previous Java file
+     * @return the detected changes of each detector (in the order of the detectors)
      */
-    private static List<MethodChange> compareJavaFileMethodParameter(String currentJavaFile, String previousJavaFile) {
-        List<MethodChange> changes = new ArrayList<>();
+    private List<List<MethodChange>> detectMethodChanges(String currentJavaFile, String previousJavaFile) {
+        List<List<MethodChange>> changes = new ArrayList<>(methodChangeDetectors.size());
 
         List<MethodStruct> currentMethodStructs;
         List<MethodStruct> previousMethodStructs;
 
         try {
-            currentMethodStructs = JavaMethodVisitor.getMethodSignatures(new StringReader(currentJavaFile));
-            previousMethodStructs = JavaMethodVisitor.getMethodSignatures(new StringReader(previousJavaFile));
+            currentMethodStructs = methodSignatureCache.getMethodSignatures(currentJavaFile);
+            previousMethodStructs = methodSignatureCache.getMethodSignatures(previousJavaFile);
         } catch (ParseProblemException e) {
             e.printStackTrace();
+            for (int i = 0; i < methodChangeDetectors.size(); i++) {
+                changes.add(Collections.emptyList());
+            }
             return changes;
         }
 
-        MultiValuedMap<String, MethodStruct> previousMethodStructMap = getMethodStructMap(previousMethodStructs);
-
-        for (MethodStruct methodStruct : currentMethodStructs) {
-            String methodStructKey = getMethodStructKey(methodStruct);
-
-            Collection<MethodStruct> foundMethodStructs = previousMethodStructMap.get(methodStructKey);
-
-            if (foundMethodStructs.isEmpty()) continue;  // added method, so ignore
-            if (foundMethodStructs.contains(methodStruct)) continue;  // same method found, so ignore
-
-            MethodStruct foundMethodStruct = foundMethodStructs.iterator().next();
-
-            if (foundMethodStruct.parameters.size() < methodStruct.parameters.size()) {  // parameter added, so we have found our required condition
-                changes.add(new MethodChange(foundMethodStruct, methodStruct));
-            }
+        MethodSignatureComparison comparison = new MethodSignatureComparison(previousMethodStructs, currentMethodStructs);
+        for (MethodChangeDetector methodChangeDetector : methodChangeDetectors) {
+            changes.add(methodChangeDetector.detectChanges(comparison));
         }
 
         return changes;
     }
 
     /**
-     * This method generates a map of method structures to identify a same method structure with different arguments.
-     * The key part of the map consists of the string part without any argument.
-     * The value part of the map consists of the method structure itself.
+     * This method obtains the output file of each detector.
      *
-     * @param methodStructs the list of method structures
-     * @return a map of method structures
+     * @param outputFileNamePrefix prefix of the output file names
+     * @return output files (in the order of the detectors)
      */
-    private static MultiValuedMap<String, MethodStruct> getMethodStructMap(List<MethodStruct> methodStructs) {
-        MultiValuedMap<String, MethodStruct> methodStructMap = new ArrayListValuedHashMap<>(methodStructs.size());
-
-        for (MethodStruct methodStruct : methodStructs) {
-            methodStructMap.put(getMethodStructKey(methodStruct), methodStruct);
+    private List<File> getOutputFiles(String outputFileNamePrefix) {
+        List<File> outputFiles = new ArrayList<>(methodChangeDetectors.size());
+        for (MethodChangeDetector methodChangeDetector : methodChangeDetectors) {
+            outputFiles.add(getOutputFile(outputFileNamePrefix, methodChangeDetector));
         }
 
-        return methodStructMap;
+        return outputFiles;
     }
 
-    /**
-     * This method obtains the string representation of method structure without any argument.
-     *
-     * @param methodStruct method structure
-     * @return the string representation of method structure without any argument
-     */
-    private static String getMethodStructKey(MethodStruct methodStruct) {
-        String methodStructString = methodStruct.toString();
-        return methodStructString.substring(0, methodStructString.lastIndexOf(':') + 1);
+    private File getOutputFile(String outputFileNamePrefix, MethodChangeDetector methodChangeDetector) {
+        return new File(outputFormat.getFileName(outputFileNamePrefix + methodChangeDetector.getCsvFileSuffix()));
     }
 
-    private void writeToFile(PrintWriter csvPrintWriter, OutputDataForEachFileName outputDataForEachFileName) {
-        for (MethodChange methodChange : outputDataForEachFileName.methodChanges) {
-            String oldMethodStructString = methodChange.oldMethodStruct.toString();
-            String newMethodStructString = methodChange.newMethodStruct.toString();
-
-            csvPrintWriter.printf(
-                    "%s,\"%s\",\"%s\",\"%s\"\n",
-                    outputDataForEachFileName.currentCommitSha,
-                    outputDataForEachFileName.fileName,
-                    oldMethodStructString.substring(oldMethodStructString.indexOf(':') + 1),
-                    newMethodStructString.substring(newMethodStructString.indexOf(':') + 1));
-        }
+    private static String getCommitRangeName(int rangeIndex) {
+        return COMMIT_RANGE_NAME_PREFIX + (rangeIndex + 1);
     }
 
     /**
-     * This method is suitable for writing any single line status file.
+     * This method puts the end marker of a pipeline stage into a queue,
+     * making room for it if the next stage has already stopped taking from the queue.
      *
-     * @param line        line to write
-     * @param printWriter current printWriter
-     * @param fileName    fileName in which the line will be written
-     * @return new print writer for future writing
-     * @throws Exception if any error occurs
+     * @param queue          queue of the pipeline stage
+     * @param endMarker      end marker of the pipeline stage
+     * @param droppedElement action for each element dropped to make room (such as cancelling its work)
+     * @param <T>            type of queue elements
      */
-    private static PrintWriter writeToFirstLine(String line, PrintWriter printWriter, String fileName) throws Exception {
-        printWriter.close();
-        PrintWriter newPrintWriter = new PrintWriter(new FileWriter(fileName), true);
-        newPrintWriter.println(line);
-        return newPrintWriter;
+    private static <T> void putEndOfStage(BlockingQueue<T> queue, T endMarker, Consumer<T> droppedElement) {
+        while (!queue.offer(endMarker)) {
+            T element = queue.poll();
+            if (element != null)
+                droppedElement.accept(element);
+        }
     }
 
     private static void printAndReplaceAtSameLineOfConsole(String string) {
@@ -315,16 +1006,113 @@ public class GithubRepoJavaFileAnalyzer {
 
     //region helper structures
 
+    private static final CommitInfo END_OF_COMMITS = new CommitInfo(null, new ArrayList<>(0), new ArrayList<>(0));
+    private static final PendingCommit END_OF_PENDING_COMMITS = new PendingCommit(null, null, new ArrayList<>(0),
+            new ArrayList<>(0));
+
+    /**
+     * This class is the structure of the commit ranges of a run. The SHA values of the commits are listed
+     * from newer to older, and the last one is the commit after the last processed commit (which is not processed).
+     */
+    private static class CommitRanges {
+        public final List<String> commitShas;
+        public final int rangeCount;
+
+        public CommitRanges(List<String> commitShas, int rangeCount) {
+            this.commitShas = commitShas;
+            this.rangeCount = Math.min(rangeCount, commitShas.size() - 1);
+        }
+
+        public int getProcessedCommitCount() {
+            return commitShas.size() - 1;
+        }
+
+        public int getStartIndex(int rangeIndex) {
+            return (int) (((long) rangeIndex * getProcessedCommitCount()) / rangeCount);
+        }
+
+        public int getEndIndex(int rangeIndex) {
+            return getStartIndex(rangeIndex + 1);
+        }
+
+        public String getEndCommitSha() {
+            return commitShas.get(commitShas.size() - 1);
+        }
+
+        /**
+         * This method reads the commit ranges from a state file (the number of ranges, and then the SHA values).
+         *
+         * @param file state file
+         * @return the commit ranges
+         * @throws IOException if any error occurs while reading
+         */
+        public static CommitRanges read(File file) throws IOException {
+            List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+            return new CommitRanges(new ArrayList<>(lines.subList(1, lines.size())), Integer.parseInt(lines.get(0).trim()));
+        }
+
+        /**
+         * This method writes the commit ranges into a state file atomically.
+         *
+         * @param file state file
+         * @throws IOException if any error occurs while writing
+         */
+        public void write(File file) throws IOException {
+            StringBuilder stringBuilder = new StringBuilder().append(rangeCount).append('\n');
+            for (String commitSha : commitShas) {
+                stringBuilder.append(commitSha).append('\n');
+            }
+
+            AtomicFiles.writeSynced(file.toPath(), stringBuilder.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * This class is the structure of both versions of a file before parsing.
+     */
+    private static class FileVersionsForEachFileName {
+        public final String fileName;
+        public final String currentJavaFileText;
+        public final String previousJavaFileText;
+        public final String currentCommitSha;
+
+        public FileVersionsForEachFileName(String fileName, String currentJavaFileText, String previousJavaFileText, String currentCommitSha) {
+            this.fileName = fileName;
+            this.currentJavaFileText = currentJavaFileText;
+            this.previousJavaFileText = previousJavaFileText;
+            this.currentCommitSha = currentCommitSha;
+        }
+    }
+
     /**
-     * This class is the structure of method signature changes.
+     * This class is the structure of a commit whose files are being processed in the pipeline.
+     * It keeps the downloads too, because cancelling a derived future does not cancel the futures it depends on.
      */
-    private static class MethodChange {
-        public final MethodStruct oldMethodStruct;
-        public final MethodStruct newMethodStruct;
+    private static class PendingCommit {
+        public final String currentCommitSha;
+        public final String previousCommitSha;
+        public final List<CompletableFuture<OutputDataForEachFileName>> futureList;
+        public final List<CompletableFuture<String>> downloadFutureList;
 
-        public MethodChange(MethodStruct oldMethodStruct, MethodStruct newMethodStruct) {
-            this.oldMethodStruct = oldMethodStruct;
-            this.newMethodStruct = newMethodStruct;
+        public PendingCommit(String currentCommitSha, String previousCommitSha,
+                             List<CompletableFuture<OutputDataForEachFileName>> futureList,
+                             List<CompletableFuture<String>> downloadFutureList) {
+            this.currentCommitSha = currentCommitSha;
+            this.previousCommitSha = previousCommitSha;
+            this.futureList = futureList;
+            this.downloadFutureList = downloadFutureList;
+        }
+
+        /**
+         * This method cancels the downloads (which releases their fetch permits) and the parse tasks of the commit.
+         */
+        public void cancel() {
+            for (CompletableFuture<String> downloadFuture : downloadFutureList) {
+                downloadFuture.cancel(true);
+            }
+            for (CompletableFuture<OutputDataForEachFileName> future : futureList) {
+                future.cancel(true);
+            }
         }
     }
 
@@ -333,10 +1121,10 @@ public class GithubRepoJavaFileAnalyzer {
      */
     private static class OutputDataForEachFileName {
         public final String fileName;
-        public final List<MethodChange> methodChanges;
+        public final List<List<MethodChange>> methodChanges;  // for each detector
         public final String currentCommitSha;
 
-        public OutputDataForEachFileName(String fileName, List<MethodChange> methodChanges, String currentCommitSha) {
+        public OutputDataForEachFileName(String fileName, List<List<MethodChange>> methodChanges, String currentCommitSha) {
             this.fileName = fileName;
             this.methodChanges = methodChanges;
             this.currentCommitSha = currentCommitSha;
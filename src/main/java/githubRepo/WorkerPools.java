@@ -0,0 +1,78 @@
+package githubRepo;
+
+import threadUtil.FairSharePermits;
+import threadUtil.ThreadPools;
+import threadUtil.VirtualThreads;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * This class is the structure of the threads which download files (network I/O) and parse files (CPU-bound).
+ * Every pipeline of a run shares them, and so do the analyzers of several repositories in a batch.
+ * The permits of the downloads are shared fairly between the repositories (see {@link FairSharePermits}):
+ * the downloads of each repository wait in their own queue, and the repositories take turns for the released permits,
+ * so a repository with more pipelines waiting (such as one analyzed in several commit ranges) cannot starve the others.
+ */
+public class WorkerPools {
+    //region variables
+
+    public final ExecutorService ioExecutorService;
+    public final FairSharePermits fetchPermits;  // limits the number of in-flight downloads (shared by repository)
+    public final ExecutorService parseExecutorService;
+
+    //endregion
+
+
+    //region constructors
+
+    public WorkerPools(ExecutorService ioExecutorService, FairSharePermits fetchPermits, ExecutorService parseExecutorService) {
+        this.ioExecutorService = ioExecutorService;
+        this.fetchPermits = fetchPermits;
+        this.parseExecutorService = parseExecutorService;
+    }
+
+    //endregion
+
+
+    //region static methods
+
+    /**
+     * This method creates the worker pools. The number of download permits is fixed, and it is not tied to
+     * the API rate limit budget, because the files are downloaded from raw file URLs which do not spend it.
+     *
+     * @param threadCount           number of download threads (used if virtual threads are not enabled or not supported)
+     * @param parseThreadCount      number of parse threads
+     * @param virtualThreadsEnabled true to run every download on its own virtual thread (JDK 21 or later)
+     * @param maxInFlightFetchCount maximum number of concurrent downloads on virtual threads
+     * @return the worker pools
+     */
+    public static WorkerPools create(int threadCount, int parseThreadCount, boolean virtualThreadsEnabled,
+                                     int maxInFlightFetchCount) {
+        if (virtualThreadsEnabled && VirtualThreads.isSupported())
+            return new WorkerPools(VirtualThreads.newVirtualThreadPerTaskExecutor("io"), new FairSharePermits(maxInFlightFetchCount),
+                    ThreadPools.newFixedThreadPool("parse", parseThreadCount));
+
+        if (virtualThreadsEnabled)
+            System.err.println("Virtual threads are not supported by this JVM, so a fixed thread pool is used.");
+
+        return new WorkerPools(ThreadPools.newFixedThreadPool("io", threadCount), new FairSharePermits(threadCount),
+                ThreadPools.newFixedThreadPool("parse", parseThreadCount));
+    }
+
+    //endregion
+
+
+    //region methods
+
+    /**
+     * This method stops the threads, interrupting their running tasks.
+     *
+     * @throws InterruptedException if interrupted while waiting for the threads
+     */
+    public void shutdown() throws InterruptedException {
+        ThreadPools.shutdown(ioExecutorService);
+        ThreadPools.shutdown(parseExecutorService);
+    }
+
+    //endregion
+}
@@ -2,22 +2,49 @@ package javaParserHelper;
 
 import com.github.javaparser.JavaParser;
 import com.github.javaparser.ParseProblemException;
+import com.github.javaparser.ParseResult;
+import com.github.javaparser.ParseStart;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.Providers;
 import com.github.javaparser.ast.CompilationUnit;
-import com.github.javaparser.ast.Node;
 import com.github.javaparser.ast.NodeList;
+import com.github.javaparser.ast.body.AnnotationDeclaration;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.ConstructorDeclaration;
+import com.github.javaparser.ast.body.EnumConstantDeclaration;
+import com.github.javaparser.ast.body.EnumDeclaration;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.InitializerDeclaration;
 import com.github.javaparser.ast.body.MethodDeclaration;
 import com.github.javaparser.ast.body.Parameter;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.expr.ObjectCreationExpr;
 import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
 
 import java.io.Reader;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * This class creates method signature list from a Java file.
  */
 public class JavaMethodVisitor {
+    //region constant variables
+
+    /**
+     * Each thread reuses its own parser (a parser is not thread-safe), so the parse threads never share one.
+     */
+    private static final ThreadLocal<JavaParser> JAVA_PARSER =
+            ThreadLocal.withInitial(() -> new JavaParser(createParserConfiguration()));
+
+    //endregion
+
+
     //region static methods
 
     /**
@@ -28,7 +55,11 @@ public class JavaMethodVisitor {
      * @throws ParseProblemException if parsing problem occurs
      */
     public static List<MethodStruct> getMethodSignatures(Reader reader) throws ParseProblemException {
-        CompilationUnit compilationUnit = JavaParser.parse(reader);
+        ParseResult<CompilationUnit> parseResult = JAVA_PARSER.get().parse(ParseStart.COMPILATION_UNIT, Providers.provider(reader));
+        if (!parseResult.isSuccessful() || !parseResult.getResult().isPresent())
+            throw new ParseProblemException(parseResult.getProblems());
+
+        CompilationUnit compilationUnit = parseResult.getResult().get();
 
         List<MethodStruct> methodSignatures = new LinkedList<>();
         compilationUnit.accept(new MethodVisitor(), methodSignatures);
@@ -38,12 +69,123 @@ public class JavaMethodVisitor {
 
     //endregion
 
+
+    //region helper methods
+
+    /**
+     * This method creates the configuration of the parsers. Only the declarations are needed,
+     * so comments are not attributed to nodes, and neither tokens nor lexical information is kept.
+     * The language level is fixed, so the accepted syntax does not depend on the static configuration.
+     *
+     * @return the configuration
+     */
+    private static ParserConfiguration createParserConfiguration() {
+        return new ParserConfiguration()
+                .setAttributeComments(false)
+                .setStoreTokens(false)
+                .setLexicalPreservationEnabled(false)
+                .setLanguageLevel(ParserConfiguration.LanguageLevel.JAVA_8);
+    }
+
+    //endregion
+
+    /**
+     * This class collects the method signatures of a compilation unit. The scope path of a method consists of
+     * the package, the chain of the enclosing type names (like {@code p.Outer.Inner}) and the constant name of
+     * an enum constant body. An anonymous or local class is named by its enclosing member and its ordinal among
+     * the classes of the member (like {@code p.Outer.doTask$1} or {@code p.Outer.doTask$2Local}), so methods
+     * at the same depth in different types never share a scope path.
+     */
     private static class MethodVisitor extends VoidVisitorAdapter<List<MethodStruct>> {
+        //region constant variables
+
+        private static final String CONSTRUCTOR_MEMBER_NAME = "<init>";
+        private static final String STATIC_INITIALIZER_MEMBER_NAME = "<clinit>";
+
+        //endregion
+
+
+        //region variables
+
+        private final Deque<TypeScope> typeScopes = new ArrayDeque<>();
+
+        //endregion
+
+
         //region override methods
 
+        @Override
+        public void visit(CompilationUnit compilationUnit, List<MethodStruct> methodSignatures) {
+            String packageName = compilationUnit.getPackageDeclaration().isPresent() ?
+                    compilationUnit.getPackageDeclaration().get().getNameAsString() : "";
+            visitType(packageName, () -> super.visit(compilationUnit, methodSignatures));
+        }
+
+        @Override
+        public void visit(ClassOrInterfaceDeclaration classOrInterfaceDeclaration, List<MethodStruct> methodSignatures) {
+            String typeName = classOrInterfaceDeclaration.getNameAsString();
+            visitType(classOrInterfaceDeclaration.isLocalClassDeclaration() ? getLocalTypePath(typeName) : getMemberTypePath(typeName),
+                    () -> super.visit(classOrInterfaceDeclaration, methodSignatures));
+        }
+
+        @Override
+        public void visit(EnumDeclaration enumDeclaration, List<MethodStruct> methodSignatures) {
+            visitType(getMemberTypePath(enumDeclaration.getNameAsString()), () -> super.visit(enumDeclaration, methodSignatures));
+        }
+
+        @Override
+        public void visit(AnnotationDeclaration annotationDeclaration, List<MethodStruct> methodSignatures) {
+            visitType(getMemberTypePath(annotationDeclaration.getNameAsString()), () -> super.visit(annotationDeclaration, methodSignatures));
+        }
+
+        @Override
+        public void visit(EnumConstantDeclaration enumConstantDeclaration, List<MethodStruct> methodSignatures) {
+            String constantName = enumConstantDeclaration.getNameAsString();
+            if (enumConstantDeclaration.getClassBody().isEmpty()) {
+                visitMember(constantName, () -> super.visit(enumConstantDeclaration, methodSignatures));
+                return;
+            }
+
+            visitMember(constantName, () -> enumConstantDeclaration.getArguments().forEach(argument -> argument.accept(this, methodSignatures)));
+            visitType(getMemberTypePath(constantName),
+                    () -> enumConstantDeclaration.getClassBody().forEach(member -> member.accept(this, methodSignatures)));
+        }
+
+        @Override
+        public void visit(ObjectCreationExpr objectCreationExpr, List<MethodStruct> methodSignatures) {
+            if (!objectCreationExpr.getAnonymousClassBody().isPresent()) {
+                super.visit(objectCreationExpr, methodSignatures);
+                return;
+            }
+
+            // the anonymous classes of the arguments come first, like the ordinals given by javac
+            objectCreationExpr.getScope().ifPresent(scope -> scope.accept(this, methodSignatures));
+            objectCreationExpr.getArguments().forEach(argument -> argument.accept(this, methodSignatures));
+            visitType(getLocalTypePath(""),
+                    () -> objectCreationExpr.getAnonymousClassBody().get().forEach(member -> member.accept(this, methodSignatures)));
+        }
+
+        @Override
+        public void visit(FieldDeclaration fieldDeclaration, List<MethodStruct> methodSignatures) {
+            for (VariableDeclarator variable : fieldDeclaration.getVariables()) {
+                visitMember(variable.getNameAsString(), () -> variable.accept(this, methodSignatures));
+            }
+        }
+
+        @Override
+        public void visit(InitializerDeclaration initializerDeclaration, List<MethodStruct> methodSignatures) {
+            visitMember(initializerDeclaration.isStatic() ? STATIC_INITIALIZER_MEMBER_NAME : CONSTRUCTOR_MEMBER_NAME,
+                    () -> super.visit(initializerDeclaration, methodSignatures));
+        }
+
+        @Override
+        public void visit(ConstructorDeclaration constructorDeclaration, List<MethodStruct> methodSignatures) {
+            visitMember(CONSTRUCTOR_MEMBER_NAME, () -> super.visit(constructorDeclaration, methodSignatures));
+        }
+
         @Override
         public void visit(MethodDeclaration methodDeclaration, List<MethodStruct> methodSignatures) {
-            super.visit(methodDeclaration, methodSignatures);
+            visitMember(methodDeclaration.getNameAsString(), () -> super.visit(methodDeclaration, methodSignatures));
             methodSignatures.add(getMethodSignature(methodDeclaration));
         }
 
@@ -52,28 +194,52 @@ public class JavaMethodVisitor {
 
         //region helper methods
 
-        private static MethodStruct getMethodSignature(MethodDeclaration methodDeclaration) {
-            return new MethodStruct(
-                    getParents(methodDeclaration),
-                    methodDeclaration.getTypeAsString(),
-                    methodDeclaration.getNameAsString(),
-                    getParameterAsStringList(methodDeclaration.getParameters()));
+        private void visitType(String typePath, Runnable typeVisit) {
+            typeScopes.push(new TypeScope(typePath));
+            try {
+                typeVisit.run();
+            } finally {
+                typeScopes.pop();
+            }
         }
 
-        private static String getParents(MethodDeclaration methodDeclaration) {
-            int parentCount = 0;
-            //StringBuilder parents = new StringBuilder();
-
-            Node currentNode = methodDeclaration;
-            while (currentNode.getParentNode().isPresent()) {
-                currentNode = currentNode.getParentNode().get();
+        private void visitMember(String memberName, Runnable memberVisit) {
+            TypeScope typeScope = typeScopes.peek();
+            String enclosingMemberName = typeScope.memberName;
 
-                //TODO: how to identify every parent node; (mitigated by parent node count)
-                parentCount++;
+            typeScope.memberName = memberName;
+            try {
+                memberVisit.run();
+            } finally {
+                typeScope.memberName = enclosingMemberName;
             }
+        }
 
-            return Integer.toString(parentCount);
-            //return parents.toString();
+        private String getMemberTypePath(String typeName) {
+            String enclosingPath = typeScopes.peek().path;
+            return enclosingPath.isEmpty() ? typeName : (enclosingPath + "." + typeName);
+        }
+
+        /**
+         * This method names an anonymous or local class by its enclosing member and its ordinal.
+         *
+         * @param typeName name of the local class (here, empty means an anonymous class)
+         * @return the path of the class
+         */
+        private String getLocalTypePath(String typeName) {
+            TypeScope typeScope = typeScopes.peek();
+            int ordinal = typeScope.localTypeCounts.merge(typeScope.memberName, 1, Integer::sum);
+
+            String memberPath = typeScope.memberName.isEmpty() ? typeScope.path : (typeScope.path + "." + typeScope.memberName);
+            return memberPath + "$" + ordinal + typeName;
+        }
+
+        private MethodStruct getMethodSignature(MethodDeclaration methodDeclaration) {
+            return new MethodStruct(
+                    typeScopes.peek().path,
+                    methodDeclaration.getTypeAsString(),
+                    methodDeclaration.getNameAsString(),
+                    getParameterAsStringList(methodDeclaration.getParameters()));
         }
 
         private static List<String> getParameterAsStringList(NodeList<Parameter> parameters) {
@@ -87,5 +253,23 @@ public class JavaMethodVisitor {
         }
 
         //endregion
+
+
+        //region helper structures
+
+        /**
+         * This class is the structure of a type being visited.
+         */
+        private static class TypeScope {
+            public final String path;
+            public String memberName = "";  // member of the type being visited (here, empty means none)
+            public final Map<String, Integer> localTypeCounts = new HashMap<>();  // by member name
+
+            public TypeScope(String path) {
+                this.path = path;
+            }
+        }
+
+        //endregion
     }
 }
@@ -0,0 +1,345 @@
+package javaParserHelper;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * This class blanks the bodies of methods and constructors of a Java source, so that parsing the source
+ * builds only the declarations (which are all that method signatures need).
+ * <p>
+ * A body is blanked only if it cannot declare any type (no local class, no anonymous class),
+ * so every method declaration of the source stays in the result at the same place of the syntax tree.
+ * Whenever the source has anything which this class does not understand, it gives up,
+ * and the caller should parse the original source.
+ * Note that a blanked body is not checked for syntax errors.
+ */
+public class MethodBodyStripper {
+    //region constant variables
+
+    private static final String TEXT_BLOCK_DELIMITER = "\"\"\"";
+    private static final String UNICODE_ESCAPE_PREFIX = "\\u";
+
+    //endregion
+
+
+    //region enums
+
+    private enum BlockKind {TYPE_BODY, ENUM_CONSTANTS, METHOD_BODY, OTHER}
+
+    //endregion
+
+
+    //region static methods
+
+    /**
+     * This method blanks the bodies of methods and constructors which cannot declare any type.
+     * Line breaks are kept, so the positions of the declarations stay the same.
+     *
+     * @param javaSource Java source
+     * @return the source with blanked bodies, or null if the source is not understood
+     */
+    public static String stripMethodBodies(String javaSource) {
+        if (javaSource.contains(TEXT_BLOCK_DELIMITER) || javaSource.contains(UNICODE_ESCAPE_PREFIX))
+            return null;  // not handled by the tokenizer
+
+        List<Token> tokens = tokenize(javaSource);
+        if (tokens == null) return null;
+
+        List<int[]> strippedRanges = findStrippableBodies(tokens);
+        if (strippedRanges == null) return null;
+        if (strippedRanges.isEmpty()) return javaSource;
+
+        StringBuilder stringBuilder = new StringBuilder(javaSource);
+        for (int[] strippedRange : strippedRanges) {
+            for (int i = strippedRange[0]; i < strippedRange[1]; i++) {
+                char c = stringBuilder.charAt(i);
+                if ((c != '\n') && (c != '\r'))
+                    stringBuilder.setCharAt(i, ' ');
+            }
+        }
+
+        return stringBuilder.toString();
+    }
+
+    //endregion
+
+
+    //region helper methods
+
+    /**
+     * This method splits a Java source into identifiers, literals and single-character symbols,
+     * skipping whitespace and comments.
+     *
+     * @param javaSource Java source
+     * @return the tokens, or null if a comment or literal is not terminated
+     */
+    private static List<Token> tokenize(String javaSource) {
+        List<Token> tokens = new ArrayList<>(javaSource.length() / 4);
+
+        int length = javaSource.length();
+        int i = 0;
+        while (i < length) {
+            char c = javaSource.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (javaSource.startsWith("//", i)) {
+                int end = javaSource.indexOf('\n', i);
+                i = (end < 0) ? length : end;
+            } else if (javaSource.startsWith("/*", i)) {
+                int end = javaSource.indexOf("*/", i + 2);
+                if (end < 0) return null;
+                i = end + 2;
+            } else if ((c == '"') || (c == '\'')) {
+                int end = i + 1;
+                while ((end < length) && (javaSource.charAt(end) != c)) {
+                    if (javaSource.charAt(end) == '\\') end++;
+                    if ((end < length) && (javaSource.charAt(end) == '\n')) return null;
+                    end++;
+                }
+                if (end >= length) return null;
+                tokens.add(new Token(javaSource.substring(i, end + 1), i));
+                i = end + 1;
+            } else if (Character.isJavaIdentifierStart(c) || Character.isDigit(c)) {
+                int end = i + 1;
+                while ((end < length) && Character.isJavaIdentifierPart(javaSource.charAt(end))) {
+                    end++;
+                }
+                tokens.add(new Token(javaSource.substring(i, end), i));
+                i = end;
+            } else {
+                tokens.add(new Token(Character.toString(c), i));
+                i++;
+            }
+        }
+
+        return tokens;
+    }
+
+    /**
+     * This method finds the bodies of methods and constructors which can be blanked.
+     *
+     * @param tokens tokens of a Java source
+     * @return ranges (start and end offsets) of the contents of the bodies, or null if the tokens are not understood
+     */
+    private static List<int[]> findStrippableBodies(List<Token> tokens) {
+        List<int[]> strippedRanges = new ArrayList<>();
+
+        Deque<BlockKind> blockKinds = new ArrayDeque<>();
+        Deque<Integer> blockStarts = new ArrayDeque<>();
+        Deque<Boolean> blockSafeties = new ArrayDeque<>();
+
+        int memberStart = 0;  // first token of the current member of a type body
+        for (int i = 0; i < tokens.size(); i++) {
+            String text = tokens.get(i).text;
+            BlockKind currentKind = blockKinds.isEmpty() ? BlockKind.TYPE_BODY : blockKinds.peek();
+            boolean atMemberLevel = (currentKind == BlockKind.TYPE_BODY) || (currentKind == BlockKind.ENUM_CONSTANTS);
+
+            if (atMemberLevel && isRecordDeclaration(tokens, i))
+                return null;  // not supported by the parser
+
+            if (!atMemberLevel && isTypeDeclaration(tokens, i))
+                markUnsafe(blockSafeties);
+
+            if ("{".equals(text)) {
+                BlockKind kind;
+                if (atMemberLevel) {
+                    kind = getMemberBlockKind(tokens, memberStart, i, currentKind);
+                } else {
+                    if (isAnonymousClassBody(tokens, i))
+                        markUnsafe(blockSafeties);
+                    kind = BlockKind.OTHER;
+                }
+
+                blockKinds.push(kind);
+                blockStarts.push(i);
+                blockSafeties.push(Boolean.TRUE);
+                memberStart = i + 1;
+            } else if ("}".equals(text)) {
+                if (blockKinds.isEmpty()) return null;
+
+                BlockKind kind = blockKinds.pop();
+                int start = blockStarts.pop();
+                boolean safe = blockSafeties.pop();
+                if ((kind == BlockKind.METHOD_BODY) && safe && (i > start + 1))
+                    strippedRanges.add(new int[]{tokens.get(start).offset + 1, tokens.get(i).offset});
+
+                memberStart = i + 1;
+            } else if (";".equals(text) && atMemberLevel) {
+                if (currentKind == BlockKind.ENUM_CONSTANTS) {
+                    blockKinds.pop();
+                    blockKinds.push(BlockKind.TYPE_BODY);
+                }
+                memberStart = i + 1;
+            }
+        }
+
+        if (!blockKinds.isEmpty()) return null;
+
+        return strippedRanges;
+    }
+
+    /**
+     * This method decides the kind of a block which is opened at the member level of a type body.
+     *
+     * @param tokens      tokens of a Java source
+     * @param memberStart index of the first token of the member
+     * @param braceIndex  index of the opening brace of the block
+     * @param currentKind kind of the enclosing block
+     * @return the kind of the block
+     */
+    private static BlockKind getMemberBlockKind(List<Token> tokens, int memberStart, int braceIndex, BlockKind currentKind) {
+        int parenthesisDepth = 0;
+        String typeKeyword = null;
+        boolean hasInitializer = false;
+        for (int i = memberStart; i < braceIndex; i++) {
+            String text = tokens.get(i).text;
+            if ("(".equals(text)) {
+                parenthesisDepth++;
+            } else if (")".equals(text)) {
+                parenthesisDepth--;
+            } else if ((parenthesisDepth == 0) && "=".equals(text)) {
+                hasInitializer = true;
+            } else if ((typeKeyword == null) && (parenthesisDepth == 0) && isTypeDeclaration(tokens, i)) {
+                typeKeyword = text;
+            }
+        }
+
+        if (typeKeyword != null)
+            return "enum".equals(typeKeyword) ? BlockKind.ENUM_CONSTANTS : BlockKind.TYPE_BODY;
+
+        if (hasInitializer)
+            return BlockKind.OTHER;  // an array initializer or an expression of a field
+
+        if (currentKind == BlockKind.ENUM_CONSTANTS)
+            return BlockKind.TYPE_BODY;  // the body of an enum constant
+
+        return isAfterMethodHeader(tokens, memberStart, braceIndex) ? BlockKind.METHOD_BODY : BlockKind.OTHER;
+    }
+
+    /**
+     * This method checks whether a brace follows a method or constructor header,
+     * like {@code name(...) [[]...] [throws A, B]}.
+     */
+    private static boolean isAfterMethodHeader(List<Token> tokens, int memberStart, int braceIndex) {
+        int i = braceIndex - 1;
+
+        // throws clause
+        int throwsIndex = -1;
+        for (int j = i; j >= memberStart; j--) {
+            if ("throws".equals(tokens.get(j).text)) {
+                throwsIndex = j;
+                break;
+            }
+            if (")".equals(tokens.get(j).text)) break;
+        }
+        if (throwsIndex >= 0) i = throwsIndex - 1;
+
+        // dimensions of an old-style array return type
+        while ((i > memberStart) && "]".equals(tokens.get(i).text) && "[".equals(tokens.get(i - 1).text)) {
+            i -= 2;
+        }
+
+        if ((i <= memberStart) || !")".equals(tokens.get(i).text)) return false;
+
+        int openIndex = findOpeningParenthesis(tokens, i, memberStart);
+        if (openIndex <= memberStart) return false;
+
+        return isIdentifier(tokens.get(openIndex - 1).text) &&
+                ((openIndex < 2) || !"new".equals(tokens.get(openIndex - 2).text));
+    }
+
+    /**
+     * This method checks whether a brace inside a block opens the body of an anonymous class,
+     * like {@code new Type<...>(...) {}}.
+     */
+    private static boolean isAnonymousClassBody(List<Token> tokens, int braceIndex) {
+        if ((braceIndex == 0) || !")".equals(tokens.get(braceIndex - 1).text)) return false;
+
+        int i = findOpeningParenthesis(tokens, braceIndex - 1, 0) - 1;
+        int angleDepth = 0;
+        while (i >= 0) {
+            String text = tokens.get(i).text;
+            if (">".equals(text)) {
+                angleDepth++;
+            } else if ("<".equals(text)) {
+                angleDepth--;
+            } else if ("new".equals(text) && (angleDepth == 0)) {
+                return true;
+            } else if ((angleDepth == 0) && !isIdentifier(text) && !".".equals(text) && !"@".equals(text)) {
+                return false;
+            } else if ((angleDepth > 0) && !isIdentifier(text) && !".".equals(text) && !",".equals(text) &&
+                    !"?".equals(text) && !"[".equals(text) && !"]".equals(text) && !"@".equals(text)) {
+                return false;
+            }
+            i--;
+        }
+
+        return false;
+    }
+
+    private static boolean isTypeDeclaration(List<Token> tokens, int index) {
+        String text = tokens.get(index).text;
+        if ("record".equals(text))
+            return isRecordDeclaration(tokens, index);
+
+        if (!"class".equals(text) && !"interface".equals(text) && !"enum".equals(text))
+            return false;
+
+        return (index == 0) || !".".equals(tokens.get(index - 1).text);  // not a class literal
+    }
+
+    private static boolean isRecordDeclaration(List<Token> tokens, int index) {
+        // "record" is not a keyword, so it is a declaration only like "record Name(" or "record Name<"
+        if (!"record".equals(tokens.get(index).text) || (index + 2 >= tokens.size())) return false;
+
+        String nextText = tokens.get(index + 2).text;
+        return isIdentifier(tokens.get(index + 1).text) && ("(".equals(nextText) || "<".equals(nextText));
+    }
+
+    private static int findOpeningParenthesis(List<Token> tokens, int closeIndex, int minIndex) {
+        int depth = 0;
+        for (int i = closeIndex; i >= minIndex; i--) {
+            String text = tokens.get(i).text;
+            if (")".equals(text)) {
+                depth++;
+            } else if ("(".equals(text)) {
+                depth--;
+                if (depth == 0) return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static boolean isIdentifier(String text) {
+        return !text.isEmpty() && Character.isJavaIdentifierStart(text.charAt(0));
+    }
+
+    private static void markUnsafe(Deque<Boolean> blockSafeties) {
+        // a type is declared inside every enclosing block, so none of them can be blanked
+        int blockCount = blockSafeties.size();
+        blockSafeties.clear();
+        for (int i = 0; i < blockCount; i++) {
+            blockSafeties.push(Boolean.FALSE);
+        }
+    }
+
+    //endregion
+
+
+    //region helper structures
+
+    private static class Token {
+        private final String text;
+        private final int offset;
+
+        private Token(String text, int offset) {
+            this.text = text;
+            this.offset = offset;
+        }
+    }
+
+    //endregion
+}
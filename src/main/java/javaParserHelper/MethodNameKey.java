@@ -0,0 +1,66 @@
+package javaParserHelper;
+
+/**
+ * This class is a structure for identifying a same method among versions of a Java file regardless of its parameters,
+ * namely its scope path, return type and name. For example: void DoTask(...).
+ * A key with an empty return type identifies a method by its scope path and name only.
+ * It is immutable, and its hash code is computed only once, so it can be looked up in maps without any allocation.
+ */
+public final class MethodNameKey {
+    //region variables
+
+    public final String scopePath;
+    public final String returnType;
+    public final String methodName;
+
+    private final int hashCode;
+
+    //endregion
+
+
+    //region constructors
+
+    /**
+     * The components are interned, because the same names and types repeat in every version of a file.
+     *
+     * @param scopePath  scope path of the method (package, enclosing types and classes)
+     * @param returnType return type of the method
+     * @param methodName name of the method
+     */
+    public MethodNameKey(String scopePath, String returnType, String methodName) {
+        this.scopePath = scopePath.intern();
+        this.returnType = returnType.intern();
+        this.methodName = methodName.intern();
+
+        this.hashCode = 31 * (31 * this.scopePath.hashCode() + this.returnType.hashCode()) + this.methodName.hashCode();
+    }
+
+    //endregion
+
+
+    //region override methods
+
+    @Override
+    public String toString() {
+        return (scopePath + ":" + returnType + ":" + methodName + ":");
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (!(obj instanceof MethodNameKey))
+            return false;
+
+        MethodNameKey methodNameKey = (MethodNameKey) obj;
+        return (hashCode == methodNameKey.hashCode) && methodName.equals(methodNameKey.methodName) &&
+                returnType.equals(methodNameKey.returnType) && scopePath.equals(methodNameKey.scopePath);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    //endregion
+}
@@ -0,0 +1,148 @@
+package javaParserHelper;
+
+import cacheUtil.ContentDigest;
+import cacheUtil.LruCache;
+import com.github.javaparser.ParseProblemException;
+
+import java.io.StringReader;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class caches method signature lists by the content digest of Java sources,
+ * so each distinct version of a Java file is parsed only once.
+ * A source is parsed with its method bodies blanked (see {@link MethodBodyStripper}) whenever possible,
+ * and the original source is parsed only if blanking is not possible or its result cannot be parsed.
+ */
+public class MethodSignatureCache {
+    //region constant variables
+
+    private static final long DEFAULT_MAX_MEMORY_BYTES = 32L * 1024L * 1024L;
+
+    private static final long ESTIMATED_METHOD_STRUCT_BYTES = 64L;
+    private static final long ESTIMATED_METHOD_NAME_KEY_BYTES = 32L;
+    private static final long ESTIMATED_STRING_BYTES = 40L;
+
+    //endregion
+
+
+    //region variables
+
+    private final LruCache<String, List<MethodStruct>> cache;
+
+    private final boolean bodySkippingEnabled;
+
+    private final AtomicLong parseCount = new AtomicLong();
+    private final AtomicLong bodySkippedParseCount = new AtomicLong();
+
+    //endregion
+
+
+    //region constructors
+
+    /**
+     * @param maxMemoryBytes      maximum estimated size of the cached method signature lists in bytes
+     * @param bodySkippingEnabled true if method bodies are blanked before parsing whenever possible
+     */
+    public MethodSignatureCache(long maxMemoryBytes, boolean bodySkippingEnabled) {
+        this.cache = new LruCache<>(maxMemoryBytes, MethodSignatureCache::getEstimatedBytes);
+        this.bodySkippingEnabled = bodySkippingEnabled;
+    }
+
+    public MethodSignatureCache(long maxMemoryBytes) {
+        this(maxMemoryBytes, true);
+    }
+
+    public MethodSignatureCache() {
+        this(DEFAULT_MAX_MEMORY_BYTES);
+    }
+
+    //endregion
+
+
+    //region stats getter methods
+
+    public long getParseCount() {
+        return parseCount.get();
+    }
+
+    /**
+     * This method returns the number of parses which have skipped method bodies.
+     *
+     * @return the number of the parses without method bodies
+     */
+    public long getBodySkippedParseCount() {
+        return bodySkippedParseCount.get();
+    }
+
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    //endregion
+
+
+    //region methods
+
+    /**
+     * This method returns a list of method signatures of a given Java source,
+     * parsing the source only if the same source has not been parsed yet.
+     *
+     * @param javaFileText Java source
+     * @return an unmodifiable list of method signatures of the given Java source
+     * @throws ParseProblemException if parsing problem occurs
+     */
+    public List<MethodStruct> getMethodSignatures(String javaFileText) throws ParseProblemException {
+        try {
+            return cache.get(ContentDigest.getHexDigest(javaFileText), () -> {
+                parseCount.incrementAndGet();
+                return Collections.unmodifiableList(parseMethodSignatures(javaFileText));
+            });
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("parses: %d (without method bodies: %d), hits: %d",
+                getParseCount(), getBodySkippedParseCount(), getHitCount());
+    }
+
+    //endregion
+
+
+    //region helper methods
+
+    private List<MethodStruct> parseMethodSignatures(String javaFileText) throws ParseProblemException {
+        String strippedJavaFileText = bodySkippingEnabled ? MethodBodyStripper.stripMethodBodies(javaFileText) : null;
+        if (strippedJavaFileText != null) {
+            try {
+                List<MethodStruct> methodSignatures = JavaMethodVisitor.getMethodSignatures(new StringReader(strippedJavaFileText));
+                bodySkippedParseCount.incrementAndGet();
+                return methodSignatures;
+            } catch (ParseProblemException ignored) {
+                // the original source is parsed, so the problem is reported as it is
+            }
+        }
+
+        return JavaMethodVisitor.getMethodSignatures(new StringReader(javaFileText));
+    }
+
+    private static long getEstimatedBytes(List<MethodStruct> methodStructs) {
+        long estimatedBytes = ESTIMATED_METHOD_STRUCT_BYTES;
+
+        for (MethodStruct methodStruct : methodStructs) {
+            estimatedBytes += ESTIMATED_METHOD_STRUCT_BYTES + 2 * ESTIMATED_METHOD_NAME_KEY_BYTES +
+                    ESTIMATED_STRING_BYTES * (3 + methodStruct.parameters.size()) +
+                    methodStruct.returnType.length() + methodStruct.methodName.length();
+        }
+
+        return estimatedBytes;
+    }
+
+    //endregion
+}
@@ -0,0 +1,292 @@
+package javaParserHelper;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * This class checks whether the changed lines of a unified diff (patch) of a Java file can change any method signature,
+ * so that a file which is changed only inside method bodies or comments does not need to be parsed at all.
+ * <p>
+ * The check works on the changed lines only, so it is conservative: a changed line is accepted only if it is
+ * a blank or comment line, a line of annotations only, or a single statement (ending with {@code ;}, or a chained
+ * call) without any brace and without anything like a method header. Any other line (and any patch which is
+ * not understood) may change a method signature. A package declaration is never accepted, because the package
+ * is the first part of the scope path of every method in the file.
+ */
+public class MethodSignaturePatchChecker {
+    //region constant variables
+
+    private static final String HUNK_HEADER_PREFIX = "@@";
+    private static final char ADDED_LINE_PREFIX = '+';
+    private static final char REMOVED_LINE_PREFIX = '-';
+    private static final char CONTEXT_LINE_PREFIX = ' ';
+    private static final char NO_NEWLINE_MARKER_PREFIX = '\\';
+
+    private static final String TEXT_BLOCK_DELIMITER = "\"\"\"";
+    private static final String UNICODE_ESCAPE_PREFIX = "\\u";
+
+    private static final String SEGMENT_DELIMITERS = ";=(),:?!&|+*/%^~";
+
+    /**
+     * Type arguments (like {@code <K, List<V>>}) with up to 3 levels of nested type arguments.
+     * A regular expression cannot match any depth of balanced brackets, but deeper ones are hardly ever declared.
+     */
+    private static final String TYPE_ARGUMENTS_REGEX = getNestedBracketsRegex(3);
+
+    /**
+     * A type and a name before an opening parenthesis (like {@code int name(}, {@code java.util.List<T> name(}
+     * or {@code Map<K, V>[] name(}), which is a method header unless the type is a statement keyword.
+     */
+    private static final Pattern METHOD_HEADER_PATTERN = Pattern.compile("(?:^|.*[^\\w$.])([\\w$.]+)(?:\\s*" +
+            TYPE_ARGUMENTS_REGEX + ")?(?:\\s*\\[\\s*])*\\s+[\\w$]+\\s*");
+    private static final Pattern ANNOTATION_NAME_PATTERN = Pattern.compile("@\\s*[\\w$.]+\\s*");
+    private static final Pattern PACKAGE_DECLARATION_PATTERN = Pattern.compile("(?:@.*\\s)?package\\b.*");
+
+    private static final Set<String> STATEMENT_KEYWORDS = new HashSet<>(Arrays.asList(
+            "return", "new", "throw", "else", "case", "yield", "assert", "do"));
+
+    //endregion
+
+
+    //region static methods
+
+    /**
+     * This method checks whether a patch can change any method signature of a Java file.
+     *
+     * @param patch unified diff hunks of the file (file headers before the first hunk are ignored)
+     * @return false only if no changed line can change a method signature (true if the patch is null or has no hunk)
+     */
+    public static boolean mayChangeMethodSignatures(String patch) {
+        if (patch == null) return true;
+
+        boolean hasHunk = false;
+        char runPrefix = CONTEXT_LINE_PREFIX;  // prefix of the current run of lines
+        boolean[] inBlockComment = new boolean[1];
+        for (String line : patch.split("\n", -1)) {
+            if (line.endsWith("\r"))
+                line = line.substring(0, line.length() - 1);
+
+            char prefix = line.isEmpty() ? CONTEXT_LINE_PREFIX : line.charAt(0);
+            if (line.startsWith(HUNK_HEADER_PREFIX)) {
+                hasHunk = true;
+                prefix = CONTEXT_LINE_PREFIX;
+            } else if (!hasHunk || (prefix == NO_NEWLINE_MARKER_PREFIX)) {
+                continue;  // a file header
+            }
+
+            if (prefix != runPrefix) {
+                // a comment opened by a run of changed lines must be closed by the same run
+                if (inBlockComment[0]) return true;
+                runPrefix = prefix;
+            }
+
+            if (((prefix == ADDED_LINE_PREFIX) || (prefix == REMOVED_LINE_PREFIX)) &&
+                    !isSignatureFreeLine(line.substring(1), inBlockComment))
+                return true;
+        }
+
+        return !hasHunk || inBlockComment[0];
+    }
+
+    //endregion
+
+
+    //region helper methods
+
+    /**
+     * This method checks whether a changed line cannot change any method signature.
+     *
+     * @param line           the line without its diff prefix
+     * @param inBlockComment whether the line starts inside a block comment (updated for the next line)
+     * @return true if the line cannot change any method signature
+     */
+    private static boolean isSignatureFreeLine(String line, boolean[] inBlockComment) {
+        String trimmedLine = line.trim();
+        if (trimmedLine.contains(UNICODE_ESCAPE_PREFIX) || trimmedLine.contains(TEXT_BLOCK_DELIMITER))
+            return false;
+
+        if (!inBlockComment[0] && trimmedLine.startsWith("*") && !trimmedLine.contains("*/"))
+            return true;  // a middle line of an unchanged (documentation) comment
+
+        String code = getCode(trimmedLine, inBlockComment);
+        if (code == null) return false;
+        if (code.isEmpty()) return true;
+
+        if ((code.indexOf('{') >= 0) || (code.indexOf('}') >= 0) || !hasBalancedParentheses(code) ||
+                PACKAGE_DECLARATION_PATTERN.matcher(code).matches())
+            return false;
+
+        if (isAnnotationLine(code))
+            return !code.contains("@interface");
+
+        if (!code.endsWith(";") && !code.startsWith("."))
+            return false;
+
+        return !hasMethodHeader(code);
+    }
+
+    /**
+     * This method removes comments from a line and replaces string and character literals with empty ones.
+     *
+     * @param line           the line
+     * @param inBlockComment whether the line starts inside a block comment (updated for the next line)
+     * @return the code of the line (trimmed), or null if a literal is not terminated
+     */
+    private static String getCode(String line, boolean[] inBlockComment) {
+        StringBuilder code = new StringBuilder(line.length());
+
+        int length = line.length();
+        int i = 0;
+        while (i < length) {
+            if (inBlockComment[0]) {
+                int end = line.indexOf("*/", i);
+                if (end < 0) break;
+
+                inBlockComment[0] = false;
+                code.append(' ');
+                i = end + 2;
+                continue;
+            }
+
+            char c = line.charAt(i);
+            if (line.startsWith("//", i)) {
+                break;
+            } else if (line.startsWith("/*", i)) {
+                inBlockComment[0] = true;
+                i += 2;
+            } else if ((c == '"') || (c == '\'')) {
+                int end = i + 1;
+                while ((end < length) && (line.charAt(end) != c)) {
+                    if (line.charAt(end) == '\\') end++;
+                    end++;
+                }
+                if (end >= length) return null;
+
+                code.append(c).append(c);
+                i = end + 1;
+            } else {
+                code.append(c);
+                i++;
+            }
+        }
+
+        return code.toString().trim();
+    }
+
+    private static boolean hasBalancedParentheses(String code) {
+        int depth = 0;
+        for (int i = 0; i < code.length(); i++) {
+            char c = code.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+                if (depth < 0) return false;
+            }
+        }
+
+        return depth == 0;
+    }
+
+    /**
+     * This method checks whether a line consists of annotations only. Nothing may follow the balanced argument list
+     * of the last annotation, so a method header after an annotation on the same line is not accepted.
+     *
+     * @param code the code of a line (with balanced parentheses)
+     * @return true if the line has one or more annotations and nothing else
+     */
+    private static boolean isAnnotationLine(String code) {
+        Matcher matcher = ANNOTATION_NAME_PATTERN.matcher(code);
+        int i = 0;
+        while (i < code.length()) {
+            if (!matcher.region(i, code.length()).lookingAt()) return false;
+
+            i = matcher.end();
+            if ((i < code.length()) && (code.charAt(i) == '(')) {
+                i = getClosingParenthesisIndex(code, i) + 1;
+                while ((i < code.length()) && Character.isWhitespace(code.charAt(i))) {
+                    i++;
+                }
+            }
+        }
+
+        return i > 0;
+    }
+
+    /**
+     * This method finds the parenthesis which closes an opening one (the parentheses of the code are balanced).
+     */
+    private static int getClosingParenthesisIndex(String code, int openingIndex) {
+        int depth = 0;
+        for (int i = openingIndex; i < code.length(); i++) {
+            char c = code.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if ((c == ')') && (--depth == 0)) {
+                return i;
+            }
+        }
+
+        return code.length() - 1;
+    }
+
+    /**
+     * This method checks whether any opening parenthesis of a line follows something like a method header.
+     */
+    private static boolean hasMethodHeader(String code) {
+        for (int i = 0; i < code.length(); i++) {
+            if (code.charAt(i) != '(') continue;
+
+            Matcher matcher = METHOD_HEADER_PATTERN.matcher(code.substring(getSegmentStart(code, i), i));
+            if (matcher.matches() && !STATEMENT_KEYWORDS.contains(matcher.group(1)))
+                return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * This method finds the start of the segment (a possible method header) which ends at a given index.
+     * A delimiter inside angle brackets (like the comma of {@code Map<K, V>}) does not end a segment,
+     * so the type arguments of a return type stay in the segment.
+     *
+     * @param code     the code of a line
+     * @param endIndex index of the end of the segment
+     * @return index of the start of the segment
+     */
+    private static int getSegmentStart(String code, int endIndex) {
+        int angleDepth = 0;
+        for (int i = endIndex - 1; i >= 0; i--) {
+            char c = code.charAt(i);
+            if ((c == '>') && ((i == 0) || (code.charAt(i - 1) != '-'))) {
+                angleDepth++;
+            } else if ((c == '<') && (angleDepth > 0)) {
+                angleDepth--;
+            } else if ((angleDepth == 0) && (SEGMENT_DELIMITERS.indexOf(c) >= 0)) {
+                return i + 1;
+            }
+        }
+
+        return 0;
+    }
+
+    /**
+     * This method builds a regular expression of balanced angle brackets with a limited nesting depth.
+     *
+     * @param depth maximum number of nested levels inside the outermost brackets
+     * @return the regular expression
+     */
+    private static String getNestedBracketsRegex(int depth) {
+        String regex = "<[^<>]*>";
+        for (int i = 0; i < depth; i++) {
+            regex = "<(?:[^<>]|" + regex + ")*>";
+        }
+
+        return regex;
+    }
+
+    //endregion
+}
@@ -1,28 +1,55 @@
 package javaParserHelper;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * This class is a structure for storing Java method signature. For example: void DoTask(arg a, arg b).
+ * It is immutable, and its hash code is computed only once, so comparing and looking up signatures allocates nothing.
  */
-public class MethodStruct {
+public final class MethodStruct {
     //region variables
 
-    public final String parentNodes;
+    public final MethodNameKey nameKey;
+    public final MethodNameKey sameNameKey;  // regardless of the return type (which is empty in the key)
+
+    public final String scopePath;
     public final String returnType;
     public final String methodName;
-    public final List<String> parameters;
+    public final List<String> parameters;  // unmodifiable
+
+    private final int hashCode;
+    private String string;  // created when it is needed first
 
     //endregion
 
 
     //region constructors
 
-    public MethodStruct(String parentNodes, String returnType, String methodName, List<String> parameters) {
-        this.parentNodes = parentNodes;
-        this.returnType = returnType;
-        this.methodName = methodName;
-        this.parameters = parameters;
+    /**
+     * The components are interned, because the same names and types repeat in every version of a file.
+     *
+     * @param scopePath  scope path of the method (package, enclosing types and classes)
+     * @param returnType return type of the method
+     * @param methodName name of the method
+     * @param parameters types of the parameters of the method
+     */
+    public MethodStruct(String scopePath, String returnType, String methodName, List<String> parameters) {
+        this.nameKey = new MethodNameKey(scopePath, returnType, methodName);
+        this.sameNameKey = new MethodNameKey(scopePath, "", methodName);
+
+        this.scopePath = nameKey.scopePath;
+        this.returnType = nameKey.returnType;
+        this.methodName = nameKey.methodName;
+
+        String[] internedParameters = new String[parameters.size()];
+        for (int i = 0; i < internedParameters.length; i++) {
+            internedParameters[i] = parameters.get(i).intern();
+        }
+        this.parameters = Collections.unmodifiableList(Arrays.asList(internedParameters));
+
+        this.hashCode = 31 * nameKey.hashCode() + Arrays.hashCode(internedParameters);
     }
 
     //endregion
@@ -30,6 +57,18 @@ public class MethodStruct {
 
     //region methods
 
+    private boolean hasSameParameters(MethodStruct methodStruct) {
+        if (parameters.size() != methodStruct.parameters.size())
+            return false;
+
+        for (int i = 0; i < parameters.size(); i++) {
+            if (!parameters.get(i).equals(methodStruct.parameters.get(i)))
+                return false;
+        }
+
+        return true;
+    }
+
     private String getParametersAsString() {
         StringBuilder stringBuilder = new StringBuilder();
         for (String param : parameters) {
@@ -50,20 +89,31 @@ public class MethodStruct {
 
     @Override
     public String toString() {
-        return (parentNodes + ":" + returnType + ":" + methodName + ":" + getParametersAsString());
+        // a racy single check is enough, because every thread creates an equal string
+        String string = this.string;
+        if (string == null) {
+            string = (scopePath + ":" + returnType + ":" + methodName + ":" + getParametersAsString());
+            this.string = string;
+        }
+
+        return string;
     }
 
     @Override
     public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
         if (!(obj instanceof MethodStruct))
             return false;
 
-        return this.toString().equals(obj.toString());
+        MethodStruct methodStruct = (MethodStruct) obj;
+        return (hashCode == methodStruct.hashCode) && nameKey.equals(methodStruct.nameKey) &&
+                hasSameParameters(methodStruct);
     }
 
     @Override
     public int hashCode() {
-        return this.toString().hashCode();
+        return hashCode;
     }
 
     //endregion
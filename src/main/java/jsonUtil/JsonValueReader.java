@@ -0,0 +1,27 @@
+package jsonUtil;
+
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
+
+/**
+ * This interface reads a value from a JSON stream, so only the needed fields are deserialized
+ * (without building a tree of the whole document).
+ *
+ * @param <T> type of the value
+ */
+@FunctionalInterface
+public interface JsonValueReader<T> {
+    //region methods
+
+    /**
+     * This method reads the next value of the reader.
+     *
+     * @param jsonReader reader positioned before the value
+     * @return the value
+     * @throws IOException if the JSON is malformed or cannot be read
+     */
+    T read(JsonReader jsonReader) throws IOException;
+
+    //endregion
+}
@@ -0,0 +1,223 @@
+package outputSink;
+
+import threadUtil.Futures;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * This class is the base of a sink which writes its rows into a file. The rows are formatted into a buffer
+ * on the calling thread, and the buffer is handed to a writer thread as a chunk by the flush policy,
+ * so the calling thread never waits for the disk unless too many chunks are waiting to be written.
+ * The sinks sharing a writer thread have their chunks written in the order they are handed over.
+ */
+public abstract class BufferedFileSink implements MethodChangeSink {
+    //region constant variables
+
+    private static final int MAX_QUEUED_CHUNK_COUNT = 8;
+
+    //endregion
+
+
+    //region variables
+
+    protected final StringBuilder buffer = new StringBuilder();
+
+    private final File file;
+    private final FileOutputStream fileOutputStream;
+    private final ExecutorService writerExecutorService;
+    private final FlushPolicy flushPolicy;
+
+    private final Semaphore queuedChunkPermits = new Semaphore(MAX_QUEUED_CHUNK_COUNT);
+    private final AtomicReference<IOException> writeException = new AtomicReference<>();
+    private long bufferStartMillis = 0L;  // here, 0 (zero) means the buffer is empty or its age is not needed
+
+    //endregion
+
+
+    //region constructors
+
+    /**
+     * @param file                  output file
+     * @param append                true to append to the existing file
+     * @param writerExecutorService single writer thread (it may be shared by several sinks)
+     * @param flushPolicy           flush policy
+     * @throws IOException if the file cannot be opened
+     */
+    protected BufferedFileSink(File file, boolean append, ExecutorService writerExecutorService,
+                               FlushPolicy flushPolicy) throws IOException {
+        this.file = file;
+        this.fileOutputStream = new FileOutputStream(file, append);
+        this.writerExecutorService = writerExecutorService;
+        this.flushPolicy = flushPolicy;
+    }
+
+    //endregion
+
+
+    //region file getter
+
+    public File getFile() {
+        return file;
+    }
+
+    //endregion
+
+
+    //region override methods
+
+    @Override
+    public void endCommit() throws IOException {
+        if (flushPolicy.flushedOnCommit || isBufferExpired())
+            handOffBuffer();
+    }
+
+    @Override
+    public void appendFile(File file) throws IOException {
+        handOffBuffer();
+        runOnWriterThread(() -> Files.copy(file.toPath(), fileOutputStream));
+    }
+
+    @Override
+    public long sync() throws IOException {
+        handOffBuffer();
+        return runOnWriterThread(() -> {
+            FileChannel fileChannel = fileOutputStream.getChannel();
+            fileChannel.force(false);
+            return fileChannel.size();
+        });
+    }
+
+    /**
+     * This method writes the buffered rows and closes the file.
+     *
+     * @throws IOException if any error occurs while writing
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            handOffBuffer();
+            runOnWriterThread(() -> null);
+        } finally {
+            fileOutputStream.close();
+        }
+    }
+
+    //endregion
+
+
+    //region methods
+
+    /**
+     * This method is called by a subclass after it appends a row to the buffer.
+     *
+     * @throws IOException if an earlier write has failed
+     */
+    protected void rowWritten() throws IOException {
+        if ((buffer.length() >= flushPolicy.maxBufferedCharCount) || isBufferExpired()) {
+            handOffBuffer();
+        } else if ((bufferStartMillis == 0L) && (flushPolicy.maxBufferedMillis != 0L)) {
+            bufferStartMillis = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * This method encodes a chunk of rows into the bytes of the file. It runs on the writer thread.
+     *
+     * @param chunk chunk of rows
+     * @return bytes of the chunk
+     * @throws IOException if any error occurs while encoding
+     */
+    protected byte[] encode(String chunk) throws IOException {
+        return chunk.getBytes(StandardCharsets.UTF_8);
+    }
+
+    //endregion
+
+
+    //region helper methods
+
+    private boolean isBufferExpired() {
+        return (bufferStartMillis != 0L) && ((System.currentTimeMillis() - bufferStartMillis) >= flushPolicy.maxBufferedMillis);
+    }
+
+    /**
+     * This method hands the buffered rows to the writer thread. It waits only if too many chunks are waiting.
+     *
+     * @throws IOException if an earlier write has failed, or if interrupted while waiting
+     */
+    private void handOffBuffer() throws IOException {
+        throwWriteException();
+        if (buffer.length() == 0) return;
+
+        String chunk = buffer.toString();
+        buffer.setLength(0);
+        bufferStartMillis = 0L;
+
+        try {
+            queuedChunkPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to write " + file.getPath());
+        }
+
+        try {
+            writerExecutorService.execute(() -> {
+                try {
+                    if (writeException.get() == null)
+                        fileOutputStream.write(encode(chunk));
+                } catch (IOException e) {
+                    writeException.compareAndSet(null, e);
+                } finally {
+                    queuedChunkPermits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            queuedChunkPermits.release();
+            throw new IOException("The writer thread of " + file.getPath() + " has stopped", e);
+        }
+    }
+
+    /**
+     * This method runs a task on the writer thread after the handed chunks, and waits for it.
+     *
+     * @param task task to run
+     * @param <T>  type of the result
+     * @return the result of the task
+     * @throws IOException if an earlier write or the task has failed, or if interrupted while waiting
+     */
+    private <T> T runOnWriterThread(Callable<T> task) throws IOException {
+        T result;
+        try {
+            result = Futures.getResult(writerExecutorService.submit(task));
+        } catch (IOException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while writing " + file.getPath());
+        } catch (Exception e) {
+            throw new IOException("Could not write " + file.getPath(), e);
+        }
+
+        throwWriteException();
+        return result;
+    }
+
+    private void throwWriteException() throws IOException {
+        IOException exception = writeException.get();
+        if (exception != null)
+            throw exception;
+    }
+
+    //endregion
+}
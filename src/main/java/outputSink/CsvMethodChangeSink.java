@@ -0,0 +1,114 @@
+package outputSink;
+
+import changeDetector.MethodChange;
+import javaParserHelper.MethodStruct;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * This class writes method changes as rows of a CSV file. The file name and the signatures are quoted fields,
+ * and a quote inside them is doubled, so a file path with quotes or commas never breaks a row.
+ * A signature is written without its scope path, like {@code void:doTask:int,String}.
+ */
+public class CsvMethodChangeSink extends BufferedFileSink {
+    //region constant variables
+
+    public static final String CSV_HEADER = "Commit SHA,Java File,Old function signature,New function signature";
+
+    private static final char QUOTE = '"';
+    private static final char LINE_SEPARATOR = '\n';  // the same on every platform, for the header and the rows
+
+    //endregion
+
+
+    //region constructors
+
+    /**
+     * @param file                  CSV file
+     * @param append                true to append to the existing file
+     * @param withHeader            true to write the header line into a created file
+     * @param writerExecutorService single writer thread (it may be shared by several sinks)
+     * @param flushPolicy           flush policy
+     * @throws IOException if the file cannot be opened
+     */
+    public CsvMethodChangeSink(File file, boolean append, boolean withHeader, ExecutorService writerExecutorService,
+                               FlushPolicy flushPolicy) throws IOException {
+        super(file, append, writerExecutorService, flushPolicy);
+
+        if (!append && withHeader)
+            buffer.append(CSV_HEADER).append(LINE_SEPARATOR);
+    }
+
+    //endregion
+
+
+    //region override methods
+
+    @Override
+    public void write(String commitSha, String fileName, MethodChange methodChange) throws IOException {
+        buffer.append(commitSha).append(',');
+        appendQuotedField(fileName);
+        buffer.append(',');
+        appendQuotedSignature(methodChange.oldMethodStruct);
+        buffer.append(',');
+        appendQuotedSignature(methodChange.newMethodStruct);
+        buffer.append(LINE_SEPARATOR);
+
+        rowWritten();
+    }
+
+    //endregion
+
+
+    //region helper methods
+
+    private void appendQuotedField(String field) {
+        buffer.append(QUOTE);
+        appendEscaped(field);
+        buffer.append(QUOTE);
+    }
+
+    /**
+     * This method appends the signature of a method as a quoted field, without building its string first.
+     *
+     * @param methodStruct method structure (here, null means no method, which is an empty field)
+     */
+    private void appendQuotedSignature(MethodStruct methodStruct) {
+        buffer.append(QUOTE);
+
+        if (methodStruct != null) {
+            appendEscaped(methodStruct.returnType);
+            buffer.append(':');
+            appendEscaped(methodStruct.methodName);
+            buffer.append(':');
+
+            List<String> parameters = methodStruct.parameters;
+            for (int i = 0; i < parameters.size(); i++) {
+                if (i > 0)
+                    buffer.append(',');
+                appendEscaped(parameters.get(i));
+            }
+        }
+
+        buffer.append(QUOTE);
+    }
+
+    private void appendEscaped(String value) {
+        if (value.indexOf(QUOTE) < 0) {
+            buffer.append(value);
+            return;
+        }
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == QUOTE)
+                buffer.append(QUOTE);
+            buffer.append(c);
+        }
+    }
+
+    //endregion
+}
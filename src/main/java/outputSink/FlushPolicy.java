@@ -0,0 +1,84 @@
+package outputSink;
+
+/**
+ * This class is the structure of the policy which decides when the buffered rows of a sink are handed to its writer thread.
+ * The rows are always handed over when the buffer reaches its size, and at each checkpoint.
+ * The age of the buffer is checked whenever a row is written or a commit ends.
+ */
+public class FlushPolicy {
+    //region constant variables
+
+    private static final String POLICY_SEPARATOR = ",";
+    private static final String COMMIT_POLICY = "commit";
+    private static final String SIZE_POLICY_PREFIX = "size:";
+    private static final String TIME_POLICY_PREFIX = "time:";
+
+    private static final int DEFAULT_MAX_BUFFERED_KB = 256;
+
+    public static final FlushPolicy DEFAULT = new FlushPolicy(DEFAULT_MAX_BUFFERED_KB * 1024, 0L, false);
+
+    //endregion
+
+
+    //region variables
+
+    public final int maxBufferedCharCount;
+    public final long maxBufferedMillis;  // here, 0 (zero) means no time limit
+    public final boolean flushedOnCommit;
+
+    //endregion
+
+
+    //region constructors
+
+    /**
+     * @param maxBufferedCharCount size of the buffer (in characters)
+     * @param maxBufferedMillis    maximum age of the buffer (here, 0 (zero) means no time limit)
+     * @param flushedOnCommit      true to hand the buffer over at the end of each commit
+     */
+    public FlushPolicy(int maxBufferedCharCount, long maxBufferedMillis, boolean flushedOnCommit) {
+        this.maxBufferedCharCount = Math.max(1, maxBufferedCharCount);
+        this.maxBufferedMillis = Math.max(0L, maxBufferedMillis);
+        this.flushedOnCommit = flushedOnCommit;
+    }
+
+    //endregion
+
+
+    //region static methods
+
+    /**
+     * This method parses a flush policy, which is a comma separated list of {@code size:<KB>}, {@code time:<milliseconds>}
+     * and {@code commit}. For example: {@code size:1024,time:5000}. An omitted part keeps its default value.
+     *
+     * @param policyString flush policy string
+     * @return the flush policy
+     * @throws IllegalArgumentException if any part of the policy is unknown or is not a number
+     */
+    public static FlushPolicy parse(String policyString) {
+        int maxBufferedCharCount = DEFAULT.maxBufferedCharCount;
+        long maxBufferedMillis = DEFAULT.maxBufferedMillis;
+        boolean flushedOnCommit = DEFAULT.flushedOnCommit;
+
+        for (String policy : policyString.split(POLICY_SEPARATOR)) {
+            String trimmedPolicy = policy.trim().toLowerCase();
+            try {
+                if (trimmedPolicy.equals(COMMIT_POLICY)) {
+                    flushedOnCommit = true;
+                } else if (trimmedPolicy.startsWith(SIZE_POLICY_PREFIX)) {
+                    maxBufferedCharCount = Integer.parseInt(trimmedPolicy.substring(SIZE_POLICY_PREFIX.length())) * 1024;
+                } else if (trimmedPolicy.startsWith(TIME_POLICY_PREFIX)) {
+                    maxBufferedMillis = Long.parseLong(trimmedPolicy.substring(TIME_POLICY_PREFIX.length()));
+                } else {
+                    throw new IllegalArgumentException("Unknown flush policy: " + policy);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid number in flush policy: " + policy, e);
+            }
+        }
+
+        return new FlushPolicy(maxBufferedCharCount, maxBufferedMillis, flushedOnCommit);
+    }
+
+    //endregion
+}
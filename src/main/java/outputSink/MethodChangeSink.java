@@ -0,0 +1,46 @@
+package outputSink;
+
+import changeDetector.MethodChange;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * This interface is the output of the method changes of a detector. The changes are written in commit order,
+ * and the output is made durable only by {@link #sync()}, which is called by each checkpoint.
+ */
+public interface MethodChangeSink extends Closeable {
+    /**
+     * This method writes a method change. It may return before the change reaches the output.
+     *
+     * @param commitSha    SHA value of the commit
+     * @param fileName     name of the Java file
+     * @param methodChange method change
+     * @throws IOException if an earlier write has failed
+     */
+    void write(String commitSha, String fileName, MethodChange methodChange) throws IOException;
+
+    /**
+     * This method marks the end of the changes of a commit.
+     *
+     * @throws IOException if an earlier write has failed
+     */
+    void endCommit() throws IOException;
+
+    /**
+     * This method appends the bytes of a file (written by a sink of the same kind) to the output.
+     *
+     * @param file file to append
+     * @throws IOException if any error occurs while copying
+     */
+    void appendFile(File file) throws IOException;
+
+    /**
+     * This method waits until every written change reaches the output, and forces the output to the storage device.
+     *
+     * @return the length of the output (in bytes)
+     * @throws IOException if any error occurs while writing
+     */
+    long sync() throws IOException;
+}
@@ -0,0 +1,156 @@
+package outputSink;
+
+import changeDetector.MethodChange;
+import com.google.gson.stream.JsonWriter;
+import javaParserHelper.MethodStruct;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * This class writes method changes as newline delimited JSON, one object per line. For example:
+ * {@code {"commitSha":"...","file":"src/A.java","oldSignature":"void:f:int","newSignature":"void:f:int,String",
+ * "oldMethod":{"scopePath":"p.A","returnType":"void","name":"f","parameters":["int"]},"newMethod":{...}}}.
+ * A missing method (of an added or removed method) is null, and its signature is an empty string like in the CSV file.
+ * <p>
+ * If it is gzipped, each chunk handed to the writer thread is compressed as a complete gzip member.
+ * Concatenated members are a valid gzip file, so the file can be truncated at a checkpoint and appended by a merge.
+ */
+public class NdjsonMethodChangeSink extends BufferedFileSink {
+    //region variables
+
+    private final boolean gzipped;
+    private final JsonWriter jsonWriter;
+
+    //endregion
+
+
+    //region constructors
+
+    /**
+     * @param file                  NDJSON file
+     * @param append                true to append to the existing file
+     * @param gzipped               true to compress the file with gzip
+     * @param writerExecutorService single writer thread (it may be shared by several sinks)
+     * @param flushPolicy           flush policy
+     * @throws IOException if the file cannot be opened
+     */
+    public NdjsonMethodChangeSink(File file, boolean append, boolean gzipped, ExecutorService writerExecutorService,
+                                  FlushPolicy flushPolicy) throws IOException {
+        super(file, append, writerExecutorService, flushPolicy);
+        this.gzipped = gzipped;
+
+        this.jsonWriter = new JsonWriter(new BufferWriter());
+        this.jsonWriter.setLenient(true);  // a lenient writer accepts a top-level value after another
+    }
+
+    //endregion
+
+
+    //region override methods
+
+    @Override
+    public void write(String commitSha, String fileName, MethodChange methodChange) throws IOException {
+        jsonWriter.beginObject();
+        jsonWriter.name("commitSha").value(commitSha);
+        jsonWriter.name("file").value(fileName);
+        jsonWriter.name("oldSignature").value(getSignatureString(methodChange.oldMethodStruct));
+        jsonWriter.name("newSignature").value(getSignatureString(methodChange.newMethodStruct));
+        jsonWriter.name("oldMethod");
+        writeMethod(methodChange.oldMethodStruct);
+        jsonWriter.name("newMethod");
+        writeMethod(methodChange.newMethodStruct);
+        jsonWriter.endObject();
+        buffer.append('\n');
+
+        rowWritten();
+    }
+
+    @Override
+    protected byte[] encode(String chunk) throws IOException {
+        if (!gzipped)
+            return super.encode(chunk);
+
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(chunk.length() / 4);
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(byteArrayOutputStream)) {
+            gzipOutputStream.write(chunk.getBytes(StandardCharsets.UTF_8));
+        }
+
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    //endregion
+
+
+    //region helper methods
+
+    private void writeMethod(MethodStruct methodStruct) throws IOException {
+        if (methodStruct == null) {
+            jsonWriter.nullValue();
+            return;
+        }
+
+        jsonWriter.beginObject();
+        jsonWriter.name("scopePath").value(methodStruct.scopePath);
+        jsonWriter.name("returnType").value(methodStruct.returnType);
+        jsonWriter.name("name").value(methodStruct.methodName);
+        jsonWriter.name("parameters").beginArray();
+        for (String parameter : methodStruct.parameters) {
+            jsonWriter.value(parameter);
+        }
+        jsonWriter.endArray();
+        jsonWriter.endObject();
+    }
+
+    /**
+     * This method obtains the signature of a method without its scope path, like the CSV file.
+     *
+     * @param methodStruct method structure (here, null means no method)
+     * @return the signature, or an empty string if there is no method
+     */
+    private static String getSignatureString(MethodStruct methodStruct) {
+        if (methodStruct == null) return "";
+
+        return methodStruct.returnType + ":" + methodStruct.methodName + ":" + String.join(",", methodStruct.parameters);
+    }
+
+    //endregion
+
+
+    //region helper structures
+
+    /**
+     * This class is a writer which appends to the buffer of the sink, so the JSON writer never buffers anything itself.
+     */
+    private class BufferWriter extends Writer {
+        @Override
+        public void write(int c) {
+            buffer.append((char) c);
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) {
+            buffer.append(chars, offset, length);
+        }
+
+        @Override
+        public void write(String string, int offset, int length) {
+            buffer.append(string, offset, offset + length);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    //endregion
+}
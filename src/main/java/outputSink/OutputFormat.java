@@ -0,0 +1,117 @@
+package outputSink;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * This enum is the output formats of the method changes. The file of a format is named like the CSV file of a detector,
+ * with the extension of the format instead of {@code .csv}.
+ */
+public enum OutputFormat {
+    CSV("csv", ".csv"),
+    NDJSON("ndjson", ".ndjson"),
+    GZIPPED_NDJSON("ndjson.gz", ".ndjson.gz");
+
+
+    //region constant variables
+
+    private static final String CSV_FILE_EXTENSION = ".csv";
+
+    //endregion
+
+
+    //region variables
+
+    public final String formatName;
+    public final String fileExtension;
+
+    //endregion
+
+
+    //region constructors
+
+    OutputFormat(String formatName, String fileExtension) {
+        this.formatName = formatName;
+        this.fileExtension = fileExtension;
+    }
+
+    //endregion
+
+
+    //region methods
+
+    /**
+     * This method obtains the file name of this format from the CSV file name.
+     *
+     * @param csvFileName CSV file name
+     * @return the file name with the extension of this format
+     */
+    public String getFileName(String csvFileName) {
+        if (csvFileName.endsWith(CSV_FILE_EXTENSION))
+            return csvFileName.substring(0, csvFileName.length() - CSV_FILE_EXTENSION.length()) + fileExtension;
+
+        return csvFileName + fileExtension;
+    }
+
+    /**
+     * This method creates a sink of this format.
+     *
+     * @param file                  output file
+     * @param append                true to append to the existing file
+     * @param withHeader            true to write the header line into a created file (if the format has a header)
+     * @param writerExecutorService single writer thread (it may be shared by several sinks)
+     * @param flushPolicy           flush policy
+     * @return the sink
+     * @throws IOException if the file cannot be opened
+     */
+    public MethodChangeSink createSink(File file, boolean append, boolean withHeader, ExecutorService writerExecutorService,
+                                       FlushPolicy flushPolicy) throws IOException {
+        switch (this) {
+            case NDJSON:
+                return new NdjsonMethodChangeSink(file, append, false, writerExecutorService, flushPolicy);
+            case GZIPPED_NDJSON:
+                return new NdjsonMethodChangeSink(file, append, true, writerExecutorService, flushPolicy);
+            default:
+                return new CsvMethodChangeSink(file, append, withHeader, writerExecutorService, flushPolicy);
+        }
+    }
+
+    //endregion
+
+
+    //region static methods
+
+    /**
+     * @return the names of the formats
+     */
+    public static List<String> getFormatNames() {
+        List<String> formatNames = new ArrayList<>();
+        for (OutputFormat outputFormat : values()) {
+            formatNames.add(outputFormat.formatName);
+        }
+
+        return formatNames;
+    }
+
+    /**
+     * This method finds a format by its name (case insensitive).
+     *
+     * @param formatName name of the format
+     * @return the format
+     * @throws IllegalArgumentException if the name is unknown
+     */
+    public static OutputFormat fromName(String formatName) {
+        for (OutputFormat outputFormat : values()) {
+            if (outputFormat.formatName.equalsIgnoreCase(formatName.trim()))
+                return outputFormat;
+        }
+
+        throw new IllegalArgumentException("Unknown output format: " + formatName + " (formats: " +
+                String.join(", ", getFormatNames()) + ")");
+    }
+
+    //endregion
+}
@@ -0,0 +1,97 @@
+package repoSource;
+
+import cacheUtil.BlobCache;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * This class caches the file versions of another repository source. The previous version of a file in a commit
+ * is the same as the current version of that file in the parent commit, so each version is downloaded only once.
+ */
+public class CachingRepoSource implements RepoSource {
+    //region variables
+
+    private final RepoSource repoSource;
+    private final BlobCache blobCache;
+
+    //endregion
+
+
+    //region constructors
+
+    public CachingRepoSource(RepoSource repoSource, BlobCache blobCache) {
+        this.repoSource = repoSource;
+        this.blobCache = blobCache;
+    }
+
+    //endregion
+
+
+    //region blobCache getter
+
+    public BlobCache getBlobCache() {
+        return blobCache;
+    }
+
+    //endregion
+
+
+    //region override methods
+
+    @Override
+    public String getRepoFullName() {
+        return repoSource.getRepoFullName();
+    }
+
+    @Override
+    public CommitInfo getLatestCommitInfo() throws Exception {
+        return repoSource.getLatestCommitInfo();
+    }
+
+    @Override
+    public CommitInfo getCommitInfo(String commitSha) throws Exception {
+        return repoSource.getCommitInfo(commitSha);
+    }
+
+    @Override
+    public List<CommitInfo> getPreviousCommitInfos(CommitInfo commitInfo, int maxCommitCount,
+                                                   FilePathFilter filePathFilter) throws Exception {
+        return repoSource.getPreviousCommitInfos(commitInfo, maxCommitCount, filePathFilter);
+    }
+
+    @Override
+    public List<String> getFirstParentCommitShas(String commitSha, long maxCommitCount) throws Exception {
+        return repoSource.getFirstParentCommitShas(commitSha, maxCommitCount);
+    }
+
+    @Override
+    public String getRepoFileAsString(String commitSha, String fileName) throws Exception {
+        return blobCache.get(getBlobKey(commitSha, fileName),
+                () -> repoSource.getRepoFileAsString(commitSha, fileName));
+    }
+
+    @Override
+    public CompletableFuture<String> getRepoFileAsStringAsync(String commitSha, String fileName, Executor executor) {
+        return blobCache.getAsync(getBlobKey(commitSha, fileName),
+                () -> repoSource.getRepoFileAsStringAsync(commitSha, fileName, executor));
+    }
+
+    @Override
+    public void close() throws IOException {
+        repoSource.close();
+    }
+
+    //endregion
+
+
+    //region helper methods
+
+    private String getBlobKey(String commitSha, String fileName) {
+        return getRepoFullName() + "/" + commitSha + "/" + fileName;
+    }
+
+    //endregion
+}
@@ -0,0 +1,36 @@
+package repoSource;
+
+/**
+ * This class is a structure for storing a changed file of a commit.
+ */
+public class CommitFile {
+    //region enums
+
+    public enum FileStatus {ADDED, REMOVED, MODIFIED, RENAMED, COPIED, CHANGED, UNCHANGED}
+
+    //endregion
+
+
+    //region variables
+
+    public final String fileName;
+    public final FileStatus status;
+    public final String patch;  // unified diff hunks against the previous version (here, null means unknown)
+
+    //endregion
+
+
+    //region constructors
+
+    public CommitFile(String fileName, FileStatus status, String patch) {
+        this.fileName = fileName;
+        this.status = status;
+        this.patch = patch;
+    }
+
+    public CommitFile(String fileName, FileStatus status) {
+        this(fileName, status, null);
+    }
+
+    //endregion
+}
@@ -0,0 +1,43 @@
+package repoSource;
+
+import java.util.List;
+
+/**
+ * This class is a structure for storing the information of a commit needed for analysis.
+ */
+public class CommitInfo {
+    //region variables
+
+    public final String sha;
+    public final List<String> parentShas;
+    public final List<CommitFile> files;
+
+    //endregion
+
+
+    //region constructors
+
+    public CommitInfo(String sha, List<String> parentShas, List<CommitFile> files) {
+        this.sha = sha;
+        this.parentShas = parentShas;
+        this.files = files;
+    }
+
+    //endregion
+
+
+    //region methods
+
+    /**
+     * This method returns the SHA value of the first parent commit.
+     *
+     * @return the SHA value of the first parent commit, or null if the commit is a root commit
+     */
+    public String getPreviousCommitSha() {
+        if (parentShas.isEmpty()) return null;
+
+        return parentShas.get(0);
+    }
+
+    //endregion
+}
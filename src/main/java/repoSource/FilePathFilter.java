@@ -0,0 +1,247 @@
+package repoSource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * This class filters file paths of a repository by include and exclude globs.
+ * A path is accepted if it matches any include glob (or there is no include glob) and no exclude glob.
+ * <p>
+ * In a glob, {@code **} matches any number of directories, {@code *} matches any part of a file or directory name,
+ * and {@code ?} matches one character of a name. A glob without any {@code /} matches at any depth
+ * (like {@code *.java}), and a glob also matches everything under the directories it matches
+ * (like {@code src/test}).
+ */
+public class FilePathFilter implements Predicate<String> {
+    //region constant variables
+
+    public static final String JAVA_FILES_GLOB = "**/*.java";
+
+    private static final char PATH_SEPARATOR = '/';
+    private static final String GLOB_SEPARATOR_REGEX = ",";
+
+    //endregion
+
+
+    //region variables
+
+    private final List<String> includeGlobs;
+    private final List<String> excludeGlobs;
+
+    private final List<Pattern> includePatterns;
+    private final List<Pattern> excludePatterns;
+
+    private final List<String> includePathPrefixes;
+
+    //endregion
+
+
+    //region constructors
+
+    /**
+     * @param includeGlobs globs of the accepted paths (here, empty means all paths)
+     * @param excludeGlobs globs of the rejected paths
+     */
+    public FilePathFilter(List<String> includeGlobs, List<String> excludeGlobs) {
+        this.includeGlobs = new ArrayList<>(includeGlobs);
+        this.excludeGlobs = new ArrayList<>(excludeGlobs);
+
+        this.includePatterns = new ArrayList<>(includeGlobs.size());
+        this.includePathPrefixes = new ArrayList<>(includeGlobs.size());
+        for (String includeGlob : includeGlobs) {
+            includePatterns.add(toPattern(includeGlob));
+            includePathPrefixes.add(getLiteralPathPrefix(includeGlob));
+        }
+
+        this.excludePatterns = new ArrayList<>(excludeGlobs.size());
+        for (String excludeGlob : excludeGlobs) {
+            excludePatterns.add(toPattern(excludeGlob));
+        }
+    }
+
+    //endregion
+
+
+    //region static factory methods
+
+    /**
+     * This method creates a filter which accepts all Java files.
+     *
+     * @return the filter
+     */
+    public static FilePathFilter ofJavaFiles() {
+        return new FilePathFilter(Collections.singletonList(JAVA_FILES_GLOB), Collections.emptyList());
+    }
+
+    /**
+     * This method splits a comma-separated list of globs.
+     *
+     * @param globs comma-separated list of globs
+     * @return list of the globs
+     */
+    public static List<String> splitGlobs(String globs) {
+        List<String> globList = new ArrayList<>();
+        for (String glob : globs.split(GLOB_SEPARATOR_REGEX)) {
+            if (!glob.trim().isEmpty())
+                globList.add(glob.trim());
+        }
+
+        return globList;
+    }
+
+    //endregion
+
+
+    //region getter methods
+
+    public List<String> getIncludeGlobs() {
+        return Collections.unmodifiableList(includeGlobs);
+    }
+
+    public List<String> getExcludeGlobs() {
+        return Collections.unmodifiableList(excludeGlobs);
+    }
+
+    /**
+     * This method returns the deepest directory which contains every accepted path.
+     *
+     * @return the directory path without the trailing {@code /} (here, empty means the root directory)
+     */
+    public String getCommonDirectory() {
+        if (includePathPrefixes.isEmpty()) return "";
+
+        String commonPrefix = includePathPrefixes.get(0);
+        for (String includePathPrefix : includePathPrefixes) {
+            int length = 0;
+            while ((length < commonPrefix.length()) && (length < includePathPrefix.length()) &&
+                    (commonPrefix.charAt(length) == includePathPrefix.charAt(length))) {
+                length++;
+            }
+            commonPrefix = commonPrefix.substring(0, length);
+        }
+
+        int lastSeparatorIndex = commonPrefix.lastIndexOf(PATH_SEPARATOR);
+        return (lastSeparatorIndex < 0) ? "" : commonPrefix.substring(0, lastSeparatorIndex);
+    }
+
+    //endregion
+
+
+    //region methods
+
+    /**
+     * @param path file path in the repository (separated by {@code /})
+     * @return true if the path is accepted
+     */
+    @Override
+    public boolean test(String path) {
+        for (Pattern excludePattern : excludePatterns) {
+            if (excludePattern.matcher(path).matches()) return false;
+        }
+
+        if (includePatterns.isEmpty()) return true;
+
+        for (Pattern includePattern : includePatterns) {
+            if (includePattern.matcher(path).matches()) return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * This method checks whether a directory may contain any accepted path, so that a directory
+     * which cannot contain one is not walked at all.
+     *
+     * @param directoryPath directory path in the repository (separated by {@code /})
+     * @return false only if no path under the directory can be accepted
+     */
+    public boolean mayContain(String directoryPath) {
+        String directoryPrefix = directoryPath + PATH_SEPARATOR;
+        for (Pattern excludePattern : excludePatterns) {
+            if (excludePattern.matcher(directoryPath).matches()) return false;
+        }
+
+        if (includePathPrefixes.isEmpty()) return true;
+
+        for (String includePathPrefix : includePathPrefixes) {
+            if (directoryPrefix.startsWith(includePathPrefix) || includePathPrefix.startsWith(directoryPrefix))
+                return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "include: " + includeGlobs + ", exclude: " + excludeGlobs;
+    }
+
+    //endregion
+
+
+    //region helper methods
+
+    private static String normalizeGlob(String glob) {
+        String normalizedGlob = glob.startsWith("/") ? glob.substring(1) : glob;
+        if (normalizedGlob.endsWith("/"))
+            normalizedGlob = normalizedGlob.substring(0, normalizedGlob.length() - 1);
+
+        // a glob without any directory matches at any depth
+        return (normalizedGlob.indexOf(PATH_SEPARATOR) < 0) ? "**/" + normalizedGlob : normalizedGlob;
+    }
+
+    private static Pattern toPattern(String glob) {
+        String normalizedGlob = normalizeGlob(glob);
+
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < normalizedGlob.length(); i++) {
+            char c = normalizedGlob.charAt(i);
+            if (normalizedGlob.startsWith("**/", i)) {
+                regex.append("(?:.*/)?");
+                i += 2;
+            } else if (normalizedGlob.startsWith("**", i)) {
+                regex.append(".*");
+                i += 1;
+            } else if (c == '*') {
+                regex.append("[^/]*");
+            } else if (c == '?') {
+                regex.append("[^/]");
+            } else {
+                regex.append(Pattern.quote(Character.toString(c)));
+            }
+        }
+
+        // everything under a matched directory is matched as well
+        regex.append("(?:/.*)?");
+        return Pattern.compile(regex.toString());
+    }
+
+    /**
+     * This method returns the directory part of a glob before its first wildcard.
+     *
+     * @param glob the glob
+     * @return the directory part with the trailing {@code /} (here, empty means the root directory)
+     */
+    private static String getLiteralPathPrefix(String glob) {
+        String normalizedGlob = normalizeGlob(glob);
+
+        int wildcardIndex = normalizedGlob.length();
+        for (int i = 0; i < normalizedGlob.length(); i++) {
+            char c = normalizedGlob.charAt(i);
+            if ((c == '*') || (c == '?')) {
+                wildcardIndex = i;
+                break;
+            }
+        }
+
+        if (wildcardIndex == normalizedGlob.length())
+            return normalizedGlob + PATH_SEPARATOR;  // a plain path is a directory or a file
+
+        return normalizedGlob.substring(0, normalizedGlob.lastIndexOf(PATH_SEPARATOR, wildcardIndex) + 1);
+    }
+
+    //endregion
+}
@@ -0,0 +1,386 @@
+package repoSource;
+
+import restApi.HttpTransport;
+import restApi.JavaHttpTransport;
+import restApi.TokenPool;
+import restApi.github.GithubCommit;
+import restApi.github.GithubCommitFile;
+import restApi.github.GithubRestApiClient;
+import restApi.github.GithubRestApiRepoFileHelper;
+import restApi.github.GithubRestApiRepoHelper;
+
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class reads commits and file versions of a repository through Github API v3.
+ */
+public class GithubRepoSource implements RepoSource {
+    //region constant variables
+
+    private static final int COMPARE_WINDOW_COMMIT_COUNT = 16;
+
+    //endregion
+
+
+    //region variables
+
+    private final GithubRestApiClient restApiClient;
+
+    private final GithubRestApiRepoHelper repoHelper;
+    private final GithubRestApiRepoFileHelper repoFileHelper;
+
+    private final AtomicLong skippedCommitCount = new AtomicLong();
+
+    private boolean compareWindowSkipEnabled = false;
+
+    //endregion
+
+
+    //region constructors
+
+    /**
+     * @param repoFullName  full name of the repository (owner/name)
+     * @param tokenPool     pool of the credentials which the API requests are spread across
+     * @param httpTransport transport which sends the requests
+     */
+    public GithubRepoSource(String repoFullName, TokenPool tokenPool, HttpTransport httpTransport) {
+        restApiClient = new GithubRestApiClient(tokenPool, httpTransport);
+        restApiClient.setRepoFullName(repoFullName);
+
+        repoHelper = restApiClient.getRepoHelper();
+        repoFileHelper = repoHelper.getRepoFileHelper();
+    }
+
+    public GithubRepoSource(String repoFullName, TokenPool tokenPool) {
+        this(repoFullName, tokenPool, new JavaHttpTransport());
+    }
+
+    public GithubRepoSource(String repoFullName, String username, String password, HttpTransport httpTransport) {
+        this(repoFullName, TokenPool.ofCredentials(username, password), httpTransport);
+    }
+
+    public GithubRepoSource(String repoFullName, String username, String password) {
+        this(repoFullName, username, password, new JavaHttpTransport());
+    }
+
+    public GithubRepoSource(String repoFullName) {
+        this(repoFullName, "", "");
+    }
+
+    //endregion
+
+
+    //region helper getter methods
+
+    public GithubRestApiClient getRestApiClient() {
+        return restApiClient;
+    }
+
+    public GithubRestApiRepoHelper getRepoHelper() {
+        return repoHelper;
+    }
+
+    public GithubRestApiRepoFileHelper getRepoFileHelper() {
+        return repoFileHelper;
+    }
+
+    //endregion
+
+
+    //region compareWindowSkipEnabled getter and setter
+
+    public boolean isCompareWindowSkipEnabled() {
+        return compareWindowSkipEnabled;
+    }
+
+    /**
+     * This method enables skipping a window of consecutive commits when the comparison of its two ends
+     * changes no file accepted by the filter. It saves requests, but it is not exact: a change which is reverted
+     * (or renamed back) within the same window is not visible in the comparison, so its commits are skipped as well.
+     * It is disabled by default.
+     *
+     * @param compareWindowSkipEnabled true to skip the windows by their comparisons
+     */
+    public void setCompareWindowSkipEnabled(boolean compareWindowSkipEnabled) {
+        this.compareWindowSkipEnabled = compareWindowSkipEnabled;
+    }
+
+    //endregion
+
+
+    //region metric getter methods
+
+    /**
+     * This method returns the number of commits whose information has not been fetched,
+     * because the listing of the directory of the filter (or a comparison, if enabled) has shown
+     * that they change no file accepted by the filter.
+     *
+     * @return the number of the skipped commits
+     */
+    public long getSkippedCommitCount() {
+        return skippedCommitCount.get();
+    }
+
+    //endregion
+
+
+    //region override methods
+
+    @Override
+    public String getRepoFullName() {
+        return repoHelper.getRepoFullName();
+    }
+
+    @Override
+    public CommitInfo getLatestCommitInfo() throws Exception {
+        return toCommitInfo(repoHelper.getLatestCommitInfo());
+    }
+
+    @Override
+    public CommitInfo getCommitInfo(String commitSha) throws Exception {
+        return toCommitInfo(repoHelper.getCommitInfo(commitSha));
+    }
+
+    /**
+     * This method lists the previous commits by pages of the commit history (up to 100 commits per request).
+     * If the filter accepts only the paths under a directory, the commits which change the directory are listed
+     * as well (by the {@code path} query), and the other commits are skipped.
+     * If it is enabled (see {@link #setCompareWindowSkipEnabled(boolean)}), it also compares each window
+     * of consecutive commits, and fetches the information of the commits one by one only if the window changes
+     * any file accepted by the filter.
+     * If neither can skip a commit (the filter has no common directory, and the comparisons are disabled),
+     * the page is not listed, and only the previous commit is fetched, so no request is spent on the listing.
+     */
+    @Override
+    public List<CommitInfo> getPreviousCommitInfos(CommitInfo commitInfo, int maxCommitCount,
+                                                   FilePathFilter filePathFilter) throws Exception {
+        String previousCommitSha = commitInfo.getPreviousCommitSha();
+        if ((previousCommitSha == null) || (maxCommitCount <= 0)) return Collections.emptyList();
+
+        String commonDirectory = filePathFilter.getCommonDirectory();
+        if (commonDirectory.isEmpty() && !compareWindowSkipEnabled)
+            return Collections.singletonList(getCommitInfo(previousCommitSha));
+
+        Map<String, GithubCommit> pageGithubCommits = new HashMap<>();
+        for (GithubCommit githubCommit : repoHelper.getRepoCommits(previousCommitSha, 1)) {
+            pageGithubCommits.put(githubCommit.sha, githubCommit);
+        }
+
+        List<GithubCommit> historyGithubCommits = getFirstParentHistory(pageGithubCommits, previousCommitSha,
+                Math.min(maxCommitCount, GithubRestApiRepoHelper.MAX_PER_PAGE));
+        if (historyGithubCommits.isEmpty())
+            return Collections.singletonList(getCommitInfo(previousCommitSha));
+
+        List<CommitInfo> historyCommits = new ArrayList<>(historyGithubCommits.size());
+        for (GithubCommit historyGithubCommit : historyGithubCommits) {
+            historyCommits.add(toCommitInfo(historyGithubCommit));
+        }
+
+        Set<String> directoryCommitShas = commonDirectory.isEmpty() ?
+                null : getDirectoryCommitShas(previousCommitSha, commonDirectory, pageGithubCommits.keySet());
+
+        List<CommitInfo> previousCommits = new ArrayList<>(historyCommits.size());
+        for (int windowStart = 0; windowStart < historyCommits.size(); windowStart += COMPARE_WINDOW_COMMIT_COUNT) {
+            List<CommitInfo> windowCommits = historyCommits.subList(windowStart,
+                    Math.min(historyCommits.size(), windowStart + COMPARE_WINDOW_COMMIT_COUNT));
+
+            boolean hasMatchingFile = !compareWindowSkipEnabled ||
+                    hasMatchingFile(windowCommits, directoryCommitShas, filePathFilter);
+            for (CommitInfo windowCommit : windowCommits) {
+                if (hasMatchingFile && mayChangeDirectory(windowCommit, directoryCommitShas)) {
+                    previousCommits.add(getCommitInfo(windowCommit.sha));
+                } else {
+                    previousCommits.add(windowCommit);
+                    skippedCommitCount.incrementAndGet();
+                }
+            }
+        }
+
+        return previousCommits;
+    }
+
+    /**
+     * This method lists the history by pages (up to 100 commits per request), instead of fetching the commits
+     * one by one. A page lists every commit reachable from the first commit (ordered by date),
+     * so the first parents are followed through the pages which have been listed so far.
+     */
+    @Override
+    public List<String> getFirstParentCommitShas(String commitSha, long maxCommitCount) throws Exception {
+        List<String> commitShas = new ArrayList<>();
+        Map<String, GithubCommit> listedGithubCommits = new HashMap<>();
+
+        String currentCommitSha = commitSha;
+        int page = 0;
+        boolean lastPageListed = false;
+        while ((currentCommitSha != null) && (commitShas.size() < maxCommitCount)) {
+            GithubCommit githubCommit = listedGithubCommits.remove(currentCommitSha);
+            if (githubCommit == null) {
+                if (lastPageListed)
+                    throw new FileNotFoundException("Commit not found in the history: " + currentCommitSha);
+
+                List<GithubCommit> pageGithubCommits = repoHelper.getRepoCommits(commitSha, ++page);
+                for (GithubCommit pageGithubCommit : pageGithubCommits) {
+                    listedGithubCommits.put(pageGithubCommit.sha, pageGithubCommit);
+                }
+                lastPageListed = (pageGithubCommits.size() < GithubRestApiRepoHelper.MAX_PER_PAGE);
+                continue;
+            }
+
+            commitShas.add(githubCommit.sha);
+            currentCommitSha = githubCommit.getPreviousCommitSha();
+        }
+
+        return commitShas;
+    }
+
+    @Override
+    public String getRepoFileAsString(String commitSha, String fileName) throws Exception {
+        return repoFileHelper.getRepoFileAsString(commitSha, fileName);
+    }
+
+    /**
+     * This method downloads a file through the asynchronous HTTP transport, so the given executor is not used.
+     */
+    @Override
+    public CompletableFuture<String> getRepoFileAsStringAsync(String commitSha, String fileName, Executor executor) {
+        return repoFileHelper.getRepoFileAsStringAsync(commitSha, fileName);
+    }
+
+    //endregion
+
+
+    //region helper methods
+
+    /**
+     * This method follows the first parents from a given commit within a page of the commit history.
+     *
+     * @param pageGithubCommits commits of the page by their SHA values
+     * @param startCommitSha    SHA value of the first commit
+     * @param maxCommitCount    maximum number of the returned commits
+     * @return the commits without their files (empty if the page does not contain the first commit)
+     */
+    private static List<GithubCommit> getFirstParentHistory(Map<String, GithubCommit> pageGithubCommits,
+                                                            String startCommitSha, int maxCommitCount) {
+        List<GithubCommit> historyGithubCommits = new ArrayList<>(maxCommitCount);
+        String commitSha = startCommitSha;
+        while ((commitSha != null) && (historyGithubCommits.size() < maxCommitCount)) {
+            GithubCommit historyGithubCommit = pageGithubCommits.get(commitSha);
+            if (historyGithubCommit == null) break;
+
+            historyGithubCommits.add(historyGithubCommit);
+            commitSha = historyGithubCommit.getPreviousCommitSha();
+        }
+
+        return historyGithubCommits;
+    }
+
+    /**
+     * This method lists the commits which change a directory, as far as they are needed for the listed commits
+     * of the history. The directory listing walks the history in the same order as the history listing,
+     * leaving out the other commits, so once it lists a commit which is not among the listed commits,
+     * every listed commit which changes the directory has been seen.
+     * The stop does not depend on commit dates, which are not monotonic along the history.
+     *
+     * @param startCommitSha   SHA value of the newest commit
+     * @param directory        directory path in the repository
+     * @param listedCommitShas SHA values of the commits of the history listing starting from the same commit
+     * @return SHA values of the commits which change the directory
+     * @throws Exception if any error occurs
+     */
+    private Set<String> getDirectoryCommitShas(String startCommitSha, String directory,
+                                               Set<String> listedCommitShas) throws Exception {
+        Set<String> directoryCommitShas = new HashSet<>();
+        for (int page = 1; ; page++) {
+            List<GithubCommit> pageGithubCommits = repoHelper.getRepoCommits(startCommitSha, directory, page);
+
+            boolean listedCommitsPassed = false;
+            for (GithubCommit githubCommit : pageGithubCommits) {
+                directoryCommitShas.add(githubCommit.sha);
+                listedCommitsPassed |= !listedCommitShas.contains(githubCommit.sha);
+            }
+
+            if (listedCommitsPassed || (pageGithubCommits.size() < GithubRestApiRepoHelper.MAX_PER_PAGE))
+                break;
+        }
+
+        return directoryCommitShas;
+    }
+
+    /**
+     * This method checks whether a commit may change the directory of the listed commits.
+     * A merge commit is always checked, because the listing follows the parent which is the same as the merge.
+     *
+     * @param commit              the commit
+     * @param directoryCommitShas SHA values of the commits which change the directory (here, null means any commit)
+     * @return true if the commit may change the directory
+     */
+    private static boolean mayChangeDirectory(CommitInfo commit, Set<String> directoryCommitShas) {
+        return (directoryCommitShas == null) || (commit.parentShas.size() > 1) || directoryCommitShas.contains(commit.sha);
+    }
+
+    /**
+     * This method checks whether any commit of a window (from newer to older) can change a file
+     * accepted by the filter, by comparing the parent of the oldest commit with the newest commit.
+     *
+     * @param windowCommits       consecutive commits along the first parents
+     * @param directoryCommitShas SHA values of the commits which change the directory of the filter
+     *                            (here, null means any commit)
+     * @param filePathFilter      filter of the file paths
+     * @return false only if no commit can change such a file
+     * @throws Exception if any error occurs
+     */
+    private boolean hasMatchingFile(List<CommitInfo> windowCommits, Set<String> directoryCommitShas,
+                                    FilePathFilter filePathFilter) throws Exception {
+        boolean mayChangeDirectory = false;
+        for (CommitInfo windowCommit : windowCommits) {
+            mayChangeDirectory |= mayChangeDirectory(windowCommit, directoryCommitShas);
+        }
+        if (!mayChangeDirectory) return false;
+
+        String baseCommitSha = windowCommits.get(windowCommits.size() - 1).getPreviousCommitSha();
+        if ((windowCommits.size() == 1) || (baseCommitSha == null))
+            return true;  // fetching the commits directly is not more expensive
+
+        List<GithubCommitFile> compareFiles = repoHelper.compareCommits(baseCommitSha, windowCommits.get(0).sha);
+        if (compareFiles.size() >= GithubRestApiRepoHelper.MAX_COMPARE_FILE_COUNT)
+            return true;  // the files of the comparison may be truncated
+
+        for (GithubCommitFile compareFile : compareFiles) {
+            if (filePathFilter.test(compareFile.fileName))
+                return true;
+        }
+
+        return false;
+    }
+
+    private static CommitInfo toCommitInfo(GithubCommit githubCommit) {
+        List<CommitFile> files = new ArrayList<>(githubCommit.files.size());
+        for (GithubCommitFile githubCommitFile : githubCommit.files) {
+            files.add(new CommitFile(githubCommitFile.fileName, toFileStatus(githubCommitFile.status), githubCommitFile.patch));
+        }
+
+        return new CommitInfo(githubCommit.sha, githubCommit.parentShas, files);
+    }
+
+    private static CommitFile.FileStatus toFileStatus(String fileStatusString) {
+        if (fileStatusString == null) return CommitFile.FileStatus.CHANGED;
+
+        try {
+            return CommitFile.FileStatus.valueOf(fileStatusString.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return CommitFile.FileStatus.CHANGED;
+        }
+    }
+
+    //endregion
+}
@@ -0,0 +1,278 @@
+package repoSource;
+
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.diff.DiffFormatter;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevTree;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
+import org.eclipse.jgit.util.io.DisabledOutputStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class reads commits and file versions of a repository from a local clone (bare or not) through JGit,
+ * so the analysis runs offline without any API call or file download.
+ */
+public class LocalGitRepoSource implements RepoSource {
+    //region constant variables
+
+    private static final String GIT_MASTER_BRANCH = "master";
+    private static final String GIT_DIRECTORY_NAME = ".git";
+
+    private static final String PATCHED_FILE_EXTENSION = ".java";  // only the patches of Java files are used
+
+    //endregion
+
+
+    //region variables
+
+    private final String repoFullName;
+    private final Repository repository;
+
+    //endregion
+
+
+    //region constructors
+
+    /**
+     * @param repoFullName full name of the repository (used for naming output files)
+     * @param directory    directory of a bare clone, or working directory of a non-bare clone
+     * @throws IOException if the directory is not a Git repository
+     */
+    public LocalGitRepoSource(String repoFullName, File directory) throws IOException {
+        this.repoFullName = repoFullName;
+
+        File gitDirectory = new File(directory, GIT_DIRECTORY_NAME);
+        this.repository = new FileRepositoryBuilder()
+                .setGitDir(gitDirectory.isDirectory() ? gitDirectory : directory)
+                .setMustExist(true)
+                .build();
+    }
+
+    //endregion
+
+
+    //region repository getter
+
+    public Repository getRepository() {
+        return repository;
+    }
+
+    //endregion
+
+
+    //region override methods
+
+    @Override
+    public String getRepoFullName() {
+        return repoFullName;
+    }
+
+    @Override
+    public CommitInfo getLatestCommitInfo() throws Exception {
+        ObjectId masterCommitId = repository.resolve(GIT_MASTER_BRANCH);
+        if (masterCommitId == null)
+            masterCommitId = resolveCommitId(Constants.HEAD);
+
+        return getCommitInfo(masterCommitId);
+    }
+
+    @Override
+    public CommitInfo getCommitInfo(String commitSha) throws Exception {
+        return getCommitInfo(resolveCommitId(commitSha));
+    }
+
+    /**
+     * This method follows the first parents, and diffs only the paths accepted by the filter,
+     * so the directories which cannot contain an accepted path are not walked.
+     */
+    @Override
+    public List<CommitInfo> getPreviousCommitInfos(CommitInfo commitInfo, int maxCommitCount,
+                                                   FilePathFilter filePathFilter) throws Exception {
+        TreeFilter pathTreeFilter = new FilePathTreeFilter(filePathFilter);
+
+        List<CommitInfo> previousCommits = new ArrayList<>();
+        String previousCommitSha = commitInfo.getPreviousCommitSha();
+        while ((previousCommitSha != null) && (previousCommits.size() < maxCommitCount)) {
+            CommitInfo previousCommit = getCommitInfo(resolveCommitId(previousCommitSha), pathTreeFilter);
+            previousCommits.add(previousCommit);
+            previousCommitSha = previousCommit.getPreviousCommitSha();
+        }
+
+        return previousCommits;
+    }
+
+    /**
+     * This method walks the parents of the commits without diffing any tree.
+     */
+    @Override
+    public List<String> getFirstParentCommitShas(String commitSha, long maxCommitCount) throws Exception {
+        List<String> commitShas = new ArrayList<>();
+
+        try (RevWalk revWalk = new RevWalk(repository)) {
+            RevCommit commit = revWalk.parseCommit(resolveCommitId(commitSha));
+            while (commitShas.size() < maxCommitCount) {
+                commitShas.add(commit.getName());
+                if (commit.getParentCount() == 0) break;
+
+                commit = revWalk.parseCommit(commit.getParent(0));
+            }
+        }
+
+        return commitShas;
+    }
+
+    @Override
+    public String getRepoFileAsString(String commitSha, String fileName) throws Exception {
+        try (RevWalk revWalk = new RevWalk(repository)) {
+            RevTree tree = revWalk.parseCommit(resolveCommitId(commitSha)).getTree();
+
+            try (TreeWalk treeWalk = TreeWalk.forPath(repository, fileName, tree)) {
+                if (treeWalk == null)
+                    throw new FileNotFoundException(commitSha + "/" + fileName);
+
+                byte[] bytes = repository.open(treeWalk.getObjectId(0), Constants.OBJ_BLOB).getBytes();
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        repository.close();
+    }
+
+    //endregion
+
+
+    //region helper methods
+
+    private ObjectId resolveCommitId(String revision) throws IOException {
+        ObjectId commitId = repository.resolve(revision);
+        if (commitId == null)
+            throw new FileNotFoundException("Commit not found: " + revision);
+
+        return commitId;
+    }
+
+    /**
+     * This method reads a commit and diffs its tree against the tree of its first parent.
+     *
+     * @param commitId commit id
+     * @return the information of the commit
+     * @throws IOException if any error occurs while reading the repository
+     */
+    private CommitInfo getCommitInfo(ObjectId commitId) throws IOException {
+        return getCommitInfo(commitId, TreeFilter.ALL);
+    }
+
+    /**
+     * This method reads a commit and diffs its tree against the tree of its first parent.
+     * The patches of the modified Java files are created as well.
+     *
+     * @param commitId       commit id
+     * @param pathTreeFilter filter of the paths which are diffed
+     * @return the information of the commit (including only the changed files accepted by the filter)
+     * @throws IOException if any error occurs while reading the repository
+     */
+    private CommitInfo getCommitInfo(ObjectId commitId, TreeFilter pathTreeFilter) throws IOException {
+        ByteArrayOutputStream patchOutputStream = new ByteArrayOutputStream();
+        try (RevWalk revWalk = new RevWalk(repository);
+             DiffFormatter diffFormatter = new DiffFormatter(DisabledOutputStream.INSTANCE);
+             DiffFormatter patchFormatter = new DiffFormatter(patchOutputStream)) {
+            RevCommit commit = revWalk.parseCommit(commitId);
+
+            List<String> parentShas = new ArrayList<>(commit.getParentCount());
+            for (RevCommit parent : commit.getParents()) {
+                parentShas.add(parent.getName());
+            }
+
+            RevTree previousTree = (commit.getParentCount() == 0) ? null : revWalk.parseCommit(commit.getParent(0)).getTree();
+
+            diffFormatter.setRepository(repository);
+            diffFormatter.setDetectRenames(true);
+            diffFormatter.setPathFilter(pathTreeFilter);
+            List<DiffEntry> diffEntries = diffFormatter.scan(previousTree, commit.getTree());
+
+            patchFormatter.setRepository(repository);
+            patchFormatter.setContext(0);  // only the changed lines are needed
+
+            List<CommitFile> files = new ArrayList<>(diffEntries.size());
+            for (DiffEntry diffEntry : diffEntries) {
+                String patch = null;
+                if ((diffEntry.getChangeType() == DiffEntry.ChangeType.MODIFY) &&
+                        diffEntry.getNewPath().endsWith(PATCHED_FILE_EXTENSION)) {
+                    patchOutputStream.reset();
+                    patchFormatter.format(diffEntry);
+                    patchFormatter.flush();
+                    patch = patchOutputStream.toString(StandardCharsets.UTF_8.name());
+                }
+
+                files.add(toCommitFile(diffEntry, patch));
+            }
+
+            return new CommitInfo(commit.getName(), parentShas, files);
+        }
+    }
+
+    private static CommitFile toCommitFile(DiffEntry diffEntry, String patch) {
+        switch (diffEntry.getChangeType()) {
+            case ADD:
+                return new CommitFile(diffEntry.getNewPath(), CommitFile.FileStatus.ADDED);
+            case DELETE:
+                return new CommitFile(diffEntry.getOldPath(), CommitFile.FileStatus.REMOVED);
+            case RENAME:
+                return new CommitFile(diffEntry.getNewPath(), CommitFile.FileStatus.RENAMED);
+            case COPY:
+                return new CommitFile(diffEntry.getNewPath(), CommitFile.FileStatus.COPIED);
+            default:
+                return new CommitFile(diffEntry.getNewPath(), CommitFile.FileStatus.MODIFIED, patch);
+        }
+    }
+
+    //endregion
+
+
+    //region helper structures
+
+    /**
+     * This class adapts a file path filter to a tree filter of JGit.
+     */
+    private static class FilePathTreeFilter extends TreeFilter {
+        private final FilePathFilter filePathFilter;
+
+        private FilePathTreeFilter(FilePathFilter filePathFilter) {
+            this.filePathFilter = filePathFilter;
+        }
+
+        @Override
+        public boolean include(TreeWalk walker) {
+            String path = walker.getPathString();
+            return walker.isSubtree() ? filePathFilter.mayContain(path) : filePathFilter.test(path);
+        }
+
+        @Override
+        public boolean shouldBeRecursive() {
+            return false;
+        }
+
+        @Override
+        public TreeFilter clone() {
+            return this;  // the filter has no state
+        }
+    }
+
+    //endregion
+}
@@ -0,0 +1,126 @@
+package repoSource;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * This interface is the source of commits and file versions of a repository being analyzed.
+ */
+public interface RepoSource extends Closeable {
+    //region methods
+
+    /**
+     * This method returns the full name of the repository (like {@code google/guava}).
+     *
+     * @return the full name of the repository
+     */
+    String getRepoFullName();
+
+    /**
+     * This method returns the information of the latest commit of the master branch.
+     *
+     * @return the information of the latest commit of the master branch
+     * @throws Exception if any error occurs
+     */
+    CommitInfo getLatestCommitInfo() throws Exception;
+
+    /**
+     * This method returns the information of a given commit.
+     *
+     * @param commitSha commit SHA value
+     * @return the information of the given commit
+     * @throws Exception if any error occurs (such as "commit not found")
+     */
+    CommitInfo getCommitInfo(String commitSha) throws Exception;
+
+    /**
+     * This method returns a specific file of a given commit as text.
+     *
+     * @param commitSha commit SHA value of a commit (version of a file)
+     * @param fileName  file name (path in the repository)
+     * @return String representation of a specific file of a given commit as text
+     * @throws Exception if any error occurs (such as "file not found")
+     */
+    String getRepoFileAsString(String commitSha, String fileName) throws Exception;
+
+    //endregion
+
+
+    //region default methods
+
+    /**
+     * This method returns a specific file of a given commit as text asynchronously.
+     * By default, it runs {@link #getRepoFileAsString(String, String)} on the given executor.
+     * A source which can fetch without blocking a thread should override this method.
+     *
+     * @param commitSha commit SHA value of a commit (version of a file)
+     * @param fileName  file name (path in the repository)
+     * @param executor  executor for a blocking fetch
+     * @return future of String representation of a specific file of a given commit as text
+     */
+    default CompletableFuture<String> getRepoFileAsStringAsync(String commitSha, String fileName, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return getRepoFileAsString(commitSha, fileName);
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * This method returns the commits preceding a given commit along the first parents (from newer to older),
+     * up to a given count. A source may leave out the files which are not accepted by the given filter,
+     * so that it does not need to fetch the information of the commits which change no accepted file.
+     * By default, it returns only the previous commit by {@link #getCommitInfo(String)}.
+     *
+     * @param commitInfo     the commit whose previous commits are returned
+     * @param maxCommitCount maximum number of the returned commits
+     * @param filePathFilter filter of the file paths which are needed
+     * @return the previous commits (at least one, unless the given commit is the first commit)
+     * @throws Exception if any error occurs
+     */
+    default List<CommitInfo> getPreviousCommitInfos(CommitInfo commitInfo, int maxCommitCount,
+                                                    FilePathFilter filePathFilter) throws Exception {
+        String previousCommitSha = commitInfo.getPreviousCommitSha();
+        if ((previousCommitSha == null) || (maxCommitCount <= 0)) return Collections.emptyList();
+
+        return Collections.singletonList(getCommitInfo(previousCommitSha));
+    }
+
+    /**
+     * This method lists the SHA values of the commits along the first parents, starting from a given commit
+     * (from newer to older), up to a given count. The list ends with the root commit if the count is not reached.
+     * By default, it reads the commits one by one by {@link #getCommitInfo(String)}.
+     * A source which can list the history more cheaply should override this method.
+     *
+     * @param commitSha      SHA value of the first commit
+     * @param maxCommitCount maximum number of the returned SHA values
+     * @return the SHA values of the commits
+     * @throws Exception if any error occurs
+     */
+    default List<String> getFirstParentCommitShas(String commitSha, long maxCommitCount) throws Exception {
+        List<String> commitShas = new ArrayList<>();
+
+        String currentCommitSha = commitSha;
+        while ((currentCommitSha != null) && (commitShas.size() < maxCommitCount)) {
+            CommitInfo commitInfo = getCommitInfo(currentCommitSha);
+            commitShas.add(commitInfo.sha);
+            currentCommitSha = commitInfo.getPreviousCommitSha();
+        }
+
+        return commitShas;
+    }
+
+    @Override
+    default void close() throws IOException {
+    }
+
+    //endregion
+}
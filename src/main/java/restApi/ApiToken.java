@@ -0,0 +1,124 @@
+package restApi;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class is a credential of API requests with its own rate limit budget and usage metrics.
+ */
+public class ApiToken {
+    //region constant variables
+
+    private static final int VISIBLE_TOKEN_SUFFIX_LENGTH = 4;
+
+    //endregion
+
+
+    //region variables
+
+    private final String name;
+    private final String authorization;
+
+    private final RateLimitScheduler rateLimitScheduler = new RateLimitScheduler();
+    private final AtomicLong requestCount = new AtomicLong();
+
+    //endregion
+
+
+    //region constructors
+
+    /**
+     * @param name          name of the credential shown in metrics (it should not reveal the secret)
+     * @param authorization value of the "Authorization" header (here, null means no authentication)
+     */
+    public ApiToken(String name, String authorization) {
+        this.name = name;
+        this.authorization = authorization;
+    }
+
+    //endregion
+
+
+    //region static factory methods
+
+    /**
+     * This method creates a credential of an OAuth or personal access token.
+     *
+     * @param token the token
+     * @return the credential
+     */
+    public static ApiToken ofToken(String token) {
+        return new ApiToken(maskSecret(token), "token " + token);
+    }
+
+    /**
+     * This method creates a credential for basic authentication.
+     *
+     * @param username username
+     * @param password password or token
+     * @return the credential
+     */
+    public static ApiToken ofBasic(String username, String password) {
+        String credentials = Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+        return new ApiToken(username + ":" + maskSecret(password), "Basic " + credentials);
+    }
+
+    /**
+     * This method creates an anonymous credential (which has the lowest rate limit).
+     *
+     * @return the anonymous credential
+     */
+    public static ApiToken ofAnonymous() {
+        return new ApiToken("anonymous", null);
+    }
+
+    //endregion
+
+
+    //region getter methods
+
+    public String getName() {
+        return name;
+    }
+
+    public String getAuthorization() {
+        return authorization;
+    }
+
+    public RateLimitScheduler getRateLimitScheduler() {
+        return rateLimitScheduler;
+    }
+
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    //endregion
+
+
+    //region methods
+
+    public void countRequest() {
+        requestCount.incrementAndGet();
+    }
+
+    @Override
+    public String toString() {
+        return name + " (requests: " + getRequestCount() + ", " + rateLimitScheduler + ")";
+    }
+
+    //endregion
+
+
+    //region helper methods
+
+    private static String maskSecret(String secret) {
+        if (secret.length() <= VISIBLE_TOKEN_SUFFIX_LENGTH)
+            return "****";
+
+        return "****" + secret.substring(secret.length() - VISIBLE_TOKEN_SUFFIX_LENGTH);
+    }
+
+    //endregion
+}
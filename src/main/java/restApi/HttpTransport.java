@@ -0,0 +1,43 @@
+package restApi;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * This interface sends HTTP requests asynchronously, so many requests can be in flight without a thread for each.
+ */
+public interface HttpTransport {
+    //region methods
+
+    /**
+     * This method sends a GET request.
+     *
+     * @param uri     URI of the request
+     * @param headers headers of the request
+     * @return future of the response (whatever its status code is)
+     */
+    CompletableFuture<HttpTransportResponse> getAsync(URI uri, Map<String, String> headers);
+
+    //endregion
+
+
+    //region default methods
+
+    /**
+     * This method sends a GET request, and completes as soon as the response begins,
+     * so its body can be read as a stream (without holding the whole body in memory).
+     * By default, the whole body is read by {@link #getAsync(URI, Map)} first.
+     * A transport which can stream the body should override this method.
+     *
+     * @param uri     URI of the request
+     * @param headers headers of the request
+     * @return future of the response (whatever its status code is), whose body reader must be closed
+     */
+    default CompletableFuture<HttpTransportStreamResponse> getStreamAsync(URI uri, Map<String, String> headers) {
+        return getAsync(uri, headers).thenApply(response ->
+                new HttpTransportStreamResponse(response.statusCode, response.headers, response.body));
+    }
+
+    //endregion
+}
@@ -0,0 +1,48 @@
+package restApi;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class is a structure for storing an HTTP response with a decoded text body.
+ */
+public class HttpTransportResponse {
+    //region variables
+
+    public final int statusCode;
+    public final Map<String, List<String>> headers;
+    public final String body;
+
+    //endregion
+
+
+    //region constructors
+
+    public HttpTransportResponse(int statusCode, Map<String, List<String>> headers, String body) {
+        this.statusCode = statusCode;
+        this.headers = headers;
+        this.body = body;
+    }
+
+    //endregion
+
+
+    //region methods
+
+    /**
+     * This method returns the first value of a header.
+     *
+     * @param headerName header name (case-insensitive)
+     * @return the first value of the header, or null if the response does not have the header
+     */
+    public String getFirstHeader(String headerName) {
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (header.getKey().equalsIgnoreCase(headerName) && !header.getValue().isEmpty())
+                return header.getValue().get(0);
+        }
+
+        return null;
+    }
+
+    //endregion
+}
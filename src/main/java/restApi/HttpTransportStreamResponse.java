@@ -0,0 +1,75 @@
+package restApi;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class is a structure for storing an HTTP response whose text body is read as a stream while it is received.
+ * The text body of the parent structure is empty unless the body has been read into it (such as an error message).
+ * The body reader must be closed, which releases the connection of the response.
+ */
+public class HttpTransportStreamResponse extends HttpTransportResponse implements Closeable {
+    //region variables
+
+    public final Reader bodyReader;
+
+    //endregion
+
+
+    //region constructors
+
+    /**
+     * @param statusCode status code of the response
+     * @param headers    headers of the response
+     * @param bodyReader decoded text body of the response
+     */
+    public HttpTransportStreamResponse(int statusCode, Map<String, List<String>> headers, Reader bodyReader) {
+        super(statusCode, headers, "");
+        this.bodyReader = bodyReader;
+    }
+
+    /**
+     * @param statusCode status code of the response
+     * @param headers    headers of the response
+     * @param body       text body of the response, which has already been read
+     */
+    public HttpTransportStreamResponse(int statusCode, Map<String, List<String>> headers, String body) {
+        super(statusCode, headers, body);
+        this.bodyReader = new StringReader(body);
+    }
+
+    //endregion
+
+
+    //region methods
+
+    /**
+     * This method reads the rest of the body as text and closes the body reader.
+     *
+     * @return a response with the same status code and headers, whose text body has been read
+     * @throws IOException if the body cannot be read
+     */
+    public HttpTransportStreamResponse readBody() throws IOException {
+        StringBuilder body = new StringBuilder();
+        try (Reader reader = bodyReader) {
+            char[] buffer = new char[8192];
+            int length;
+            while ((length = reader.read(buffer)) >= 0) {
+                body.append(buffer, 0, length);
+            }
+        }
+
+        return new HttpTransportStreamResponse(statusCode, headers, body.toString());
+    }
+
+    @Override
+    public void close() throws IOException {
+        bodyReader.close();
+    }
+
+    //endregion
+}
@@ -0,0 +1,276 @@
+package restApi;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * This class sends HTTP requests through {@link HttpClient} with HTTP/2 (falling back to HTTP/1.1 with keep-alive).
+ * All requests share the connection pool of a single client, so many requests are multiplexed over a few connections.
+ * The number of concurrent requests per host is limited, and the excess requests wait in a queue without any thread.
+ * A streamed response counts as a running request until its body is closed.
+ */
+public class JavaHttpTransport implements HttpTransport {
+    //region constant variables
+
+    private static final int DEFAULT_MAX_REQUESTS_PER_HOST = 32;
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(120);
+
+    private static final String ACCEPT_ENCODING_HEADER = "Accept-Encoding";
+    private static final String CONTENT_ENCODING_HEADER = "Content-Encoding";
+    private static final String CONTENT_TYPE_HEADER = "Content-Type";
+    private static final String GZIP_ENCODING = "gzip";
+    private static final String CHARSET_PARAMETER = "charset=";
+
+    //endregion
+
+
+    //region variables
+
+    private final HttpClient httpClient;
+    private final int maxRequestsPerHost;
+
+    private final ConcurrentHashMap<String, HostRequestLimiter> hostRequestLimiters = new ConcurrentHashMap<>();
+
+    //endregion
+
+
+    //region constructors
+
+    /**
+     * @param maxRequestsPerHost maximum number of concurrent requests per host
+     */
+    public JavaHttpTransport(int maxRequestsPerHost) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(CONNECT_TIMEOUT)
+                .build();
+        this.maxRequestsPerHost = maxRequestsPerHost;
+    }
+
+    public JavaHttpTransport() {
+        this(DEFAULT_MAX_REQUESTS_PER_HOST);
+    }
+
+    //endregion
+
+
+    //region maxRequestsPerHost getter
+
+    public int getMaxRequestsPerHost() {
+        return maxRequestsPerHost;
+    }
+
+    //endregion
+
+
+    //region override methods
+
+    @Override
+    public CompletableFuture<HttpTransportResponse> getAsync(URI uri, Map<String, String> headers) {
+        HttpRequest request = buildRequest(uri, headers);
+
+        return getHostRequestLimiter(uri).submit(requestDone -> httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(JavaHttpTransport::toHttpTransportResponse)
+                .whenComplete((response, throwable) -> requestDone.run()));
+    }
+
+    @Override
+    public CompletableFuture<HttpTransportStreamResponse> getStreamAsync(URI uri, Map<String, String> headers) {
+        HttpRequest request = buildRequest(uri, headers);
+
+        return getHostRequestLimiter(uri).submit(requestDone -> httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream())
+                .thenApply(response -> toHttpTransportStreamResponse(response, requestDone))
+                .whenComplete((response, throwable) -> {
+                    if (throwable != null)
+                        requestDone.run();
+                }));
+    }
+
+    //endregion
+
+
+    //region helper methods
+
+    private static HttpRequest buildRequest(URI uri, Map<String, String> headers) {
+        HttpRequest.Builder requestBuilder = HttpRequest.newBuilder(uri)
+                .timeout(REQUEST_TIMEOUT)
+                .header(ACCEPT_ENCODING_HEADER, GZIP_ENCODING)
+                .GET();
+        headers.forEach(requestBuilder::header);
+        return requestBuilder.build();
+    }
+
+    private HostRequestLimiter getHostRequestLimiter(URI uri) {
+        return hostRequestLimiters.computeIfAbsent(uri.getHost(), host -> new HostRequestLimiter(maxRequestsPerHost));
+    }
+
+    private static HttpTransportResponse toHttpTransportResponse(HttpResponse<byte[]> response) {
+        byte[] body = response.body();
+
+        String contentEncoding = response.headers().firstValue(CONTENT_ENCODING_HEADER).orElse("");
+        if (GZIP_ENCODING.equalsIgnoreCase(contentEncoding)) {
+            try (GZIPInputStream gzipInputStream = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                body = gzipInputStream.readAllBytes();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        Charset charset = getCharset(response.headers().firstValue(CONTENT_TYPE_HEADER).orElse(""));
+        return new HttpTransportResponse(response.statusCode(), response.headers().map(), new String(body, charset));
+    }
+
+    /**
+     * This method wraps the body of a response into a reader which decodes it while it is read.
+     *
+     * @param response    response whose body is being received
+     * @param requestDone action which ends the request (it runs when the body is closed)
+     * @return the response with its body reader
+     */
+    private static HttpTransportStreamResponse toHttpTransportStreamResponse(HttpResponse<InputStream> response,
+                                                                             Runnable requestDone) {
+        InputStream body = new FilterInputStream(response.body()) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    requestDone.run();
+                }
+            }
+        };
+
+        String contentEncoding = response.headers().firstValue(CONTENT_ENCODING_HEADER).orElse("");
+        if (GZIP_ENCODING.equalsIgnoreCase(contentEncoding)) {
+            try {
+                body = new GZIPInputStream(body);
+            } catch (IOException e) {
+                try {
+                    body.close();
+                } catch (IOException closeException) {
+                    e.addSuppressed(closeException);
+                }
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        Charset charset = getCharset(response.headers().firstValue(CONTENT_TYPE_HEADER).orElse(""));
+        return new HttpTransportStreamResponse(response.statusCode(), response.headers().map(),
+                new InputStreamReader(body, charset));
+    }
+
+    private static Charset getCharset(String contentType) {
+        int charsetIndex = contentType.toLowerCase().indexOf(CHARSET_PARAMETER);
+        if (charsetIndex < 0) return StandardCharsets.UTF_8;
+
+        String charsetName = contentType.substring(charsetIndex + CHARSET_PARAMETER.length()).split(";")[0].trim();
+        try {
+            return Charset.forName(charsetName.replace("\"", ""));
+        } catch (IllegalArgumentException e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+
+    //endregion
+
+
+    //region helper structures
+
+    /**
+     * This class limits the number of concurrent requests to a host. The excess requests wait in a queue,
+     * and each finished request starts the next waiting one. A request is given an action which ends it,
+     * so a request can end after its future completes (such as when its streamed body is closed).
+     */
+    private static class HostRequestLimiter {
+        private final int maxRequests;
+
+        private int runningRequestCount = 0;
+        private final Queue<Runnable> waitingRequests = new ArrayDeque<>();
+
+        public HostRequestLimiter(int maxRequests) {
+            this.maxRequests = maxRequests;
+        }
+
+        /**
+         * @param request request, which is given the action ending it (which must run once the request has ended)
+         * @param <T>     type of the response
+         * @return future of the response
+         */
+        public <T> CompletableFuture<T> submit(Function<Runnable, CompletableFuture<T>> request) {
+            CompletableFuture<T> result = new CompletableFuture<>();
+
+            Runnable startRequest = () -> {
+                AtomicBoolean ended = new AtomicBoolean();
+                Runnable requestDone = () -> {
+                    if (ended.compareAndSet(false, true))
+                        startNextRequest();
+                };
+
+                CompletableFuture<T> response;
+                try {
+                    response = request.apply(requestDone);
+                } catch (RuntimeException e) {
+                    requestDone.run();
+                    response = CompletableFuture.failedFuture(e);
+                }
+
+                response.whenComplete((value, throwable) -> {
+                    if (throwable != null)
+                        result.completeExceptionally(throwable);
+                    else
+                        result.complete(value);
+                });
+            };
+
+            boolean canStart;
+            synchronized (this) {
+                canStart = (runningRequestCount < maxRequests);
+                if (canStart)
+                    runningRequestCount++;
+                else
+                    waitingRequests.add(startRequest);
+            }
+
+            if (canStart)
+                startRequest.run();
+
+            return result;
+        }
+
+        private void startNextRequest() {
+            Runnable nextRequest;
+            synchronized (this) {
+                nextRequest = waitingRequests.poll();
+                if (nextRequest == null)
+                    runningRequestCount--;
+            }
+
+            if (nextRequest != null)
+                nextRequest.run();
+        }
+    }
+
+    //endregion
+}
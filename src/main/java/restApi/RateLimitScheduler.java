@@ -0,0 +1,285 @@
+package restApi;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class paces API requests by the rate limit headers of responses (as used by Github API v3).
+ * It is a token bucket whose refill rate spreads the remaining budget evenly until the budget resets.
+ * When the budget is exhausted, or when a response says the client is rate limited
+ * (primary or secondary rate limit), every request waits until the limit is over instead of failing.
+ * Once the reset time has passed, the full budget of a window is restored without waiting for a response,
+ * because no request would be sent to bring one while the budget is exhausted.
+ */
+public class RateLimitScheduler {
+    //region constant variables
+
+    private static final String RATE_LIMIT_LIMIT_HEADER = "X-RateLimit-Limit";
+    private static final String RATE_LIMIT_REMAINING_HEADER = "X-RateLimit-Remaining";
+    private static final String RATE_LIMIT_RESET_HEADER = "X-RateLimit-Reset";
+    private static final String RETRY_AFTER_HEADER = "Retry-After";
+
+    private static final String RATE_LIMIT_MESSAGE = "rate limit";
+
+    private static final int DEFAULT_MAX_BURST_REQUEST_COUNT = 10;
+    private static final long SECONDARY_RATE_LIMIT_WAIT_MILLIS = 60_000L;
+    private static final long RESET_MARGIN_MILLIS = 1_000L;
+    private static final long MIN_RESET_WINDOW_MILLIS = 1_000L;
+    private static final long RATE_LIMIT_WINDOW_MILLIS = 3_600_000L;  // the budget of Github API v3 resets every hour
+
+    //endregion
+
+
+    //region variables
+
+    private final int maxBurstRequestCount;
+
+    private double tokenCount;
+    private double tokensPerMillis = Double.POSITIVE_INFINITY;  // unknown until the first response
+    private long lastRefillTimeMillis = System.currentTimeMillis();
+
+    private long pausedUntilTimeMillis = 0L;
+
+    private long limit = -1L;
+    private long remaining = -1L;
+    private long resetTimeMillis = 0L;
+
+    private long rateLimitedResponseCount = 0L;
+
+    //endregion
+
+
+    //region constructors
+
+    /**
+     * @param maxBurstRequestCount maximum number of requests which can be sent at once without pacing
+     */
+    public RateLimitScheduler(int maxBurstRequestCount) {
+        this.maxBurstRequestCount = maxBurstRequestCount;
+        this.tokenCount = maxBurstRequestCount;
+    }
+
+    public RateLimitScheduler() {
+        this(DEFAULT_MAX_BURST_REQUEST_COUNT);
+    }
+
+    //endregion
+
+
+    //region metric getter methods
+
+    /**
+     * This method returns the total request budget of the current rate limit window.
+     *
+     * @return the total budget, or -1 if it is not known yet
+     */
+    public synchronized long getLimit() {
+        return limit;
+    }
+
+    /**
+     * This method returns the remaining request budget of the current rate limit window.
+     *
+     * @return the remaining budget, or -1 if it is not known yet
+     */
+    public synchronized long getRemaining() {
+        return remaining;
+    }
+
+    public synchronized Instant getResetTime() {
+        return Instant.ofEpochMilli(resetTimeMillis);
+    }
+
+    public synchronized long getRateLimitedResponseCount() {
+        return rateLimitedResponseCount;
+    }
+
+    /**
+     * This method returns the time when a request can be sent without waiting for a pause or a budget reset.
+     *
+     * @return the time in milliseconds since the epoch (a past time means a request can be sent now)
+     */
+    public synchronized long getAvailableTimeMillis() {
+        if ((remaining == 0L) && (resetTimeMillis > System.currentTimeMillis()))
+            return Math.max(pausedUntilTimeMillis, resetTimeMillis + RESET_MARGIN_MILLIS);
+
+        return pausedUntilTimeMillis;
+    }
+
+    //endregion
+
+
+    //region methods
+
+    /**
+     * This method takes a token for a request, and returns a future which completes when the request can be sent.
+     * No thread is blocked while waiting.
+     *
+     * @return future which completes when the request can be sent
+     */
+    public CompletableFuture<Void> acquire() {
+        long delayMillis = reserveToken();
+        if (delayMillis <= 0L)
+            return CompletableFuture.completedFuture(null);
+
+        return CompletableFuture.runAsync(() -> {
+        }, CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * This method updates the budget from the rate limit headers of a response,
+     * and pauses the requests if the response says the client is rate limited.
+     *
+     * @param response response of a request
+     * @return true if the request has been rejected by the rate limit (so it should be sent again)
+     */
+    public synchronized boolean onResponse(HttpTransportResponse response) {
+        long now = System.currentTimeMillis();
+
+        String limitHeader = response.getFirstHeader(RATE_LIMIT_LIMIT_HEADER);
+        String remainingHeader = response.getFirstHeader(RATE_LIMIT_REMAINING_HEADER);
+        String resetHeader = response.getFirstHeader(RATE_LIMIT_RESET_HEADER);
+        if ((limitHeader != null) && (remainingHeader != null) && (resetHeader != null)) {
+            try {
+                limit = Long.parseLong(limitHeader.trim());
+                remaining = Long.parseLong(remainingHeader.trim());
+                resetTimeMillis = Long.parseLong(resetHeader.trim()) * 1000L;
+
+                refill(now);
+                tokensPerMillis = remaining / (double) Math.max(MIN_RESET_WINDOW_MILLIS, resetTimeMillis - now);
+                tokenCount = Math.min(tokenCount, remaining);
+            } catch (NumberFormatException ignored) {
+                // malformed headers are ignored, keeping the last known budget
+            }
+        }
+
+        if (!isRateLimited(response))
+            return false;
+
+        rateLimitedResponseCount++;
+
+        long waitUntilTimeMillis;
+        String retryAfterHeader = response.getFirstHeader(RETRY_AFTER_HEADER);
+        if (retryAfterHeader != null) {
+            waitUntilTimeMillis = saturatedAdd(now, parseSeconds(retryAfterHeader) * 1000L);
+        } else if ((remaining == 0L) && (resetTimeMillis > now)) {
+            waitUntilTimeMillis = resetTimeMillis + RESET_MARGIN_MILLIS;
+        } else {
+            waitUntilTimeMillis = now + SECONDARY_RATE_LIMIT_WAIT_MILLIS;
+        }
+
+        if (waitUntilTimeMillis > pausedUntilTimeMillis) {
+            pausedUntilTimeMillis = waitUntilTimeMillis;
+            System.out.println("API rate limit has been reached. Waiting until " + Instant.ofEpochMilli(waitUntilTimeMillis) + "...");
+        }
+
+        return true;
+    }
+
+    @Override
+    public synchronized String toString() {
+        if (limit < 0L)
+            return "unknown";
+
+        return String.format("remaining: %d of %d, resets at: %s, rate limited responses: %d",
+                remaining, limit, Instant.ofEpochMilli(resetTimeMillis), rateLimitedResponseCount);
+    }
+
+    //endregion
+
+
+    //region helper methods
+
+    /**
+     * This method takes a token (possibly in advance) and calculates how long the request should wait for it.
+     *
+     * @return delay of the request in milliseconds
+     */
+    private synchronized long reserveToken() {
+        long now = System.currentTimeMillis();
+        restoreBudgetIfReset(now);
+
+        if ((remaining == 0L) && (resetTimeMillis > now) && (pausedUntilTimeMillis < resetTimeMillis))
+            pausedUntilTimeMillis = resetTimeMillis + RESET_MARGIN_MILLIS;  // the budget is exhausted
+
+        // after a pause, the requests are spread again by the refill rate (of the next window if the budget resets meanwhile)
+        long startTimeMillis = Math.max(now, pausedUntilTimeMillis);
+        restoreBudgetIfReset(startTimeMillis);
+        refill(startTimeMillis);
+
+        long delayMillis = saturatedAdd(startTimeMillis - now, getTokenWaitMillis());
+        tokenCount--;
+
+        if (remaining > 0L)
+            remaining--;
+
+        return delayMillis;
+    }
+
+    /**
+     * This method restores the full budget and its refill rate if the rate limit window has reset by a given time.
+     * The next reset time is estimated by the window length until a response tells the real one.
+     *
+     * @param timeMillis time in milliseconds since the epoch
+     */
+    private void restoreBudgetIfReset(long timeMillis) {
+        if ((limit < 0L) || (resetTimeMillis == 0L) || (timeMillis < resetTimeMillis)) return;
+
+        long lastResetTimeMillis = resetTimeMillis;
+        resetTimeMillis += ((timeMillis - resetTimeMillis) / RATE_LIMIT_WINDOW_MILLIS + 1) * RATE_LIMIT_WINDOW_MILLIS;
+
+        remaining = limit;
+        tokensPerMillis = limit / (double) RATE_LIMIT_WINDOW_MILLIS;
+        tokenCount = Math.min(maxBurstRequestCount, limit);
+        lastRefillTimeMillis = Math.max(lastRefillTimeMillis, lastResetTimeMillis);
+    }
+
+    private void refill(long now) {
+        if (now <= lastRefillTimeMillis) return;
+
+        tokenCount = Math.min(maxBurstRequestCount, tokenCount + (now - lastRefillTimeMillis) * tokensPerMillis);
+        lastRefillTimeMillis = now;
+    }
+
+    /**
+     * This method calculates how long a request waits for a token at the refill rate.
+     * A rate of zero (an exhausted budget) is handled by pausing until the reset, so it never waits forever here.
+     *
+     * @return wait time in milliseconds
+     */
+    private long getTokenWaitMillis() {
+        if ((tokenCount >= 1.0) || (tokensPerMillis == Double.POSITIVE_INFINITY)) return 0L;
+
+        if (!(tokensPerMillis > 0.0))
+            return SECONDARY_RATE_LIMIT_WAIT_MILLIS;  // the budget is exhausted without a known reset time
+
+        return (long) Math.ceil((1.0 - tokenCount) / tokensPerMillis);  // the conversion saturates at Long.MAX_VALUE
+    }
+
+    private boolean isRateLimited(HttpTransportResponse response) {
+        if (response.statusCode == 429)
+            return true;
+
+        if (response.statusCode != 403)
+            return false;
+
+        return (response.getFirstHeader(RETRY_AFTER_HEADER) != null) || (remaining == 0L) ||
+                ((response.body != null) && response.body.toLowerCase().contains(RATE_LIMIT_MESSAGE));
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        return (((a ^ sum) & (b ^ sum)) < 0L) ? Long.MAX_VALUE : sum;  // both are never negative here
+    }
+
+    private static long parseSeconds(String seconds) {
+        try {
+            return Math.min(Long.MAX_VALUE / 1000L, Math.max(0L, Long.parseLong(seconds.trim())));
+        } catch (NumberFormatException e) {
+            return SECONDARY_RATE_LIMIT_WAIT_MILLIS / 1000L;
+        }
+    }
+
+    //endregion
+}
@@ -0,0 +1,148 @@
+package restApi;
+
+import cacheUtil.AtomicFiles;
+import cacheUtil.ContentDigest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class persists API responses with their ETags on disk, so a same request can be sent conditionally
+ * (a "304 Not Modified" response does not cost any rate limit budget of Github API v3),
+ * or not be sent at all if its resource is immutable.
+ */
+public class ResponseCache {
+    //region variables
+
+    private final File directory;
+
+    private final AtomicLong immutableHitCount = new AtomicLong();
+    private final AtomicLong notModifiedCount = new AtomicLong();
+    private final AtomicLong storedCount = new AtomicLong();
+
+    //endregion
+
+
+    //region constructors
+
+    public ResponseCache(File directory) {
+        this.directory = directory;
+    }
+
+    //endregion
+
+
+    //region stats getter methods
+
+    /**
+     * This method returns how many immutable responses have been served without any request.
+     *
+     * @return the number of immutable responses served from the cache
+     */
+    public long getImmutableHitCount() {
+        return immutableHitCount.get();
+    }
+
+    /**
+     * This method returns how many conditional requests have been answered by "304 Not Modified".
+     *
+     * @return the number of not modified responses
+     */
+    public long getNotModifiedCount() {
+        return notModifiedCount.get();
+    }
+
+    public long getStoredCount() {
+        return storedCount.get();
+    }
+
+    //endregion
+
+
+    //region methods
+
+    /**
+     * This method returns the cached response of a URI.
+     *
+     * @param uri URI of the request
+     * @return the cached response, or null if the response is not cached
+     * @throws IOException if any error occurs while reading
+     */
+    public CachedResponse get(URI uri) throws IOException {
+        Path responsePath = getResponsePath(uri);
+        if (!Files.isRegularFile(responsePath)) return null;
+
+        String content = new String(Files.readAllBytes(responsePath), StandardCharsets.UTF_8);
+        int eTagEndIndex = content.indexOf('\n');
+        if (eTagEndIndex < 0) return null;
+
+        return new CachedResponse(content.substring(0, eTagEndIndex), content.substring(eTagEndIndex + 1));
+    }
+
+    /**
+     * This method stores the response of a URI.
+     *
+     * @param uri  URI of the request
+     * @param eTag ETag of the response (here, empty means no ETag)
+     * @param body body of the response
+     * @throws IOException if any error occurs while writing
+     */
+    public void put(URI uri, String eTag, String body) throws IOException {
+        AtomicFiles.write(getResponsePath(uri), (eTag + "\n" + body).getBytes(StandardCharsets.UTF_8));
+        storedCount.incrementAndGet();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("immutable hits: %d, not modified: %d, stored: %d",
+                getImmutableHitCount(), getNotModifiedCount(), getStoredCount());
+    }
+
+    //endregion
+
+
+    //region package-private methods for counting
+
+    void countImmutableHit() {
+        immutableHitCount.incrementAndGet();
+    }
+
+    void countNotModified() {
+        notModifiedCount.incrementAndGet();
+    }
+
+    //endregion
+
+
+    //region helper methods
+
+    private Path getResponsePath(URI uri) {
+        String uriDigest = ContentDigest.getHexDigest(uri.toString());
+        return directory.toPath().resolve(uriDigest.substring(0, 2)).resolve(uriDigest.substring(2));
+    }
+
+    //endregion
+
+
+    //region helper structures
+
+    /**
+     * This class is the structure of a cached response.
+     */
+    public static class CachedResponse {
+        public final String eTag;
+        public final String body;
+
+        public CachedResponse(String eTag, String body) {
+            this.eTag = eTag;
+            this.body = body;
+        }
+    }
+
+    //endregion
+}
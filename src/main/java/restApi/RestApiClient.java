@@ -2,16 +2,25 @@ package restApi;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonParser;
-import org.glassfish.jersey.client.authentication.HttpAuthenticationFeature;
-import retryUtil.RetryMethod;
+import com.google.gson.stream.JsonReader;
+import jsonUtil.JsonValueReader;
+import retryUtil.AsyncRetryMethod;
+import threadUtil.Futures;
 
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.ClientBuilder;
-import javax.ws.rs.client.Invocation;
 import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
-import javax.ws.rs.core.Response;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.net.URI;
+import java.util.HashMap;
 import java.util.InvalidPropertiesFormatException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * This class is responsible for handling REST APIs as a client.
@@ -21,6 +30,9 @@ public class RestApiClient {
 
     private static final int DEFAULT_MAX_REQUEST_RETRY_TIME = 3;
 
+    private static final String ETAG_HEADER = "ETag";
+    private static final String IF_NONE_MATCH_HEADER = "If-None-Match";
+
     //endregion
 
 
@@ -31,6 +43,11 @@ public class RestApiClient {
 
     private final WebTarget rootWebTarget;
 
+    private final HttpTransport httpTransport;
+    private final Map<String, String> requestHeaders = new HashMap<>();
+
+    private final TokenPool tokenPool;
+
     //endregion
 
 
@@ -38,20 +55,43 @@ public class RestApiClient {
 
     private int maxRetryTime = DEFAULT_MAX_REQUEST_RETRY_TIME;
 
+    private ResponseCache responseCache = null;
+
     //endregion
 
 
     //region constructors
 
-    public RestApiClient(String targetUrl, String username, String password) {
+    /**
+     * @param targetUrl     root URL of the REST APIs
+     * @param tokenPool     pool of the credentials which the requests are spread across
+     * @param httpTransport transport which sends the requests
+     */
+    public RestApiClient(String targetUrl, TokenPool tokenPool, HttpTransport httpTransport) {
         this.targetUrl = targetUrl;
 
+        // the client is only used for building the URIs of requests
         this.client = ClientBuilder.newBuilder().build();
-        if (!username.isEmpty() && !password.isEmpty()) {
-            client.register(HttpAuthenticationFeature.basic(username, password));
-        }
-
         this.rootWebTarget = client.target(targetUrl);
+
+        this.httpTransport = httpTransport;
+        this.tokenPool = tokenPool;
+
+        requestHeaders.put(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON);
+    }
+
+    /**
+     * @param targetUrl     root URL of the REST APIs
+     * @param username      username for basic authentication (here, empty means no authentication)
+     * @param password      password or token for basic authentication
+     * @param httpTransport transport which sends the requests
+     */
+    public RestApiClient(String targetUrl, String username, String password, HttpTransport httpTransport) {
+        this(targetUrl, TokenPool.ofCredentials(username, password), httpTransport);
+    }
+
+    public RestApiClient(String targetUrl, String username, String password) {
+        this(targetUrl, username, password, new JavaHttpTransport());
     }
 
     public RestApiClient(String targetUrl) {
@@ -75,6 +115,14 @@ public class RestApiClient {
         return rootWebTarget;
     }
 
+    public HttpTransport getHttpTransport() {
+        return httpTransport;
+    }
+
+    public TokenPool getTokenPool() {
+        return tokenPool;
+    }
+
     //endregion
 
 
@@ -91,20 +139,121 @@ public class RestApiClient {
     //endregion
 
 
+    //region responseCache getter and setter
+
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    /**
+     * This method sets the cache of responses. With the cache, requests are sent conditionally by ETags,
+     * and the responses of immutable resources are served from the cache without any request.
+     *
+     * @param responseCache cache of responses (here, null means no cache)
+     */
+    public void setResponseCache(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    //endregion
+
+
     //region getResponse methods
 
     public JsonElement getJsonResponse(WebTarget webTarget) throws Exception {
-        return new RetryMethod<JsonElement>(maxRetryTime) {
-            @Override
-            public JsonElement doTask() throws Exception {
-                Invocation.Builder invocationBuilder = webTarget.request(MediaType.APPLICATION_JSON);
-                Response response = invocationBuilder.get();
+        return getJsonResponse(webTarget, false);
+    }
+
+    /**
+     * @param webTarget target of the request
+     * @param immutable true if the resource never changes (such as a resource addressed by a commit SHA value)
+     * @return the JSON response
+     * @throws Exception if any error occurs
+     */
+    public JsonElement getJsonResponse(WebTarget webTarget, boolean immutable) throws Exception {
+        return Futures.getResult(getJsonResponseAsync(webTarget, immutable));
+    }
+
+    public CompletableFuture<JsonElement> getJsonResponseAsync(WebTarget webTarget) {
+        return getJsonResponseAsync(webTarget, false);
+    }
+
+    /**
+     * @param webTarget target of the request
+     * @param immutable true if the resource never changes (such as a resource addressed by a commit SHA value)
+     * @return future of the JSON response
+     */
+    public CompletableFuture<JsonElement> getJsonResponseAsync(WebTarget webTarget, boolean immutable) {
+        return getResponseAsync(webTarget, immutable, jsonReader -> new JsonParser().parse(jsonReader));
+    }
+
+    /**
+     * @param webTarget       target of the request
+     * @param immutable       true if the resource never changes (such as a resource addressed by a commit SHA value)
+     * @param jsonValueReader reader of the needed fields of the JSON response
+     * @param <T>             type of the value read from the response
+     * @return the value read from the response
+     * @throws Exception if any error occurs
+     */
+    public <T> T getResponse(WebTarget webTarget, boolean immutable, JsonValueReader<T> jsonValueReader) throws Exception {
+        return Futures.getResult(getResponseAsync(webTarget, immutable, jsonValueReader));
+    }
+
+    /**
+     * This method reads a JSON response as a stream, so only the fields needed by the reader are deserialized,
+     * and the body is parsed while it is received instead of being held in memory as a whole.
+     * With a response cache, the body is read as a whole, because the cache stores it.
+     *
+     * @param webTarget       target of the request
+     * @param immutable       true if the resource never changes (such as a resource addressed by a commit SHA value)
+     * @param jsonValueReader reader of the needed fields of the JSON response
+     * @param <T>             type of the value read from the response
+     * @return future of the value read from the response
+     */
+    public <T> CompletableFuture<T> getResponseAsync(WebTarget webTarget, boolean immutable, JsonValueReader<T> jsonValueReader) {
+        final URI uri = webTarget.getUri();
+
+        final ResponseCache.CachedResponse cachedResponse = getCachedResponse(uri);
+        if ((cachedResponse != null) && immutable) {
+            responseCache.countImmutableHit();
+            try {
+                return CompletableFuture.completedFuture(readJson(cachedResponse.body, jsonValueReader));
+            } catch (IOException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
 
-                if (response.getStatus() != 200)
-                    throw new InvalidPropertiesFormatException(getResponseExceptionMessage(response));
+        final Map<String, String> headers;
+        if ((cachedResponse != null) && !cachedResponse.eTag.isEmpty()) {
+            headers = new HashMap<>(requestHeaders);
+            headers.put(IF_NONE_MATCH_HEADER, cachedResponse.eTag);
+        } else {
+            headers = requestHeaders;
+        }
 
-                String jsonResponse = response.readEntity(String.class);
-                return new JsonParser().parse(jsonResponse);
+        return new AsyncRetryMethod<T>(maxRetryTime) {
+            @Override
+            public CompletableFuture<T> doTask() {
+                return getScheduledResponseAsync(uri, headers).thenApply(response -> {
+                    try (HttpTransportStreamResponse streamResponse = response) {
+                        if ((streamResponse.statusCode == 304) && (cachedResponse != null)) {
+                            responseCache.countNotModified();
+                            return readJson(cachedResponse.body, jsonValueReader);
+                        }
+
+                        if (streamResponse.statusCode != 200)
+                            throw new InvalidPropertiesFormatException(getResponseExceptionMessage(streamResponse));
+
+                        if (responseCache == null)
+                            return readJson(streamResponse.bodyReader, jsonValueReader);
+
+                        HttpTransportStreamResponse readResponse = streamResponse.readBody();
+                        putCachedResponse(uri, readResponse);
+                        return readJson(readResponse.body, jsonValueReader);
+                    } catch (IOException e) {
+                        throw new CompletionException(e);
+                    }
+                });
             }
         }.doTaskWithRetry();
     }
@@ -114,8 +263,82 @@ public class RestApiClient {
 
     //region helper methods
 
-    private static String getResponseExceptionMessage(Response response) {
-        return Integer.toString(response.getStatus()) + ":\n" + response.readEntity(String.class);
+    /**
+     * This method sends a request with a credential selected from the token pool,
+     * when the rate limit scheduler of the credential allows it.
+     * If the request is rejected by the rate limit, it is sent again with the next available credential.
+     * The body of an error response is read before the rate limit is checked, because its message may tell the limit.
+     *
+     * @param uri     URI of the request
+     * @param headers headers of the request
+     * @return future of the response, whose body reader must be closed
+     */
+    private CompletableFuture<HttpTransportStreamResponse> getScheduledResponseAsync(URI uri, Map<String, String> headers) {
+        final ApiToken apiToken = tokenPool.selectApiToken();
+        final RateLimitScheduler rateLimitScheduler = apiToken.getRateLimitScheduler();
+
+        final Map<String, String> authorizedHeaders;
+        if (apiToken.getAuthorization() != null) {
+            authorizedHeaders = new HashMap<>(headers);
+            authorizedHeaders.put(HttpHeaders.AUTHORIZATION, apiToken.getAuthorization());
+        } else {
+            authorizedHeaders = headers;
+        }
+
+        return rateLimitScheduler.acquire()
+                .thenCompose(ignored -> {
+                    apiToken.countRequest();
+                    return httpTransport.getStreamAsync(uri, authorizedHeaders);
+                })
+                .thenApply(RestApiClient::readErrorBody)
+                .thenCompose(response -> rateLimitScheduler.onResponse(response) ?
+                        getScheduledResponseAsync(uri, headers) : CompletableFuture.completedFuture(response));
+    }
+
+    private ResponseCache.CachedResponse getCachedResponse(URI uri) {
+        if (responseCache == null) return null;
+
+        try {
+            return responseCache.get(uri);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;  // a broken cache entry is fetched again
+        }
+    }
+
+    private static HttpTransportStreamResponse readErrorBody(HttpTransportStreamResponse response) {
+        if ((response.statusCode == 200) || (response.statusCode == 304)) return response;
+
+        try {
+            return response.readBody();
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private void putCachedResponse(URI uri, HttpTransportResponse response) {
+        if (responseCache == null) return;
+
+        String eTag = response.getFirstHeader(ETAG_HEADER);
+        try {
+            responseCache.put(uri, (eTag != null) ? eTag : "", response.body);
+        } catch (IOException e) {
+            e.printStackTrace();  // the response is still usable without being cached
+        }
+    }
+
+    private static <T> T readJson(String json, JsonValueReader<T> jsonValueReader) throws IOException {
+        return readJson(new StringReader(json), jsonValueReader);
+    }
+
+    private static <T> T readJson(Reader reader, JsonValueReader<T> jsonValueReader) throws IOException {
+        try (JsonReader jsonReader = new JsonReader(reader)) {
+            return jsonValueReader.read(jsonReader);
+        }
+    }
+
+    private static String getResponseExceptionMessage(HttpTransportResponse response) {
+        return Integer.toString(response.statusCode) + ":\n" + response.body;
     }
 
     //endregion
@@ -0,0 +1,189 @@
+package restApi;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class spreads API requests across a pool of credentials. Each request uses the available credential
+ * with the largest remaining budget (in round-robin order among equals), and a credential whose budget is exhausted
+ * or which is rate limited drops out until its limit is over.
+ */
+public class TokenPool {
+    //region constant variables
+
+    private static final String ENVIRONMENT_VARIABLE_PREFIX = "env:";
+    private static final String TOKEN_SEPARATOR_REGEX = "[,\\s]+";
+    private static final String COMMENT_PREFIX = "#";
+    private static final char USERNAME_SEPARATOR = ':';
+
+    //endregion
+
+
+    //region variables
+
+    private final List<ApiToken> apiTokens;
+
+    private int nextApiTokenIndex = 0;
+
+    //endregion
+
+
+    //region constructors
+
+    /**
+     * @param apiTokens credentials of the pool (here, empty means a single anonymous credential)
+     */
+    public TokenPool(List<ApiToken> apiTokens) {
+        this.apiTokens = apiTokens.isEmpty() ?
+                Collections.singletonList(ApiToken.ofAnonymous()) : new ArrayList<>(apiTokens);
+    }
+
+    //endregion
+
+
+    //region static factory methods
+
+    /**
+     * This method creates a pool of a single credential for basic authentication.
+     *
+     * @param username username (here, empty means no authentication)
+     * @param password password or token
+     * @return the pool
+     */
+    public static TokenPool ofCredentials(String username, String password) {
+        List<ApiToken> apiTokens = new ArrayList<>(1);
+        if (!username.isEmpty() && !password.isEmpty())
+            apiTokens.add(ApiToken.ofBasic(username, password));
+
+        return new TokenPool(apiTokens);
+    }
+
+    /**
+     * This method reads tokens from a file or from an environment variable. The tokens are separated by
+     * new lines, commas or spaces. A token may be written as {@code username:password} for basic authentication.
+     * Lines starting with {@code #} are ignored.
+     *
+     * @param tokenSource path of a token file, or {@code env:NAME} for the environment variable NAME
+     * @return list of the credentials
+     * @throws IOException if the file cannot be read or the environment variable is not set
+     */
+    public static List<ApiToken> readApiTokens(String tokenSource) throws IOException {
+        List<String> lines;
+        if (tokenSource.startsWith(ENVIRONMENT_VARIABLE_PREFIX)) {
+            String variableName = tokenSource.substring(ENVIRONMENT_VARIABLE_PREFIX.length());
+            String variableValue = System.getenv(variableName);
+            if (variableValue == null)
+                throw new IOException("Environment variable is not set: " + variableName);
+
+            lines = Collections.singletonList(variableValue);
+        } else {
+            lines = Files.readAllLines(new File(tokenSource).toPath(), StandardCharsets.UTF_8);
+        }
+
+        List<ApiToken> apiTokens = new ArrayList<>();
+        for (String line : lines) {
+            if (line.trim().startsWith(COMMENT_PREFIX)) continue;
+
+            for (String token : line.trim().split(TOKEN_SEPARATOR_REGEX)) {
+                if (token.isEmpty()) continue;
+
+                int usernameSeparatorIndex = token.indexOf(USERNAME_SEPARATOR);
+                apiTokens.add((usernameSeparatorIndex > 0) ?
+                        ApiToken.ofBasic(token.substring(0, usernameSeparatorIndex), token.substring(usernameSeparatorIndex + 1)) :
+                        ApiToken.ofToken(token));
+            }
+        }
+
+        return apiTokens;
+    }
+
+    //endregion
+
+
+    //region getter methods
+
+    public List<ApiToken> getApiTokens() {
+        return Collections.unmodifiableList(apiTokens);
+    }
+
+    /**
+     * This method returns the total remaining budget of the credentials whose budgets are known.
+     *
+     * @return the total remaining budget
+     */
+    public long getTotalRemaining() {
+        long totalRemaining = 0L;
+        for (ApiToken apiToken : apiTokens) {
+            totalRemaining += Math.max(0L, apiToken.getRateLimitScheduler().getRemaining());
+        }
+
+        return totalRemaining;
+    }
+
+    //endregion
+
+
+    //region methods
+
+    /**
+     * This method selects the credential for the next request. It prefers the available credential with
+     * the largest remaining budget (an unknown budget is preferred, so that it becomes known).
+     * If no credential is available, it selects the credential which becomes available first.
+     *
+     * @return the credential for the next request
+     */
+    public synchronized ApiToken selectApiToken() {
+        long now = System.currentTimeMillis();
+
+        ApiToken selectedApiToken = null;
+        long selectedBudget = -1L;
+        int selectedIndex = -1;
+        for (int i = 0; i < apiTokens.size(); i++) {
+            int index = (nextApiTokenIndex + i) % apiTokens.size();
+            RateLimitScheduler rateLimitScheduler = apiTokens.get(index).getRateLimitScheduler();
+            if (rateLimitScheduler.getAvailableTimeMillis() > now) continue;
+
+            long remaining = rateLimitScheduler.getRemaining();
+            long budget = (remaining < 0L) ? Long.MAX_VALUE : remaining;
+            if (budget > selectedBudget) {
+                selectedApiToken = apiTokens.get(index);
+                selectedBudget = budget;
+                selectedIndex = index;
+            }
+        }
+
+        if (selectedApiToken == null) {
+            long earliestAvailableTimeMillis = Long.MAX_VALUE;
+            for (int i = 0; i < apiTokens.size(); i++) {
+                long availableTimeMillis = apiTokens.get(i).getRateLimitScheduler().getAvailableTimeMillis();
+                if (availableTimeMillis < earliestAvailableTimeMillis) {
+                    earliestAvailableTimeMillis = availableTimeMillis;
+                    selectedApiToken = apiTokens.get(i);
+                    selectedIndex = i;
+                }
+            }
+        }
+
+        nextApiTokenIndex = (selectedIndex + 1) % apiTokens.size();
+        return selectedApiToken;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder();
+        for (ApiToken apiToken : apiTokens) {
+            if (stringBuilder.length() > 0)
+                stringBuilder.append("\n    ");
+            stringBuilder.append(apiToken);
+        }
+
+        return stringBuilder.toString();
+    }
+
+    //endregion
+}
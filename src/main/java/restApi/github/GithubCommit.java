@@ -0,0 +1,195 @@
+package restApi.github;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class is a structure for storing the fields of a Github commit needed for analysis.
+ * It is read from a JSON stream, so the other fields of a (possibly huge) commit are never kept in memory.
+ */
+public class GithubCommit {
+    //region constant variables
+
+    private static final String GITHUB_COMMIT_SHA = "sha";
+    private static final String GITHUB_COMMIT_PARENTS = "parents";
+    private static final String GITHUB_COMMIT_FILES = "files";
+    private static final String GITHUB_COMMIT_DETAILS = "commit";
+    private static final String GITHUB_COMMIT_COMMITTER = "committer";
+    private static final String GITHUB_COMMIT_DATE = "date";
+
+    //endregion
+
+
+    //region variables
+
+    public final String sha;
+    public final List<String> parentShas;
+
+    /**
+     * committer date in ISO 8601 format (here, empty means unknown)
+     */
+    public final String date;
+
+    /**
+     * changed files (empty if the payload does not list the files, such as in a list of commits)
+     */
+    public final List<GithubCommitFile> files;
+
+    //endregion
+
+
+    //region constructors
+
+    public GithubCommit(String sha, List<String> parentShas, String date, List<GithubCommitFile> files) {
+        this.sha = sha;
+        this.parentShas = parentShas;
+        this.date = date;
+        this.files = files;
+    }
+
+    //endregion
+
+
+    //region methods
+
+    /**
+     * This method returns the SHA value of the first parent commit.
+     *
+     * @return the SHA value of the first parent commit, or null if the commit is a root commit
+     */
+    public String getPreviousCommitSha() {
+        if (parentShas.isEmpty()) return null;
+
+        return parentShas.get(0);
+    }
+
+    //endregion
+
+
+    //region static methods for reading
+
+    /**
+     * This method reads a commit object, skipping the fields which are not needed.
+     *
+     * @param jsonReader reader positioned before the commit object
+     * @return the commit
+     * @throws IOException if the JSON is malformed or cannot be read
+     */
+    public static GithubCommit read(JsonReader jsonReader) throws IOException {
+        String sha = null;
+        List<String> parentShas = Collections.emptyList();
+        String date = "";
+        List<GithubCommitFile> files = Collections.emptyList();
+
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            String name = jsonReader.nextName();
+            if (GITHUB_COMMIT_SHA.equals(name)) {
+                sha = jsonReader.nextString();
+            } else if (GITHUB_COMMIT_PARENTS.equals(name)) {
+                parentShas = readParentShas(jsonReader);
+            } else if (GITHUB_COMMIT_DETAILS.equals(name)) {
+                date = readCommitterDate(jsonReader);
+            } else if (GITHUB_COMMIT_FILES.equals(name)) {
+                files = GithubCommitFile.readList(jsonReader, true);
+            } else {
+                jsonReader.skipValue();
+            }
+        }
+        jsonReader.endObject();
+
+        return new GithubCommit(sha, parentShas, date, files);
+    }
+
+    public static List<GithubCommit> readList(JsonReader jsonReader) throws IOException {
+        List<GithubCommit> commits = new ArrayList<>();
+
+        jsonReader.beginArray();
+        while (jsonReader.hasNext()) {
+            commits.add(read(jsonReader));
+        }
+        jsonReader.endArray();
+
+        return commits;
+    }
+
+    /**
+     * This method reads only the changed files of an object (such as a comparison of two commits),
+     * without their patches.
+     *
+     * @param jsonReader reader positioned before the object
+     * @return the changed files
+     * @throws IOException if the JSON is malformed or cannot be read
+     */
+    public static List<GithubCommitFile> readFiles(JsonReader jsonReader) throws IOException {
+        List<GithubCommitFile> files = Collections.emptyList();
+
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            if (GITHUB_COMMIT_FILES.equals(jsonReader.nextName())) {
+                files = GithubCommitFile.readList(jsonReader, false);
+            } else {
+                jsonReader.skipValue();
+            }
+        }
+        jsonReader.endObject();
+
+        return files;
+    }
+
+    //endregion
+
+
+    //region helper methods
+
+    private static List<String> readParentShas(JsonReader jsonReader) throws IOException {
+        List<String> parentShas = new ArrayList<>(1);
+
+        jsonReader.beginArray();
+        while (jsonReader.hasNext()) {
+            jsonReader.beginObject();
+            while (jsonReader.hasNext()) {
+                if (GITHUB_COMMIT_SHA.equals(jsonReader.nextName())) {
+                    parentShas.add(jsonReader.nextString());
+                } else {
+                    jsonReader.skipValue();
+                }
+            }
+            jsonReader.endObject();
+        }
+        jsonReader.endArray();
+
+        return parentShas;
+    }
+
+    private static String readCommitterDate(JsonReader jsonReader) throws IOException {
+        String date = "";
+
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            if (GITHUB_COMMIT_COMMITTER.equals(jsonReader.nextName()) && (jsonReader.peek() == JsonToken.BEGIN_OBJECT)) {
+                jsonReader.beginObject();
+                while (jsonReader.hasNext()) {
+                    if (GITHUB_COMMIT_DATE.equals(jsonReader.nextName()) && (jsonReader.peek() == JsonToken.STRING)) {
+                        date = jsonReader.nextString();
+                    } else {
+                        jsonReader.skipValue();
+                    }
+                }
+                jsonReader.endObject();
+            } else {
+                jsonReader.skipValue();
+            }
+        }
+        jsonReader.endObject();
+
+        return date;
+    }
+
+    //endregion
+}
@@ -0,0 +1,111 @@
+package restApi.github;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class is a structure for storing the fields of a changed file of a Github commit needed for analysis.
+ */
+public class GithubCommitFile {
+    //region constant variables
+
+    private static final String GITHUB_COMMIT_FILE_NAME = "filename";
+    private static final String GITHUB_COMMIT_FILE_STATUS = "status";
+    private static final String GITHUB_COMMIT_FILE_PATCH = "patch";
+
+    private static final String MODIFIED_STATUS = "modified";
+    private static final String JAVA_FILE_EXTENSION = ".java";
+
+    //endregion
+
+
+    //region variables
+
+    public final String fileName;
+    public final String status;
+    public final String patch;  // null if it is not read (or not a modified Java file), or if Github omits it (such as for a large diff)
+
+    //endregion
+
+
+    //region constructors
+
+    public GithubCommitFile(String fileName, String status, String patch) {
+        this.fileName = fileName;
+        this.status = status;
+        this.patch = patch;
+    }
+
+    //endregion
+
+
+    //region static methods for reading
+
+    /**
+     * This method reads a file object, skipping the fields which are not needed.
+     * Only the patch of a modified Java file is kept, because no other patch is ever checked.
+     *
+     * @param jsonReader  reader positioned before the file object
+     * @param patchNeeded true if the patch (unified diff hunks) of a modified Java file is read as well
+     * @return the file
+     * @throws IOException if the JSON is malformed or cannot be read
+     */
+    public static GithubCommitFile read(JsonReader jsonReader, boolean patchNeeded) throws IOException {
+        String fileName = null;
+        String status = null;
+        String patch = null;
+
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            String name = jsonReader.nextName();
+            if (GITHUB_COMMIT_FILE_NAME.equals(name)) {
+                fileName = jsonReader.nextString();
+            } else if (GITHUB_COMMIT_FILE_STATUS.equals(name)) {
+                status = jsonReader.nextString().intern();  // only a few distinct values
+            } else if (patchNeeded && GITHUB_COMMIT_FILE_PATCH.equals(name) && (jsonReader.peek() == JsonToken.STRING) &&
+                    (((fileName == null) || (status == null)) || isModifiedJavaFile(fileName, status))) {
+                patch = jsonReader.nextString();  // Github writes the name and the status first, but JSON does not require it
+            } else {
+                jsonReader.skipValue();
+            }
+        }
+        jsonReader.endObject();
+
+        if ((patch != null) && !isModifiedJavaFile(fileName, status))
+            patch = null;
+
+        return new GithubCommitFile(fileName, status, patch);
+    }
+
+    public static List<GithubCommitFile> readList(JsonReader jsonReader, boolean patchNeeded) throws IOException {
+        List<GithubCommitFile> files = new ArrayList<>();
+
+        if (jsonReader.peek() == JsonToken.NULL) {
+            jsonReader.nextNull();
+            return files;
+        }
+
+        jsonReader.beginArray();
+        while (jsonReader.hasNext()) {
+            files.add(read(jsonReader, patchNeeded));
+        }
+        jsonReader.endArray();
+
+        return files;
+    }
+
+    //endregion
+
+
+    //region helper methods
+
+    private static boolean isModifiedJavaFile(String fileName, String status) {
+        return MODIFIED_STATUS.equals(status) && (fileName != null) && fileName.endsWith(JAVA_FILE_EXTENSION);
+    }
+
+    //endregion
+}
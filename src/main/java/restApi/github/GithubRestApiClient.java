@@ -1,6 +1,9 @@
 package restApi.github;
 
+import restApi.HttpTransport;
+import restApi.JavaHttpTransport;
 import restApi.RestApiClient;
+import restApi.TokenPool;
 
 /**
  * This class is responsible for handling REST APIs of Github API v3.
@@ -24,8 +27,16 @@ public class GithubRestApiClient {
 
     //region constructors
 
+    public GithubRestApiClient(TokenPool tokenPool, HttpTransport httpTransport) {
+        restApiClient = new RestApiClient(GITHUB_API_ROOT_TARGET_URL, tokenPool, httpTransport);
+    }
+
+    public GithubRestApiClient(String username, String password, HttpTransport httpTransport) {
+        this(TokenPool.ofCredentials(username, password), httpTransport);
+    }
+
     public GithubRestApiClient(String username, String password) {
-        restApiClient = new RestApiClient(GITHUB_API_ROOT_TARGET_URL, username, password);
+        this(username, password, new JavaHttpTransport());
     }
 
     public GithubRestApiClient() {
@@ -35,6 +46,15 @@ public class GithubRestApiClient {
     //endregion
 
 
+    //region restApiClient getter
+
+    public RestApiClient getRestApiClient() {
+        return restApiClient;
+    }
+
+    //endregion
+
+
     //region repoHelper
 
     public GithubRestApiRepoHelper getRepoHelper() {
@@ -1,16 +1,16 @@
 package restApi.github;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import jsonUtil.JsonArrayFilterer;
-import org.apache.http.HttpResponse;
-import org.apache.http.client.fluent.Request;
-import org.apache.http.util.EntityUtils;
-import retryUtil.RetryMethod;
-
-import java.io.IOException;
+import restApi.HttpTransport;
+import restApi.HttpTransportResponse;
+import retryUtil.AsyncRetryMethod;
+import threadUtil.Futures;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Collections;
 import java.util.InvalidPropertiesFormatException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * This class is responsible for handling REST APIs of Github API v3 for committed files.
@@ -21,25 +21,16 @@ public class GithubRestApiRepoFileHelper {
     private static final String GITHUB_ROOT_RAW_FILE_TARGET_URL = "https://github.com";
     private static final String GITHUB_RAW_FILE_TARGET_URL = "raw";
 
-    private static final String GITHUB_COMMIT_FILE_NAME = "filename";
-    private static final String GITHUB_COMMIT_FILE_STATUS = "status";
-    private static final String GITHUB_COMMIT_FILE_RAW_URL = "raw_url";
-
     private static final int DEFAULT_MAX_REQUEST_RETRY_TIME = 5;
 
     //endregion
 
 
-    //region enums
-
-    public enum FileStatus {ADDED, REMOVED, MODIFIED}
-
-    //endregion
-
-
     //region variables
 
-    private final String repoRawFileTargetUrl;
+    private final URI repoRawFileTargetUri;
+
+    private final HttpTransport httpTransport;
 
     private int maxRetryTime = DEFAULT_MAX_REQUEST_RETRY_TIME;
 
@@ -48,8 +39,9 @@ public class GithubRestApiRepoFileHelper {
 
     //region constructors
 
-    public GithubRestApiRepoFileHelper(String repoFullName) {
-        this.repoRawFileTargetUrl = (GITHUB_ROOT_RAW_FILE_TARGET_URL + "/" + repoFullName + "/" + GITHUB_RAW_FILE_TARGET_URL);
+    public GithubRestApiRepoFileHelper(String repoFullName, HttpTransport httpTransport) {
+        this.repoRawFileTargetUri = URI.create(GITHUB_ROOT_RAW_FILE_TARGET_URL + "/" + repoFullName + "/" + GITHUB_RAW_FILE_TARGET_URL);
+        this.httpTransport = httpTransport;
     }
 
     //endregion
@@ -68,48 +60,6 @@ public class GithubRestApiRepoFileHelper {
     //endregion
 
 
-    //region methods for extracting file properties
-
-    public static String getFileName(JsonObject fileJsonObject) {
-        return fileJsonObject.get(GITHUB_COMMIT_FILE_NAME).getAsString();
-    }
-
-    public static String getFileStatus(JsonObject fileJsonObject) {
-        return fileJsonObject.get(GITHUB_COMMIT_FILE_STATUS).getAsString();
-    }
-
-    public static String getFileRawUrl(JsonObject fileJsonObject) {
-        return fileJsonObject.get(GITHUB_COMMIT_FILE_RAW_URL).getAsString();
-    }
-
-    //endregion
-
-
-    //region methods for filtering files
-
-    public static JsonArray getFilesByExtension(JsonArray fileJsonArray, String fileExtension) {
-        return new JsonArrayFilterer(fileJsonArray) {
-            @Override
-            public boolean shouldBeIncluded(JsonElement jsonElement) {
-                return (jsonElement.getAsJsonObject().get(GITHUB_COMMIT_FILE_NAME).getAsString().endsWith(fileExtension));
-            }
-        }.filterJsonArray();
-    }
-
-    public static JsonArray getFilesByStatus(JsonArray fileJsonArray, FileStatus fileStatus) {
-        return new JsonArrayFilterer(fileJsonArray) {
-            private final String fileStatusString = fileStatus.name().toLowerCase();
-
-            @Override
-            public boolean shouldBeIncluded(JsonElement jsonElement) {
-                return (jsonElement.getAsJsonObject().get(GITHUB_COMMIT_FILE_STATUS).getAsString().equals(fileStatusString));
-            }
-        }.filterJsonArray();
-    }
-
-    //endregion
-
-
     //region methods for getting file
 
     /**
@@ -121,15 +71,33 @@ public class GithubRestApiRepoFileHelper {
      * @throws Exception if any error occurs (such as "file not found")
      */
     public String getRepoFileAsString(String commitSha, String fileName) throws Exception {
-        return new RetryMethod<String>(maxRetryTime) {
-            @Override
-            public String doTask() throws Exception {
-                HttpResponse response = Request.Get(repoRawFileTargetUrl + "/" + commitSha + "/" + fileName).execute().returnResponse();
+        return Futures.getResult(getRepoFileAsStringAsync(commitSha, fileName));
+    }
 
-                if (response.getStatusLine().getStatusCode() != 200)
-                    throw new InvalidPropertiesFormatException(getResponseExceptionMessage(response));
+    /**
+     * This method downloads a specific file of a given commit as text asynchronously.
+     *
+     * @param commitSha commit SHA value of a commit (version of a file)
+     * @param fileName  file name (Github file path)
+     * @return future of String representation of a specific file of a given commit as text
+     */
+    public CompletableFuture<String> getRepoFileAsStringAsync(String commitSha, String fileName) {
+        final URI uri;
+        try {
+            uri = getRepoFileUri(commitSha, fileName);
+        } catch (URISyntaxException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return new AsyncRetryMethod<String>(maxRetryTime) {
+            @Override
+            public CompletableFuture<String> doTask() {
+                return httpTransport.getAsync(uri, Collections.emptyMap()).thenApply(response -> {
+                    if (response.statusCode != 200)
+                        throw new CompletionException(new InvalidPropertiesFormatException(getResponseExceptionMessage(response)));
 
-                return EntityUtils.toString(response.getEntity());
+                    return response.body;
+                });
             }
         }.doTaskWithRetry();
     }
@@ -139,9 +107,21 @@ public class GithubRestApiRepoFileHelper {
 
     //region helper methods
 
-    private static String getResponseExceptionMessage(HttpResponse response) throws IOException {
-        return Integer.toString(response.getStatusLine().getStatusCode()) + ":\n" +
-                EntityUtils.toString(response.getEntity());
+    /**
+     * This method builds the URI of a raw file, quoting the characters of the file path which are illegal in URIs.
+     *
+     * @param commitSha commit SHA value of a commit (version of a file)
+     * @param fileName  file name (Github file path)
+     * @return the URI of the raw file
+     * @throws URISyntaxException if the URI cannot be built
+     */
+    private URI getRepoFileUri(String commitSha, String fileName) throws URISyntaxException {
+        return new URI(repoRawFileTargetUri.getScheme(), repoRawFileTargetUri.getAuthority(),
+                repoRawFileTargetUri.getPath() + "/" + commitSha + "/" + fileName, null, null);
+    }
+
+    private static String getResponseExceptionMessage(HttpTransportResponse response) {
+        return Integer.toString(response.statusCode) + ":\n" + response.body;
     }
 
     //endregion
@@ -1,10 +1,14 @@
 package restApi.github;
 
-import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import restApi.RestApiClient;
+import threadUtil.Futures;
 
 import javax.ws.rs.client.WebTarget;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This class is responsible for handling REST APIs of Github API v3 for a repo.
@@ -14,12 +18,23 @@ public class GithubRestApiRepoHelper {
 
     private static final String GITHUB_ROOT_REPOS_TARGET_URL = "repos";
     private static final String GITHUB_REPO_COMMITS_TARGET_URL = "commits";
+    private static final String GITHUB_REPO_COMPARE_TARGET_URL = "compare";
+    private static final String GITHUB_COMPARE_SEPARATOR = "...";
 
     private static final String GITHUB_COMMIT_MASTER = "master";
-    private static final String GITHUB_COMMIT_SHA = "sha";
-    private static final String GITHUB_COMMIT_PARENTS = "parents";
-    private static final String GITHUB_COMMIT_FILES = "files";
     private static final String GITHUB_PAGE_PARAM = "page";
+    private static final String GITHUB_PER_PAGE_PARAM = "per_page";
+    private static final String GITHUB_SHA_PARAM = "sha";
+    private static final String GITHUB_PATH_PARAM = "path";
+
+    public static final int MAX_PER_PAGE = 100;
+    public static final int MAX_COMPARE_FILE_COUNT = 300;
+
+    private static final int COMMIT_FILE_PAGE_SIZE = 300;
+    private static final int MAX_COMMIT_FILE_PAGE_COUNT = 10;  // Github lists up to 3000 files of a commit
+    private static final int CONCURRENT_COMMIT_FILE_PAGE_COUNT = 3;
+
+    private static final String FULL_COMMIT_SHA_REGEX = "[0-9a-fA-F]{40}";
 
     //endregion
 
@@ -32,9 +47,13 @@ public class GithubRestApiRepoHelper {
 
     private final WebTarget repoWebTarget;
     private final WebTarget repoCommitsWebTarget;
+    private final WebTarget repoCompareWebTarget;
 
     private final GithubRestApiRepoFileHelper repoFileHelper;
 
+    private final AtomicLong pagedCommitCount = new AtomicLong();
+    private final AtomicLong extraFilePageCount = new AtomicLong();
+
     //endregion
 
 
@@ -46,8 +65,9 @@ public class GithubRestApiRepoHelper {
 
         this.repoWebTarget = restApiClient.getRootWebTarget().path(GITHUB_ROOT_REPOS_TARGET_URL).path(repoFullName);
         this.repoCommitsWebTarget = repoWebTarget.path(GITHUB_REPO_COMMITS_TARGET_URL);
+        this.repoCompareWebTarget = repoWebTarget.path(GITHUB_REPO_COMPARE_TARGET_URL);
 
-        this.repoFileHelper = new GithubRestApiRepoFileHelper(repoFullName);
+        this.repoFileHelper = new GithubRestApiRepoFileHelper(repoFullName, restApiClient.getHttpTransport());
     }
 
     //endregion
@@ -71,45 +91,158 @@ public class GithubRestApiRepoHelper {
     //endregion
 
 
+    //region metric getter methods
+
+    /**
+     * This method returns the number of commits whose files did not fit in a single response.
+     *
+     * @return the number of the commits which needed extra pages of files
+     */
+    public long getPagedCommitCount() {
+        return pagedCommitCount.get();
+    }
+
+    public long getExtraFilePageCount() {
+        return extraFilePageCount.get();
+    }
+
+    //endregion
+
+
     //region methods for getting response
 
     public JsonObject getRepoInfo() throws Exception {
         return restApiClient.getJsonResponse(repoWebTarget).getAsJsonObject();
     }
 
-    public JsonArray getRepoCommits(int page) throws Exception {
-        return restApiClient.getJsonResponse(repoCommitsWebTarget.queryParam(GITHUB_PAGE_PARAM, Integer.toString(page))).getAsJsonArray();
+    public List<GithubCommit> getRepoCommits(int page) throws Exception {
+        return restApiClient.getResponse(repoCommitsWebTarget
+                .queryParam(GITHUB_PER_PAGE_PARAM, Integer.toString(MAX_PER_PAGE))
+                .queryParam(GITHUB_PAGE_PARAM, Integer.toString(page)), false, GithubCommit::readList);
     }
 
-    public JsonArray getRepoCommits() throws Exception {
+    /**
+     * This method returns a page of the commits reachable from a given commit (without their files),
+     * ordered from newer to older.
+     *
+     * @param startCommitSha SHA value of the newest commit
+     * @param page           page number (starting from 1)
+     * @return the page of the commits, each of which has its SHA value, parents and date
+     * @throws Exception if any error occurs
+     */
+    public List<GithubCommit> getRepoCommits(String startCommitSha, int page) throws Exception {
+        // the history of a commit addressed by its full SHA value never changes
+        return restApiClient.getResponse(repoCommitsWebTarget
+                        .queryParam(GITHUB_SHA_PARAM, startCommitSha)
+                        .queryParam(GITHUB_PER_PAGE_PARAM, Integer.toString(MAX_PER_PAGE))
+                        .queryParam(GITHUB_PAGE_PARAM, Integer.toString(page)),
+                isFullCommitSha(startCommitSha), GithubCommit::readList);
+    }
+
+    public List<GithubCommit> getRepoCommits() throws Exception {
         return getRepoCommits(1);
     }
 
-    public JsonObject getCommitInfo(String commitSha) throws Exception {
-        return restApiClient.getJsonResponse(repoCommitsWebTarget.path(commitSha)).getAsJsonObject();
+    /**
+     * This method returns a commit with all of its files, even if they do not fit in a single response.
+     *
+     * @param commitSha commit SHA value (or any other name of a commit)
+     * @return the commit
+     * @throws Exception if any error occurs
+     */
+    public GithubCommit getCommitInfo(String commitSha) throws Exception {
+        // a commit addressed by its full SHA value never changes
+        return withAllFiles(restApiClient.getResponse(repoCommitsWebTarget.path(commitSha), isFullCommitSha(commitSha), GithubCommit::read));
     }
 
-    public JsonObject getLatestCommitInfo(String branchName) throws Exception {
-        return restApiClient.getJsonResponse(repoCommitsWebTarget.path(branchName)).getAsJsonObject();
+    /**
+     * This method returns a page of the commits reachable from a given commit which change a given path
+     * (without their files), ordered from newer to older.
+     *
+     * @param startCommitSha SHA value of the newest commit
+     * @param path           file or directory path in the repository
+     * @param page           page number (starting from 1)
+     * @return the page of the commits, each of which has its SHA value, parents and date
+     * @throws Exception if any error occurs
+     */
+    public List<GithubCommit> getRepoCommits(String startCommitSha, String path, int page) throws Exception {
+        return restApiClient.getResponse(repoCommitsWebTarget
+                        .queryParam(GITHUB_SHA_PARAM, startCommitSha)
+                        .queryParam(GITHUB_PATH_PARAM, path)
+                        .queryParam(GITHUB_PER_PAGE_PARAM, Integer.toString(MAX_PER_PAGE))
+                        .queryParam(GITHUB_PAGE_PARAM, Integer.toString(page)),
+                isFullCommitSha(startCommitSha), GithubCommit::readList);
     }
 
-    public JsonObject getLatestCommitInfo() throws Exception {
-        return getLatestCommitInfo(GITHUB_COMMIT_MASTER);
+    /**
+     * This method compares two commits. The files of the comparison are the files changed
+     * between the trees of the two commits (up to {@link #MAX_COMPARE_FILE_COUNT} files).
+     *
+     * @param baseCommitSha SHA value of the base (older) commit
+     * @param headCommitSha SHA value of the head (newer) commit
+     * @return the changed files of the comparison
+     * @throws Exception if any error occurs
+     */
+    public List<GithubCommitFile> compareCommits(String baseCommitSha, String headCommitSha) throws Exception {
+        return restApiClient.getResponse(repoCompareWebTarget.path(baseCommitSha + GITHUB_COMPARE_SEPARATOR + headCommitSha),
+                isFullCommitSha(baseCommitSha) && isFullCommitSha(headCommitSha), GithubCommit::readFiles);
     }
 
-    public static String getCommitSha(JsonObject commitInfo) {
-        return commitInfo.get(GITHUB_COMMIT_SHA).getAsString();
+    public GithubCommit getLatestCommitInfo(String branchName) throws Exception {
+        return withAllFiles(restApiClient.getResponse(repoCommitsWebTarget.path(branchName), false, GithubCommit::read));
     }
 
-    public static String getPreviousCommitSha(JsonObject currentCommitInfo) {
-        JsonArray parents = currentCommitInfo.get(GITHUB_COMMIT_PARENTS).getAsJsonArray();
-        if (parents.size() == 0) return null;
+    public GithubCommit getLatestCommitInfo() throws Exception {
+        return getLatestCommitInfo(GITHUB_COMMIT_MASTER);
+    }
 
-        return getCommitSha(parents.get(0).getAsJsonObject());
+    public static boolean isFullCommitSha(String commitSha) {
+        return commitSha.matches(FULL_COMMIT_SHA_REGEX);
     }
 
-    public static JsonArray getCommitFiles(JsonObject commitInfo) {
-        return commitInfo.get(GITHUB_COMMIT_FILES).getAsJsonArray();
+    //endregion
+
+
+    //region helper methods
+
+    /**
+     * This method completes the files of a commit. Github lists up to 300 files in a response of a commit,
+     * and the rest of the files are listed in the next pages of the same commit (which are fetched concurrently).
+     *
+     * @param githubCommit the commit with the first page of its files
+     * @return the commit with all of its files
+     * @throws Exception if any error occurs
+     */
+    private GithubCommit withAllFiles(GithubCommit githubCommit) throws Exception {
+        if (githubCommit.files.size() < COMMIT_FILE_PAGE_SIZE)
+            return githubCommit;
+
+        pagedCommitCount.incrementAndGet();
+
+        // the pages are addressed by the SHA value, so a moving branch cannot shift them
+        WebTarget commitWebTarget = repoCommitsWebTarget.path(githubCommit.sha);
+        List<GithubCommitFile> files = new ArrayList<>(githubCommit.files);
+
+        int page = 2;
+        boolean lastPage = false;
+        while (!lastPage && (page <= MAX_COMMIT_FILE_PAGE_COUNT)) {
+            List<CompletableFuture<GithubCommit>> pageFutures = new ArrayList<>(CONCURRENT_COMMIT_FILE_PAGE_COUNT);
+            for (int i = 0; (i < CONCURRENT_COMMIT_FILE_PAGE_COUNT) && (page <= MAX_COMMIT_FILE_PAGE_COUNT); i++, page++) {
+                pageFutures.add(restApiClient.getResponseAsync(
+                        commitWebTarget.queryParam(GITHUB_PAGE_PARAM, Integer.toString(page)), true, GithubCommit::read));
+            }
+            extraFilePageCount.addAndGet(pageFutures.size());
+
+            for (CompletableFuture<GithubCommit> pageFuture : pageFutures) {
+                List<GithubCommitFile> pageFiles = Futures.getResult(pageFuture).files;
+                if (lastPage) continue;  // a page after the last page is empty
+
+                files.addAll(pageFiles);
+                lastPage = (pageFiles.size() < COMMIT_FILE_PAGE_SIZE);
+            }
+        }
+
+        return new GithubCommit(githubCommit.sha, githubCommit.parentShas, githubCommit.date, files);
     }
 
     //endregion
@@ -0,0 +1,99 @@
+package retryUtil;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * This class helps calling a specific asynchronous method with multiple retry time.
+ *
+ * @param <T> result type of the intended method
+ */
+public abstract class AsyncRetryMethod<T> {
+    //region constant variables
+
+    private static final String DEFAULT_RETRY_OUTPUT_STRING = "Retrying...";
+
+    //endregion
+
+
+    //region variables
+
+    private String retryOutputString = DEFAULT_RETRY_OUTPUT_STRING;
+    private int maxRetryTime;
+
+    //endregion
+
+
+    //region constructors
+
+    public AsyncRetryMethod(int maxRetryTime) {
+        this.maxRetryTime = maxRetryTime;
+    }
+
+    //endregion
+
+
+    //region getter and setter methods
+
+    public String getRetryOutputString() {
+        return retryOutputString;
+    }
+
+    public void setRetryOutputString(String retryOutputString) {
+        this.retryOutputString = retryOutputString;
+    }
+
+    public int getMaxRetryTime() {
+        return maxRetryTime;
+    }
+
+    public void setMaxRetryTime(int maxRetryTime) {
+        this.maxRetryTime = maxRetryTime;
+    }
+
+    //endregion
+
+
+    //region abstract methods
+
+    public abstract CompletableFuture<T> doTask();
+
+    //endregion
+
+
+    //region methods
+
+    public CompletableFuture<T> doTaskWithRetry() {
+        return doTaskWithRetry(0);
+    }
+
+    //endregion
+
+
+    //region helper methods
+
+    private CompletableFuture<T> doTaskWithRetry(int retry) {
+        if (retry > 0)
+            System.out.println(retryOutputString);
+
+        CompletableFuture<T> task;
+        try {
+            task = doTask();
+        } catch (Exception e) {
+            task = CompletableFuture.failedFuture(e);
+        }
+
+        return task.handle((result, throwable) -> {
+            if (throwable == null)
+                return CompletableFuture.completedFuture(result);
+
+            throwable.printStackTrace();
+            if ((retry + 1) >= maxRetryTime)
+                return CompletableFuture.<T>failedFuture(throwable);
+
+            return doTaskWithRetry(retry + 1);
+        }).thenCompose(Function.identity());
+    }
+
+    //endregion
+}
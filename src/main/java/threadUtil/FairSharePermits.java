@@ -0,0 +1,133 @@
+package threadUtil;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This class limits the number of concurrent tasks like a semaphore, and shares the permits fairly between
+ * several parties (such as the repositories of a batch). Each party waits in its own queue in arrival order,
+ * and a released permit goes to the parties with waiting tasks in round-robin order, so a party with more
+ * waiting tasks (such as a repository analyzed in several commit ranges) does not get a larger share of the permits.
+ */
+public class FairSharePermits {
+    //region variables
+
+    private int availablePermitCount;
+
+    private final Map<String, Deque<Waiter>> waitQueues = new HashMap<>();  // only the parties with waiting tasks
+    private final Deque<String> partyTurns = new ArrayDeque<>();  // the parties with waiting tasks, in round-robin order
+
+    //endregion
+
+
+    //region constructors
+
+    /**
+     * @param permitCount number of tasks which can hold a permit at the same time
+     */
+    public FairSharePermits(int permitCount) {
+        this.availablePermitCount = permitCount;
+    }
+
+    //endregion
+
+
+    //region getter methods
+
+    public synchronized int getAvailablePermitCount() {
+        return availablePermitCount;
+    }
+
+    /**
+     * @param party name of a party
+     * @return the number of tasks of the party which are waiting for a permit
+     */
+    public synchronized int getWaitingCount(String party) {
+        Deque<Waiter> waitQueue = waitQueues.get(party);
+        return (waitQueue == null) ? 0 : waitQueue.size();
+    }
+
+    //endregion
+
+
+    //region methods
+
+    /**
+     * This method waits for a permit. A free permit is taken at once only if no task is waiting,
+     * so a party never passes the parties which are waiting for their turns.
+     *
+     * @param party name of the party of the task
+     * @throws InterruptedException if interrupted while waiting (no permit is held then)
+     */
+    public synchronized void acquire(String party) throws InterruptedException {
+        if (Thread.interrupted())
+            throw new InterruptedException();
+
+        if ((availablePermitCount > 0) && partyTurns.isEmpty()) {
+            availablePermitCount--;
+            return;
+        }
+
+        Waiter waiter = new Waiter();
+        Deque<Waiter> waitQueue = waitQueues.computeIfAbsent(party, p -> new ArrayDeque<>());
+        if (waitQueue.isEmpty())
+            partyTurns.add(party);
+        waitQueue.add(waiter);
+
+        try {
+            while (!waiter.granted) {
+                wait();
+            }
+        } catch (InterruptedException e) {
+            if (waiter.granted) {
+                release();  // the permit is passed on to the next party
+            } else {
+                waitQueue.remove(waiter);
+                if (waitQueue.isEmpty()) {
+                    waitQueues.remove(party);
+                    partyTurns.remove(party);
+                }
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * This method releases a permit. It goes to the first waiting task of the next party in turn (if any),
+     * and the party goes to the end of the turns if it has more waiting tasks.
+     */
+    public synchronized void release() {
+        String party = partyTurns.poll();
+        if (party == null) {
+            availablePermitCount++;
+            return;
+        }
+
+        Deque<Waiter> waitQueue = waitQueues.get(party);
+        Waiter waiter = waitQueue.poll();
+        if (waitQueue.isEmpty()) {
+            waitQueues.remove(party);
+        } else {
+            partyTurns.add(party);
+        }
+
+        waiter.granted = true;
+        notifyAll();
+    }
+
+    //endregion
+
+
+    //region helper structures
+
+    /**
+     * This class is the structure of a task waiting for a permit.
+     */
+    private static class Waiter {
+        public boolean granted = false;  // guarded by the permits
+    }
+
+    //endregion
+}
@@ -0,0 +1,48 @@
+package threadUtil;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * This class helps waiting for futures with the original exception of a failed task.
+ */
+public class Futures {
+    //region static methods
+
+    /**
+     * This method waits for a future and returns its result.
+     *
+     * @param future future
+     * @param <T>    type of the result
+     * @return the result of the future
+     * @throws Exception the original exception of the failed task, if the task fails
+     */
+    public static <T> T getResult(Future<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * This method finds the original exception wrapped by {@link ExecutionException} or {@link CompletionException}.
+     *
+     * @param throwable wrapping throwable
+     * @return the original exception
+     */
+    public static Exception unwrap(Throwable throwable) {
+        Throwable cause = throwable;
+        while (((cause instanceof ExecutionException) || (cause instanceof CompletionException)) && (cause.getCause() != null)) {
+            cause = cause.getCause();
+        }
+
+        if (cause instanceof Exception)
+            return (Exception) cause;
+
+        return new ExecutionException(cause);
+    }
+
+    //endregion
+}
@@ -0,0 +1,53 @@
+package threadUtil;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class creates and stops the fixed thread pools of the program.
+ */
+public class ThreadPools {
+    //region constant variables
+
+    private static final long EXECUTOR_TERMINATION_TIMEOUT_SECONDS = 30L;
+
+    //endregion
+
+
+    //region static methods
+
+    /**
+     * This method creates a fixed thread pool of daemon threads,
+     * so a stuck network call can never keep the program alive.
+     *
+     * @param threadNamePrefix prefix of thread names
+     * @param threadCount      number of threads
+     * @return the fixed thread pool
+     */
+    public static ExecutorService newFixedThreadPool(String threadNamePrefix, int threadCount) {
+        AtomicInteger threadIndex = new AtomicInteger();
+
+        return Executors.newFixedThreadPool(threadCount, runnable -> {
+            Thread thread = new Thread(runnable, threadNamePrefix + "-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * This method stops an executor, interrupting its running tasks, and waits for its threads to finish.
+     *
+     * @param executorService executor to stop
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public static void shutdown(ExecutorService executorService) throws InterruptedException {
+        executorService.shutdownNow();
+
+        if (!executorService.awaitTermination(EXECUTOR_TERMINATION_TIMEOUT_SECONDS, TimeUnit.SECONDS))
+            System.err.println("Some worker threads did not stop in time.");
+    }
+
+    //endregion
+}
@@ -0,0 +1,34 @@
+package threadUtil;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * This class creates executors of virtual threads. Virtual threads need JDK 21 or later, so this version
+ * only reports that they are not supported. The JDK 21 version of this class is in {@code src/main/java21},
+ * and it is packaged into the multi-release jar when the project is built with JDK 21 or later.
+ */
+public class VirtualThreads {
+    //region static methods
+
+    /**
+     * This method checks whether virtual threads are supported by the running JVM.
+     *
+     * @return true if virtual threads are supported
+     */
+    public static boolean isSupported() {
+        return false;
+    }
+
+    /**
+     * This method creates an executor which starts a new virtual thread for each task.
+     *
+     * @param threadNamePrefix prefix of thread names
+     * @return the executor
+     * @throws UnsupportedOperationException if virtual threads are not supported
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor(String threadNamePrefix) {
+        throw new UnsupportedOperationException("Virtual threads need JDK 21 or later.");
+    }
+
+    //endregion
+}
@@ -0,0 +1,32 @@
+package threadUtil;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * This class creates executors of virtual threads (JDK 21 version).
+ */
+public class VirtualThreads {
+    //region static methods
+
+    /**
+     * This method checks whether virtual threads are supported by the running JVM.
+     *
+     * @return true if virtual threads are supported
+     */
+    public static boolean isSupported() {
+        return true;
+    }
+
+    /**
+     * This method creates an executor which starts a new virtual thread for each task.
+     *
+     * @param threadNamePrefix prefix of thread names
+     * @return the executor
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor(String threadNamePrefix) {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(threadNamePrefix + "-", 1).factory());
+    }
+
+    //endregion
+}
@@ -0,0 +1,122 @@
+package changeDetector;
+
+import javaParserHelper.MethodStruct;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MethodChangeDetectorTest {
+    @Test
+    void parameterRemovalPairsAnAddedMethodWithALongerRemovedOverload() {
+        List<MethodStruct> previousMethodStructs = Arrays.asList(
+                method("p.A", "void", "f", "int"),
+                method("p.A", "void", "f", "int", "int"),
+                method("p.A", "int", "g", "int", "int"),
+                method("p.B", "void", "h", "int"));
+        List<MethodStruct> currentMethodStructs = Arrays.asList(
+                method("p.A", "void", "f", "int"),  // the unchanged overload is not paired
+                method("p.A", "void", "f"),
+                method("p.A", "void", "g", "int"),  // another return type
+                method("p.C", "void", "h"));  // another scope path
+
+        assertEquals(Collections.singletonList("p.A:void:f:int,int -> p.A:void:f:"),
+                detect(new ParameterRemovalDetector(), previousMethodStructs, currentMethodStructs));
+    }
+
+    @Test
+    void parameterTypeChangePairsEachOverloadWithTheFirstOneOfTheSameCount() {
+        List<MethodStruct> previousMethodStructs = Arrays.asList(
+                method("p.A", "void", "f", "int"),
+                method("p.A", "void", "f", "int", "int"),
+                method("p.A", "void", "g", "String"),
+                method("p.A", "void", "h", "int"));
+        List<MethodStruct> currentMethodStructs = Arrays.asList(
+                method("p.A", "void", "f", "long"),
+                method("p.A", "void", "f", "long", "int"),
+                method("p.A", "void", "g", "String"),
+                method("p.A", "void", "h", "int", "int"));  // a parameter increase
+
+        assertEquals(Arrays.asList("p.A:void:f:int -> p.A:void:f:long", "p.A:void:f:int,int -> p.A:void:f:long,int"),
+                detect(new ParameterTypeChangeDetector(), previousMethodStructs, currentMethodStructs));
+    }
+
+    @Test
+    void returnTypeChangePairsTheOverloadWithTheSameParameters() {
+        List<MethodStruct> previousMethodStructs = Arrays.asList(
+                method("p.A", "void", "f", "int"),
+                method("p.A", "void", "f", "long"),
+                method("p.A", "void", "h", "int"));
+        List<MethodStruct> currentMethodStructs = Arrays.asList(
+                method("p.A", "void", "f", "int"),
+                method("p.A", "int", "f", "long"),
+                method("p.A", "int", "h", "String"));  // the parameter types are changed as well
+
+        assertEquals(Collections.singletonList("p.A:void:f:long -> p.A:int:f:long"),
+                detect(new ReturnTypeChangeDetector(), previousMethodStructs, currentMethodStructs));
+    }
+
+    @Test
+    void methodRenamePairsEachDisappearedNameOnce() {
+        List<MethodStruct> previousMethodStructs = Arrays.asList(
+                method("p.A", "void", "a", "int"),
+                method("p.A", "void", "b", "int"),
+                method("p.A", "void", "f", "int"),
+                method("p.A", "void", "f", "String"),
+                method("p.B", "void", "x"));
+        List<MethodStruct> currentMethodStructs = Arrays.asList(
+                method("p.A", "void", "c", "int"),
+                method("p.A", "void", "f", "int"),
+                method("p.A", "void", "g", "String"),  // the name f still exists, so f(String) is not renamed
+                method("p.C", "void", "y"));  // another scope path
+
+        assertEquals(Collections.singletonList("p.A:void:a:int -> p.A:void:c:int"),
+                detect(new MethodRenameDetector(), previousMethodStructs, currentMethodStructs));
+    }
+
+    @Test
+    void addedMethodIsANewOverloadOrName() {
+        List<MethodStruct> previousMethodStructs = Arrays.asList(
+                method("p.A", "void", "f", "int"),
+                method("p.A", "void", "g", "int"));
+        List<MethodStruct> currentMethodStructs = Arrays.asList(
+                method("p.A", "void", "f", "int"),
+                method("p.A", "void", "f", "int", "int"),
+                method("p.A", "void", "g", "long"),  // a changed signature of an existing method
+                method("p.A", "void", "h"));
+
+        assertEquals(Arrays.asList("null -> p.A:void:f:int,int", "null -> p.A:void:h:"),
+                detect(new AddedMethodDetector(), previousMethodStructs, currentMethodStructs));
+    }
+
+    @Test
+    void removedMethodIsARemovedOverloadOrName() {
+        List<MethodStruct> previousMethodStructs = Arrays.asList(
+                method("p.A", "void", "f", "int"),
+                method("p.A", "void", "f", "int", "int"),
+                method("p.A", "void", "g", "int"),
+                method("p.A", "void", "h"));
+        List<MethodStruct> currentMethodStructs = Arrays.asList(
+                method("p.A", "void", "f", "int"),
+                method("p.A", "int", "g", "int"));  // a changed signature of an existing method
+
+        assertEquals(Arrays.asList("p.A:void:f:int,int -> null", "p.A:void:h: -> null"),
+                detect(new RemovedMethodDetector(), previousMethodStructs, currentMethodStructs));
+    }
+
+    private static MethodStruct method(String scopePath, String returnType, String methodName, String... parameters) {
+        return new MethodStruct(scopePath, returnType, methodName, Arrays.asList(parameters));
+    }
+
+    private static List<String> detect(MethodChangeDetector methodChangeDetector, List<MethodStruct> previousMethodStructs,
+                                       List<MethodStruct> currentMethodStructs) {
+        return methodChangeDetector.detectChanges(new MethodSignatureComparison(previousMethodStructs, currentMethodStructs))
+                .stream()
+                .map(methodChange -> methodChange.oldMethodStruct + " -> " + methodChange.newMethodStruct)
+                .collect(Collectors.toList());
+    }
+}
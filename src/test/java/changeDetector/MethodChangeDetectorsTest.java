@@ -0,0 +1,34 @@
+package changeDetector;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MethodChangeDetectorsTest {
+    @Test
+    void detectorsAreCreatedInTheGivenOrder() {
+        List<MethodChangeDetector> detectors = MethodChangeDetectors.getDetectors(
+                Arrays.asList(MethodRenameDetector.NAME, ParameterIncreaseDetector.NAME));
+
+        assertEquals(Arrays.asList(MethodRenameDetector.NAME, ParameterIncreaseDetector.NAME),
+                detectors.stream().map(MethodChangeDetector::getName).collect(Collectors.toList()));
+    }
+
+    @Test
+    void unknownDetectorIsRejected() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> MethodChangeDetectors.getDetectors(Arrays.asList(ParameterIncreaseDetector.NAME, "unknown")));
+        assertTrue(e.getMessage().contains("unknown"));
+    }
+
+    @Test
+    void duplicateDetectorIsRejected() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> MethodChangeDetectors.getDetectors(
+                Arrays.asList(ParameterIncreaseDetector.NAME, MethodRenameDetector.NAME, ParameterIncreaseDetector.NAME)));
+        assertTrue(e.getMessage().contains(ParameterIncreaseDetector.NAME));
+    }
+}
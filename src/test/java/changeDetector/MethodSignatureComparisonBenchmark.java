@@ -0,0 +1,95 @@
+package changeDetector;
+
+import javaParserHelper.JavaMethodVisitor;
+import javaParserHelper.MethodStruct;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * This class measures comparing the method signatures of file pairs and running every change detector on them.
+ * The previous versions are the Java sources of this project, and each current version adds a parameter to
+ * every third method, changes the return type of every fifth method and renames every seventh method.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MethodSignatureComparisonBenchmark {
+    private List<List<MethodStruct>> previousMethodStructLists;
+    private List<List<MethodStruct>> currentMethodStructLists;
+    private List<MethodChangeDetector> methodChangeDetectors;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<Path> javaFiles;
+        try (Stream<Path> paths = Files.walk(Paths.get("src", "main", "java"))) {
+            javaFiles = paths.filter(path -> path.toString().endsWith(".java")).collect(Collectors.toList());
+        }
+
+        previousMethodStructLists = new ArrayList<>(javaFiles.size());
+        currentMethodStructLists = new ArrayList<>(javaFiles.size());
+        for (Path javaFile : javaFiles) {
+            String javaSource = new String(Files.readAllBytes(javaFile), StandardCharsets.UTF_8);
+            List<MethodStruct> methodStructs = JavaMethodVisitor.getMethodSignatures(new StringReader(javaSource));
+            previousMethodStructLists.add(methodStructs);
+            currentMethodStructLists.add(changeMethodStructs(methodStructs));
+        }
+
+        methodChangeDetectors = MethodChangeDetectors.getDetectors(MethodChangeDetectors.getDetectorNames());
+    }
+
+    @Benchmark
+    public void compareMethodSignatures(Blackhole blackhole) {
+        for (int i = 0; i < previousMethodStructLists.size(); i++) {
+            blackhole.consume(new MethodSignatureComparison(previousMethodStructLists.get(i), currentMethodStructLists.get(i)));
+        }
+    }
+
+    @Benchmark
+    public void compareAndDetectChanges(Blackhole blackhole) {
+        for (int i = 0; i < previousMethodStructLists.size(); i++) {
+            MethodSignatureComparison comparison =
+                    new MethodSignatureComparison(previousMethodStructLists.get(i), currentMethodStructLists.get(i));
+            for (MethodChangeDetector methodChangeDetector : methodChangeDetectors) {
+                blackhole.consume(methodChangeDetector.detectChanges(comparison));
+            }
+        }
+    }
+
+    private static List<MethodStruct> changeMethodStructs(List<MethodStruct> methodStructs) {
+        List<MethodStruct> changedMethodStructs = new ArrayList<>(methodStructs.size());
+        for (int i = 0; i < methodStructs.size(); i++) {
+            MethodStruct methodStruct = methodStructs.get(i);
+            String returnType = (i % 5 == 0) ? "Object" : methodStruct.returnType;
+            String methodName = (i % 7 == 0) ? methodStruct.methodName + "Renamed" : methodStruct.methodName;
+            List<String> parameters = new ArrayList<>(methodStruct.parameters);
+            if (i % 3 == 0)
+                parameters.add("int");
+
+            changedMethodStructs.add(new MethodStruct(methodStruct.scopePath, returnType, methodName, parameters));
+        }
+
+        return changedMethodStructs;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MethodSignatureComparisonBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,99 @@
+package githubRepo;
+
+import changeDetector.MethodChange;
+import javaParserHelper.MethodStruct;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import outputSink.CsvMethodChangeSink;
+import outputSink.FlushPolicy;
+import outputSink.MethodChangeSink;
+import outputSink.OutputFormat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CheckpointedOutputFilesTest {
+    private static final MethodChange METHOD_CHANGE = new MethodChange(
+            new MethodStruct("p.A", "void", "f", Collections.singletonList("int")),
+            new MethodStruct("p.A", "void", "f", Arrays.asList("int", "String")));
+
+    @TempDir
+    File tempDirectory;
+
+    @Test
+    void rowsAfterTheLastCheckpointAreTruncatedOnResume() throws Exception {
+        File stateFile = new File(tempDirectory, "state");
+        List<File> outputFiles = Arrays.asList(new File(tempDirectory, "first.csv"), new File(tempDirectory, "second.csv"));
+
+        CheckpointedOutputFiles checkpointedOutputFiles = createCheckpointedOutputFiles(stateFile, outputFiles);
+        assertNull(checkpointedOutputFiles.getCheckpointCommitSha());
+        checkpointedOutputFiles.open(true);
+        writeCommit(checkpointedOutputFiles, "commit1");
+        checkpointedOutputFiles.checkpoint("commit2");
+        writeCommit(checkpointedOutputFiles, "commit2");
+        checkpointedOutputFiles.close();  // the run stops without a checkpoint
+
+        assertTrue(read(outputFiles.get(1)).endsWith(getRow("commit2")), "the rows after the checkpoint reach the file");
+
+        // a row is torn by a crash
+        Files.write(outputFiles.get(0).toPath(), "commit3,\"A.ja".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        CheckpointedOutputFiles resumedOutputFiles = createCheckpointedOutputFiles(stateFile, outputFiles);
+        assertEquals("commit2", resumedOutputFiles.getCheckpointCommitSha());
+        resumedOutputFiles.open(true);
+        for (File outputFile : outputFiles) {
+            assertEquals(CsvMethodChangeSink.CSV_HEADER + "\n" + getRow("commit1"), read(outputFile),
+                    "the rows after the checkpoint are truncated");
+        }
+        writeCommit(resumedOutputFiles, "commit2");
+        resumedOutputFiles.checkpoint("commit3");
+        resumedOutputFiles.close();
+
+        String expectedOutput = CsvMethodChangeSink.CSV_HEADER + "\n" + getRow("commit1") + getRow("commit2");
+        for (File outputFile : outputFiles) {
+            assertEquals(expectedOutput, read(outputFile), "each row is written exactly once");
+        }
+    }
+
+    @Test
+    void outputFilesAreCreatedWithAHeaderWithoutAStateFile() throws Exception {
+        File outputFile = new File(tempDirectory, "first.csv");
+        Files.write(outputFile.toPath(), "stale\n".getBytes(StandardCharsets.UTF_8));
+
+        CheckpointedOutputFiles checkpointedOutputFiles = createCheckpointedOutputFiles(new File(tempDirectory, "state"),
+                Collections.singletonList(outputFile));
+        checkpointedOutputFiles.open(true);
+        writeCommit(checkpointedOutputFiles, "commit1");
+        checkpointedOutputFiles.checkpoint("commit2");
+        checkpointedOutputFiles.close();
+
+        assertEquals(CsvMethodChangeSink.CSV_HEADER + "\n" + getRow("commit1"), read(outputFile));
+    }
+
+    private static CheckpointedOutputFiles createCheckpointedOutputFiles(File stateFile, List<File> outputFiles) {
+        return new CheckpointedOutputFiles(stateFile, outputFiles, OutputFormat.CSV, FlushPolicy.DEFAULT);
+    }
+
+    private static void writeCommit(CheckpointedOutputFiles checkpointedOutputFiles, String commitSha) throws IOException {
+        for (MethodChangeSink sink : checkpointedOutputFiles.getSinks()) {
+            sink.write(commitSha, "A.java", METHOD_CHANGE);
+            sink.endCommit();
+        }
+    }
+
+    private static String getRow(String commitSha) {
+        return commitSha + ",\"A.java\",\"void:f:int\",\"void:f:int,String\"\n";
+    }
+
+    private static String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,125 @@
+package githubRepo;
+
+import changeDetector.MethodChangeDetectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import repoSource.LocalGitRepoSource;
+import testUtil.GitFixture;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GithubRepoJavaFileAnalyzerTest {
+    private static final int COMMIT_COUNT = 14;
+    private static final int FILE_COUNT = 3;
+
+    @TempDir
+    File tempDirectory;
+
+    // the output files are written to the working directory, so every run has its own repository name
+    private final String repoNamePrefix = "analyzerTest" + System.nanoTime();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        try (GitFixture gitFixture = new GitFixture(tempDirectory)) {
+            List<List<String>> methodsOfFiles = new ArrayList<>();
+            for (int i = 0; i < FILE_COUNT; i++) {
+                methodsOfFiles.add(new ArrayList<>());
+            }
+
+            for (int i = 0; i < COMMIT_COUNT; i++) {
+                List<String> methods = methodsOfFiles.get(i % FILE_COUNT);
+                if (!methods.isEmpty()) {
+                    // a parameter is added to the last method, and the first one is renamed or gets another return type
+                    String lastMethod = methods.remove(methods.size() - 1);
+                    methods.add(lastMethod.replace(")", (lastMethod.endsWith("()") ? "" : ", ") + "int p" + i + ")"));
+                    String firstMethod = methods.remove(0);
+                    methods.add(0, (i % 2 == 0) ? firstMethod.replace("(", "Renamed" + i + "(") : firstMethod.replace("void ", "long "));
+                }
+                methods.add("void m" + i + "(" + ((i % 3 == 0) ? "" : "String s") + ")");
+
+                writeJavaFile(gitFixture, i % FILE_COUNT, methods);
+                gitFixture.commit("commit " + i);
+
+                if (i == COMMIT_COUNT / 2) {
+                    // a merged branch is not walked, but its changes are in the merge commit
+                    gitFixture.checkout("feature", true);
+                    methods.add("void feature(int a, int b)");
+                    writeJavaFile(gitFixture, i % FILE_COUNT, methods);
+                    gitFixture.commit("feature");
+                    gitFixture.checkout(GitFixture.MASTER_BRANCH, false);
+                    gitFixture.merge("feature");
+                }
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        File[] outputFiles = new File(".").listFiles((directory, name) -> name.startsWith(repoNamePrefix));
+        if (outputFiles == null) return;
+
+        for (File outputFile : outputFiles) {
+            assertTrue(outputFile.delete(), outputFile.getName());
+        }
+    }
+
+    @Test
+    void rangeOutputEqualsSequentialOutput() throws Exception {
+        Map<String, String> sequentialOutput = analyze(repoNamePrefix + "sequential", 1);
+        Map<String, String> rangeOutput = analyze(repoNamePrefix + "range", 4);
+
+        assertEquals(MethodChangeDetectors.getDetectorNames().size(), sequentialOutput.size());
+        assertTrue(sequentialOutput.values().stream().anyMatch(output -> output.split("\n").length > 2),
+                "the fixture has method changes");
+        assertEquals(sequentialOutput, rangeOutput);
+    }
+
+    /**
+     * This method analyzes the fixture repository, and reads the output files of every detector.
+     *
+     * @param repoName         name of the repository (which is the prefix of the output files)
+     * @param commitRangeCount number of commit ranges
+     * @return the contents of the output files by their suffixes (after the repository name)
+     */
+    private Map<String, String> analyze(String repoName, int commitRangeCount) throws Exception {
+        try (LocalGitRepoSource repoSource = new LocalGitRepoSource(repoName, tempDirectory)) {
+            GithubRepoJavaFileAnalyzer githubRepoJavaFileAnalyzer = new GithubRepoJavaFileAnalyzer(repoSource);
+            githubRepoJavaFileAnalyzer.setMethodChangeDetectors(MethodChangeDetectors.getDetectors(MethodChangeDetectors.getDetectorNames()));
+            githubRepoJavaFileAnalyzer.setCommitRangeCount(commitRangeCount);
+            githubRepoJavaFileAnalyzer.analyzeJavaFileMethodParameterInMasterBranchCommits(0L);
+
+            // the merge commit is processed too, but the first commit has no previous version to compare with
+            assertEquals(COMMIT_COUNT, githubRepoJavaFileAnalyzer.getProcessedCommitCount());
+        }
+
+        Map<String, String> output = new TreeMap<>();
+        File[] outputFiles = new File(".").listFiles((directory, name) -> name.startsWith(repoName) && name.endsWith(".csv"));
+        assertNotNull(outputFiles);
+        for (File outputFile : outputFiles) {
+            output.put(outputFile.getName().substring(repoName.length()),
+                    new String(Files.readAllBytes(outputFile.toPath()), StandardCharsets.UTF_8));
+        }
+
+        return output;
+    }
+
+    private static void writeJavaFile(GitFixture gitFixture, int fileIndex, List<String> methods) throws Exception {
+        StringBuilder javaSource = new StringBuilder("package p;\n\nclass C" + fileIndex + " {\n");
+        for (String method : methods) {
+            javaSource.append("    ").append(method).append(" {\n        System.out.println();\n    }\n\n");
+        }
+        javaSource.append("}\n");
+
+        gitFixture.write("src/p/C" + fileIndex + ".java", javaSource.toString());
+    }
+}
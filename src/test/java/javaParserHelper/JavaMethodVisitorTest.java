@@ -0,0 +1,111 @@
+package javaParserHelper;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JavaMethodVisitorTest {
+    @Test
+    void sameNamedNestedClassesAtTheSameDepthHaveTheirOwnScopePaths() {
+        List<MethodStruct> methodStructs = getMethodSignatures(
+                "package p;",
+                "",
+                "class A {",
+                "    static class X {",
+                "        void run(int a) {}",
+                "    }",
+                "}",
+                "",
+                "class B {",
+                "    static class X {",
+                "        void run(int a) {}",
+                "    }",
+                "}");
+
+        assertEquals(Arrays.asList("p.A.X#run", "p.B.X#run"), getScopedNames(methodStructs));
+        assertNotEquals(methodStructs.get(0), methodStructs.get(1));
+        assertNotEquals(methodStructs.get(0).nameKey, methodStructs.get(1).nameKey);
+    }
+
+    @Test
+    void anonymousAndLocalClassesAreNamedByTheirMemberAndOrdinal() {
+        List<MethodStruct> methodStructs = getMethodSignatures(
+                "package p;",
+                "",
+                "class Outer {",
+                "    private final Runnable field = new Runnable() {",
+                "        public void run() {}",
+                "    };",
+                "",
+                "    void g() {",
+                "        new Thread(new Runnable() {",
+                "            public void run() {}",
+                "        }) {",
+                "            public void start() {}",
+                "        };",
+                "        class L {",
+                "            void local() {}",
+                "        }",
+                "    }",
+                "",
+                "    void h() {",
+                "        new Object() {",
+                "            void anonymous() {}",
+                "        };",
+                "    }",
+                "}");
+
+        // the anonymous class of an argument comes before the class which it is passed to
+        assertEquals(Arrays.asList("p.Outer.field$1#run", "p.Outer.g$1#run", "p.Outer.g$2#start", "p.Outer.g$3L#local",
+                "p.Outer#g", "p.Outer.h$1#anonymous", "p.Outer#h"), getScopedNames(methodStructs));
+    }
+
+    @Test
+    void enumConstantBodiesAreNamedByTheirConstants() {
+        List<MethodStruct> methodStructs = getMethodSignatures(
+                "package p;",
+                "",
+                "class Outer {",
+                "    enum E {",
+                "        X {",
+                "            void f() {}",
+                "        },",
+                "        Y,",
+                "        Z {",
+                "            void f() {}",
+                "        };",
+                "",
+                "        void f() {}",
+                "    }",
+                "}");
+
+        assertEquals(Arrays.asList("p.Outer.E.X#f", "p.Outer.E.Z#f", "p.Outer.E#f"), getScopedNames(methodStructs));
+    }
+
+    @Test
+    void typesWithoutAPackageStartTheScopePath() {
+        List<MethodStruct> methodStructs = getMethodSignatures(
+                "class A {",
+                "    void f(String s, int[] values) {}",
+                "}");
+
+        assertEquals(1, methodStructs.size());
+        assertEquals("A", methodStructs.get(0).scopePath);
+        assertEquals(Arrays.asList("String", "int[]"), methodStructs.get(0).parameters);
+    }
+
+    private static List<MethodStruct> getMethodSignatures(String... lines) {
+        return JavaMethodVisitor.getMethodSignatures(new StringReader(String.join("\n", lines)));
+    }
+
+    private static List<String> getScopedNames(List<MethodStruct> methodStructs) {
+        return methodStructs.stream()
+                .map(methodStruct -> methodStruct.scopePath + "#" + methodStruct.methodName)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,81 @@
+package javaParserHelper;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * This class measures how much blanking method bodies saves when the method signatures of a corpus
+ * (the Java sources of this project) are parsed. Every operation goes through the whole corpus.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MethodBodyStripperBenchmark {
+    private List<String> javaSources;
+    private List<String> strippedJavaSources;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<Path> javaFiles;
+        try (Stream<Path> paths = Files.walk(Paths.get("src", "main", "java"))) {
+            javaFiles = paths.filter(path -> path.toString().endsWith(".java")).collect(Collectors.toList());
+        }
+
+        javaSources = new ArrayList<>(javaFiles.size());
+        strippedJavaSources = new ArrayList<>(javaFiles.size());
+        for (Path javaFile : javaFiles) {
+            String javaSource = new String(Files.readAllBytes(javaFile), StandardCharsets.UTF_8);
+            String strippedSource = MethodBodyStripper.stripMethodBodies(javaSource);
+            javaSources.add(javaSource);
+            strippedJavaSources.add((strippedSource != null) ? strippedSource : javaSource);
+        }
+    }
+
+    @Benchmark
+    public void parseOriginalSources(Blackhole blackhole) {
+        for (String javaSource : javaSources) {
+            blackhole.consume(JavaMethodVisitor.getMethodSignatures(new StringReader(javaSource)));
+        }
+    }
+
+    @Benchmark
+    public void parseStrippedSources(Blackhole blackhole) {
+        for (String strippedJavaSource : strippedJavaSources) {
+            blackhole.consume(JavaMethodVisitor.getMethodSignatures(new StringReader(strippedJavaSource)));
+        }
+    }
+
+    /**
+     * This benchmark includes the cost of blanking, as {@link MethodSignatureCache} pays it for every parse.
+     */
+    @Benchmark
+    public void stripAndParseSources(Blackhole blackhole) {
+        for (String javaSource : javaSources) {
+            String strippedSource = MethodBodyStripper.stripMethodBodies(javaSource);
+            blackhole.consume(JavaMethodVisitor.getMethodSignatures(
+                    new StringReader((strippedSource != null) ? strippedSource : javaSource)));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MethodBodyStripperBenchmark.class.getSimpleName()).build()).run();
+    }
+}
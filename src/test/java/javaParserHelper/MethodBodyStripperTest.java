@@ -0,0 +1,291 @@
+package javaParserHelper;
+
+import com.github.javaparser.ParseProblemException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MethodBodyStripperTest {
+    private static final String NESTED_CLASSES_SOURCE = String.join("\n",
+            "package p;",
+            "",
+            "import java.util.*;",
+            "",
+            "public class Outer<T extends Comparable<T>> implements Iterable<T> {",
+            "    private final int[] values = {1, 2, 3};",
+            "    private static final Map<String, List<String>> MAP = new HashMap<>();",
+            "",
+            "    static {",
+            "        MAP.put(\"a\", new ArrayList<>());",
+            "    }",
+            "",
+            "    {",
+            "        System.out.println(values.length);",
+            "    }",
+            "",
+            "    public Outer() {",
+            "        this(0);",
+            "    }",
+            "",
+            "    Outer(int size) throws IllegalArgumentException {",
+            "        if (size < 0) { throw new IllegalArgumentException(); }",
+            "    }",
+            "",
+            "    @SuppressWarnings({\"unchecked\", \"rawtypes\"})",
+            "    public <E extends T> List<? super E> copy(List<E> list, Map<String, int[]>... maps) {",
+            "        return (List) list;",
+            "    }",
+            "",
+            "    public int legacy()[] {",
+            "        return values;",
+            "    }",
+            "",
+            "    @Override",
+            "    public Iterator<T> iterator() {",
+            "        return Collections.<T>emptyList().iterator();",
+            "    }",
+            "",
+            "    public static class Nested {",
+            "        void nested(String text) {",
+            "            switch (text) {",
+            "                case \"{\": { break; }",
+            "                default: break;",
+            "            }",
+            "        }",
+            "",
+            "        class Inner {",
+            "            java.util.List<java.lang.String> inner(java.lang.String... texts) { return null; }",
+            "        }",
+            "    }",
+            "",
+            "    interface Listener {",
+            "        void onEvent(Object event);",
+            "",
+            "        default boolean isEnabled() {",
+            "            return true;",
+            "        }",
+            "    }",
+            "",
+            "    enum Kind implements Listener {",
+            "        FIRST {",
+            "            @Override",
+            "            public void onEvent(Object event) { System.out.println(\"first\"); }",
+            "        },",
+            "        SECOND(2) {",
+            "            public void onEvent(Object event) {}",
+            "        };",
+            "",
+            "        Kind() { this(1); }",
+            "        Kind(int order) {}",
+            "",
+            "        int order() { return ordinal(); }",
+            "    }",
+            "",
+            "    abstract static class Base {",
+            "        abstract void run(Object[] arguments);",
+            "",
+            "        native long address();",
+            "    }",
+            "}",
+            "");
+
+    private static final String ANONYMOUS_CLASSES_SOURCE = String.join("\n",
+            "package p;",
+            "",
+            "class Anonymous {",
+            "    private final Runnable field = new Runnable() {",
+            "        public void run() { System.out.println(\"field\"); }",
+            "    };",
+            "",
+            "    Runnable create() {",
+            "        return new Runnable() {",
+            "            @Override",
+            "            public void run() {",
+            "                new Thread() {",
+            "                    public void run() {}",
+            "                }.start();",
+            "            }",
+            "        };",
+            "    }",
+            "",
+            "    java.util.List<String> list() {",
+            "        return new java.util.ArrayList<String>() {{",
+            "            add(\"x\");",
+            "        }};",
+            "    }",
+            "",
+            "    void local() {",
+            "        class Local {",
+            "            int value() { return 1; }",
+            "        }",
+            "        new Local().value();",
+            "    }",
+            "",
+            "    void plain(int a) {",
+            "        System.out.println(a);",
+            "    }",
+            "}",
+            "");
+
+    private static final String LAMBDAS_SOURCE = String.join("\n",
+            "package p;",
+            "",
+            "import java.util.Comparator;",
+            "import java.util.function.*;",
+            "",
+            "class Lambdas {",
+            "    private final Comparator<String> comparator = (a, b) -> {",
+            "        return a.compareTo(b);",
+            "    };",
+            "    private final Supplier<Runnable> supplier = () -> () -> {};",
+            "",
+            "    void run() {",
+            "        Runnable runnable = () -> {",
+            "            System.out.println(\"run\");",
+            "        };",
+            "        Function<Integer, Integer> square = x -> { return x * x; };",
+            "        BiFunction<String, String, String> concat = String::concat;",
+            "        runnable.run();",
+            "    }",
+            "",
+            "    Supplier<Object> anonymousInLambda() {",
+            "        return () -> new Object() {",
+            "            @Override",
+            "            public String toString() { return \"anonymous\"; }",
+            "        };",
+            "    }",
+            "",
+            "    <T> Consumer<T> consumer(Consumer<? super T> next) {",
+            "        return t -> { if (t != null) { next.accept(t); } };",
+            "    }",
+            "}",
+            "");
+
+    private static final String LITERALS_SOURCE = String.join("\n",
+            "package p;",
+            "",
+            "class Literals {",
+            "    static final char OPEN = '{';",
+            "    static final String BRACES = \"}{ /* not a comment */ // not a comment\";",
+            "",
+            "    // a comment with a brace { and a quote \"",
+            "    char open() { return '{'; }",
+            "",
+            "    char close() { return '}'; }",
+            "",
+            "    char quote() { return '\"'; }",
+            "",
+            "    char apostrophe() { return '\\''; }",
+            "",
+            "    char backslash() { return '\\\\'; }",
+            "",
+            "    /* a block comment with a brace } */",
+            "    String escaped() { return \"\\\"}\\\\\"; }",
+            "",
+            "    String text(String a) { return a + \"{\" + '}' + \"\\n\"; }",
+            "",
+            "    Class<?> type() { return String.class; }",
+            "}",
+            "");
+
+    @Test
+    void nestedClassesKeepTheirSignatures() {
+        String strippedSource = assertEquivalent(NESTED_CLASSES_SOURCE);
+
+        assertFalse(strippedSource.contains("this(0)"), "a constructor body is blanked");
+        assertFalse(strippedSource.contains("return values"), "a method body is blanked");
+        assertFalse(strippedSource.contains("case"), "a method body with inner blocks is blanked");
+        assertTrue(strippedSource.contains("MAP.put"), "an initializer block is kept");
+        assertTrue(strippedSource.contains("{1, 2, 3}"), "an array initializer is kept");
+    }
+
+    @Test
+    void bodiesDeclaringAnonymousOrLocalClassesAreKept() {
+        String strippedSource = assertEquivalent(ANONYMOUS_CLASSES_SOURCE);
+
+        assertTrue(strippedSource.contains("new Thread()"));
+        assertTrue(strippedSource.contains("add(\"x\")"));
+        assertTrue(strippedSource.contains("class Local"));
+        assertFalse(strippedSource.contains("System.out.println(a)"), "a body without classes is blanked");
+    }
+
+    @Test
+    void lambdasAreBlankedWithTheirMethods() {
+        String strippedSource = assertEquivalent(LAMBDAS_SOURCE);
+
+        assertFalse(strippedSource.contains("System.out.println(\"run\")"));
+        assertTrue(strippedSource.contains("\"anonymous\""), "a body with an anonymous class in a lambda is kept");
+        assertTrue(strippedSource.contains("a.compareTo(b)"), "a lambda of a field initializer is kept");
+    }
+
+    @Test
+    void bracesAndQuotesInLiteralsAndCommentsAreSkipped() {
+        String strippedSource = assertEquivalent(LITERALS_SOURCE);
+
+        assertFalse(strippedSource.contains("return"), "every method body is blanked");
+        assertEquals(LITERALS_SOURCE.split("\n", -1).length, strippedSource.split("\n", -1).length);
+    }
+
+    @Test
+    void textBlocksAndUnicodeEscapesAreNotStripped() {
+        assertNull(MethodBodyStripper.stripMethodBodies(
+                "class A {\n    String f() {\n        return \"\"\"\n            }\n            \"\"\";\n    }\n}\n"));
+
+        // an escaped brace opens a body as far as the compiler is concerned, but the tokenizer does not decode it
+        assertNull(MethodBodyStripper.stripMethodBodies("class A {\n    void f() \\u007B }\n    void g() {}\n}\n"));
+        assertNull(MethodBodyStripper.stripMethodBodies("class A {\n    String f() { return \"\\u0022}\"; }\n}\n"));
+    }
+
+    @Test
+    void unterminatedOrUnbalancedSourcesAreNotStripped() {
+        assertNull(MethodBodyStripper.stripMethodBodies("class A { void f() { String s = \"}; } }"));
+        assertNull(MethodBodyStripper.stripMethodBodies("class A { void f() { /* } }"));
+        assertNull(MethodBodyStripper.stripMethodBodies("class A { void f() { } } }"));
+        assertNull(MethodBodyStripper.stripMethodBodies("class A { void f() { }"));
+    }
+
+    @Test
+    void signaturesOfTheProjectSourcesAreKept() throws IOException {
+        List<Path> javaFiles;
+        try (Stream<Path> paths = Files.walk(Paths.get("src", "main", "java"))) {
+            javaFiles = paths.filter(path -> path.toString().endsWith(".java")).collect(Collectors.toList());
+        }
+        assertFalse(javaFiles.isEmpty());
+
+        int strippedFileCount = 0;
+        for (Path javaFile : javaFiles) {
+            String javaSource = new String(Files.readAllBytes(javaFile), StandardCharsets.UTF_8);
+            String strippedSource = MethodBodyStripper.stripMethodBodies(javaSource);
+            if (strippedSource == null) continue;
+
+            assertEquals(getMethodSignatures(javaSource), getMethodSignatures(strippedSource), javaFile.toString());
+            strippedFileCount++;
+        }
+        assertTrue(strippedFileCount > javaFiles.size() / 2, "most of the sources are stripped");
+    }
+
+    private static String assertEquivalent(String javaSource) {
+        String strippedSource = MethodBodyStripper.stripMethodBodies(javaSource);
+        assertNotNull(strippedSource);
+        assertEquals(javaSource.length(), strippedSource.length(), "the declarations stay at their offsets");
+
+        List<MethodStruct> methodSignatures = getMethodSignatures(javaSource);
+        assertFalse(methodSignatures.isEmpty());
+        assertEquals(methodSignatures, getMethodSignatures(strippedSource));
+        return strippedSource;
+    }
+
+    private static List<MethodStruct> getMethodSignatures(String javaSource) throws ParseProblemException {
+        return JavaMethodVisitor.getMethodSignatures(new StringReader(javaSource));
+    }
+}
@@ -0,0 +1,77 @@
+package javaParserHelper;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MethodSignaturePatchCheckerTest {
+    @Test
+    void bodyLessMethodsWithGenericReturnTypesAreHeaders() {
+        assertTrue(mayChange("List<String> names();", "List<String> names(int x);"));
+        assertTrue(mayChange("Map<K, V> get();", "Map<K, V> get(K k);"));
+        assertTrue(mayChange("Optional<T> find(String id);", "Optional<T> find(String id, int x);"));
+        assertTrue(mayChange("public abstract Map<String, List<Map<K, V>>> index();",
+                "public abstract Map<String, List<Map<K, V>>> index(boolean all);"));
+        assertTrue(mayChange("<T extends Comparable<? super T>> List<T> sort(List<T> list);",
+                "<T extends Comparable<? super T>> List<T> sort(List<T> list, boolean reversed);"));
+    }
+
+    @Test
+    void bodyLessMethodsWithArrayOrQualifiedReturnTypesAreHeaders() {
+        assertTrue(mayChange("int[] values();", "int[] values(int from);"));
+        assertTrue(mayChange("String[][] table();", "String [] [] table(int rows);"));
+        assertTrue(mayChange("Map<K, V>[] maps();", "Map<K, V>[] maps(int n);"));
+        assertTrue(mayChange("java.util.List<java.lang.String> names();", "java.util.List<java.lang.String> names(int x);"));
+        assertTrue(mayChange("Map.Entry<K, V> first();", "Map.Entry<K, V> first(K k);"));
+        assertTrue(mayChange("abstract void run();", "abstract void run(Object argument);"));
+        assertTrue(mayChange("@Nullable String name();", "@Nullable String name(int i);"));
+    }
+
+    @Test
+    void statementsAreNotHeaders() {
+        assertFalse(mayChange("return find(id);", "return find(id, 0);"));
+        assertFalse(mayChange("List<String> names = list(a);", "List<String> names = list(a, b);"));
+        assertFalse(mayChange("Map<K, V> map = new HashMap<>(size);", "Map<K, V> map = new HashMap<K, V>(size);"));
+        assertFalse(mayChange("throw new IllegalStateException(message);", "throw new IllegalArgumentException(message);"));
+        assertFalse(mayChange("return Collections.<T>emptyList();", "return Collections.<T>singletonList(t);"));
+        assertFalse(mayChange("consumer.accept(x -> f(x));", "consumer.accept(x -> g(x));"));
+        assertFalse(mayChange("boolean b = (a < c) && d(e, f > g);", "boolean b = (a < c) || d(e, f > g);"));
+        assertFalse(mayChange(".map(String::trim)", ".map(String::toLowerCase)"));
+    }
+
+    @Test
+    void commentsAndAnnotationsAreNotHeaders() {
+        assertFalse(mayChange("// List<String> names();", "// List<String> names(int x);"));
+        assertFalse(mayChange("/* Optional<T> find(String id); */", "/* Optional<T> find(String id, int x); */"));
+        assertFalse(mayChange("@Deprecated", "@SuppressWarnings(\"unchecked\")"));
+        assertFalse(mayChange("@Deprecated @Override", "@Named(value = \"(a)\") @Inject"));
+        assertTrue(mayChange("@Deprecated", "@interface Marker"));
+    }
+
+    @Test
+    void methodHeaderAfterAnAnnotationOnTheSameLineIsAHeader() {
+        assertTrue(mayChange("@SuppressWarnings(\"unchecked\") public <T> T get(int a)",
+                "@SuppressWarnings(\"unchecked\") public <T> T get(int a, int b)"));
+        assertTrue(mayChange("@Override void run()", "@Override void run(Object argument)"));
+        assertTrue(mayChange("@Nullable String name()", "@Nullable String name(int i)"));
+    }
+
+    @Test
+    void packageDeclarationMayChangeSignatures() {
+        assertTrue(mayChange("package p.q;", "package p.r;"));
+        assertTrue(mayChange("@Deprecated package p.q;", "@Deprecated package p.r;"));
+    }
+
+    @Test
+    void braceOrUnknownPatchMayChangeSignatures() {
+        assertTrue(mayChange("void f() {", "void f(int a) {"));
+        assertTrue(mayChange("x++;", "}"));
+        assertTrue(MethodSignaturePatchChecker.mayChangeMethodSignatures(null));
+        assertTrue(MethodSignaturePatchChecker.mayChangeMethodSignatures(""));
+    }
+
+    private static boolean mayChange(String removedLine, String addedLine) {
+        return MethodSignaturePatchChecker.mayChangeMethodSignatures(
+                "@@ -1,3 +1,3 @@\n     class A {\n-    " + removedLine + "\n+    " + addedLine + "\n }\n");
+    }
+}
@@ -0,0 +1,112 @@
+package outputSink;
+
+import changeDetector.MethodChange;
+import javaParserHelper.MethodStruct;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import threadUtil.ThreadPools;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvMethodChangeSinkTest {
+    @TempDir
+    File tempDirectory;
+
+    private ExecutorService writerExecutorService;
+
+    @BeforeEach
+    void setUp() {
+        writerExecutorService = ThreadPools.newFixedThreadPool("csv-writer", 1);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        ThreadPools.shutdown(writerExecutorService);
+    }
+
+    @Test
+    void quotesAndCommasAreEscapedInQuotedFields() throws Exception {
+        MethodStruct oldMethodStruct = new MethodStruct("p.A", "Map<String, Integer>", "f", Collections.singletonList("int"));
+        MethodStruct newMethodStruct = new MethodStruct("p.A", "Map<String, Integer>", "f",
+                Arrays.asList("int", "@Named(\"x, y\") String"));
+        String fileName = "src/\"quoted\", dir/A.java";
+
+        File file = new File(tempDirectory, "changes.csv");
+        try (CsvMethodChangeSink sink = new CsvMethodChangeSink(file, false, false, writerExecutorService, FlushPolicy.DEFAULT)) {
+            sink.write("sha1", fileName, new MethodChange(oldMethodStruct, newMethodStruct));
+            sink.write("sha1", fileName, new MethodChange(null, newMethodStruct));
+            sink.endCommit();
+            sink.sync();
+        }
+
+        String csv = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+        assertEquals("sha1,\"src/\"\"quoted\"\", dir/A.java\",\"Map<String, Integer>:f:int\"," +
+                        "\"Map<String, Integer>:f:int,@Named(\"\"x, y\"\") String\"\n" +
+                        "sha1,\"src/\"\"quoted\"\", dir/A.java\",\"\",\"Map<String, Integer>:f:int,@Named(\"\"x, y\"\") String\"\n",
+                csv);
+
+        // every row reads back as the original 4 fields
+        String[] rows = csv.split("\n");
+        assertEquals(Arrays.asList("sha1", fileName, "Map<String, Integer>:f:int", "Map<String, Integer>:f:int,@Named(\"x, y\") String"),
+                parseRow(rows[0]));
+        assertEquals(Arrays.asList("sha1", fileName, "", "Map<String, Integer>:f:int,@Named(\"x, y\") String"),
+                parseRow(rows[1]));
+    }
+
+    @Test
+    void headerIsWrittenOnlyIntoACreatedFile() throws Exception {
+        File file = new File(tempDirectory, "changes.csv");
+        try (CsvMethodChangeSink sink = new CsvMethodChangeSink(file, false, true, writerExecutorService, FlushPolicy.DEFAULT)) {
+            sink.sync();
+        }
+        try (CsvMethodChangeSink sink = new CsvMethodChangeSink(file, true, true, writerExecutorService, FlushPolicy.DEFAULT)) {
+            sink.sync();
+        }
+
+        assertEquals(CsvMethodChangeSink.CSV_HEADER + "\n",
+                new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * This method parses a CSV row whose fields may be quoted (RFC 4180).
+     */
+    private static List<String> parseRow(String row) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < row.length(); i++) {
+            char c = row.charAt(i);
+            if (quoted) {
+                if ((c == '"') && (i + 1 < row.length()) && (row.charAt(i + 1) == '"')) {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+
+        return fields;
+    }
+}
@@ -0,0 +1,131 @@
+package outputSink;
+
+import changeDetector.MethodChange;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import javaParserHelper.MethodStruct;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import threadUtil.ThreadPools;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NdjsonMethodChangeSinkTest {
+    private static final MethodChange METHOD_CHANGE = new MethodChange(
+            new MethodStruct("p.A", "void", "f", Collections.singletonList("int")),
+            new MethodStruct("p.A", "void", "f", Arrays.asList("int", "String")));
+
+    @TempDir
+    File tempDirectory;
+
+    private ExecutorService writerExecutorService;
+
+    @BeforeEach
+    void setUp() {
+        writerExecutorService = ThreadPools.newFixedThreadPool("ndjson-writer", 1);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        ThreadPools.shutdown(writerExecutorService);
+    }
+
+    @Test
+    void concatenatedGzipMembersAreReadAsOneStream() throws Exception {
+        File file = new File(tempDirectory, "changes.ndjson.gz");
+        try (NdjsonMethodChangeSink sink = createSink(file, false)) {
+            writeCommit(sink, "commit1");
+            writeCommit(sink, "commit2");
+        }
+
+        // a resumed run appends to the file, and a merge of commit ranges appends another gzipped file
+        File rangeFile = new File(tempDirectory, "range.ndjson.gz");
+        try (NdjsonMethodChangeSink sink = createSink(rangeFile, false)) {
+            writeCommit(sink, "commit4");
+        }
+        try (NdjsonMethodChangeSink sink = createSink(file, true)) {
+            writeCommit(sink, "commit3");
+            sink.appendFile(rangeFile);
+        }
+
+        assertTrue(countGzipMembers(Files.readAllBytes(file.toPath())) >= 4, "each chunk is a gzip member");
+        assertEquals(Arrays.asList("commit1", "commit2", "commit3", "commit4"), readCommitShas(file));
+    }
+
+    @Test
+    void gzipFileTruncatedAtASyncIsStillValid() throws Exception {
+        File file = new File(tempDirectory, "changes.ndjson.gz");
+        long checkpointLength;
+        try (NdjsonMethodChangeSink sink = createSink(file, false)) {
+            writeCommit(sink, "commit1");
+            checkpointLength = sink.sync();
+            writeCommit(sink, "commit2");
+        }
+        assertEquals(Arrays.asList("commit1", "commit2"), readCommitShas(file));
+
+        try (FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            fileChannel.truncate(checkpointLength);
+        }
+
+        assertEquals(Collections.singletonList("commit1"), readCommitShas(file));
+    }
+
+    private NdjsonMethodChangeSink createSink(File file, boolean append) throws IOException {
+        // every commit is handed to the writer thread as its own chunk
+        return new NdjsonMethodChangeSink(file, append, true, writerExecutorService, FlushPolicy.parse("commit"));
+    }
+
+    private static void writeCommit(NdjsonMethodChangeSink sink, String commitSha) throws IOException {
+        sink.write(commitSha, "src/A.java", METHOD_CHANGE);
+        sink.endCommit();
+    }
+
+    private static List<String> readCommitShas(File file) throws IOException {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        try (InputStream inputStream = new GZIPInputStream(new FileInputStream(file))) {
+            byte[] bytes = new byte[8192];
+            int length;
+            while ((length = inputStream.read(bytes)) >= 0) {
+                byteArrayOutputStream.write(bytes, 0, length);
+            }
+        }
+
+        List<String> commitShas = new ArrayList<>();
+        for (String line : new String(byteArrayOutputStream.toByteArray(), StandardCharsets.UTF_8).split("\n")) {
+            JsonObject jsonObject = JsonParser.parseString(line).getAsJsonObject();
+            assertEquals("void:f:int,String", jsonObject.get("newSignature").getAsString());
+            commitShas.add(jsonObject.get("commitSha").getAsString());
+        }
+
+        return commitShas;
+    }
+
+    private static int countGzipMembers(byte[] bytes) {
+        // the magic number and the deflate method start each member (and hardly ever appear inside one)
+        int memberCount = 0;
+        for (int i = 0; i + 2 < bytes.length; i++) {
+            if (((bytes[i] & 0xff) == 0x1f) && ((bytes[i + 1] & 0xff) == 0x8b) && (bytes[i + 2] == 8))
+                memberCount++;
+        }
+
+        return memberCount;
+    }
+}
@@ -0,0 +1,148 @@
+package repoSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import testUtil.GitFixture;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalGitRepoSourceTest {
+    @TempDir
+    File tempDirectory;
+
+    private GitFixture gitFixture;
+    private LocalGitRepoSource repoSource;
+
+    private String firstCommitSha;
+    private String secondCommitSha;
+    private String thirdCommitSha;
+    private String mergeCommitSha;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        gitFixture = new GitFixture(tempDirectory);
+
+        firstCommitSha = gitFixture
+                .write("src/A.java", "class A { void f(int a) {} }\n")
+                .write("src/Old.java", "class Old { void g() {} }\n")
+                .write("README.md", "readme\n")
+                .commit("first");
+
+        secondCommitSha = gitFixture
+                .write("src/A.java", "class A { void f(int a, int b) {} }\n")
+                .write("src/B.java", "class B {}\n")
+                .delete("src/Old.java")
+                .write("README.md", "readme 2\n")
+                .commit("second");
+
+        gitFixture.checkout("feature", true);
+        gitFixture.write("src/C.java", "class C {}\n").commit("feature");
+        gitFixture.checkout(GitFixture.MASTER_BRANCH, false);
+        thirdCommitSha = gitFixture.write("src/A.java", "class A { void f(int a, int b, int c) {} }\n").commit("third");
+        mergeCommitSha = gitFixture.merge("feature");
+
+        repoSource = new LocalGitRepoSource("owner/fixture", tempDirectory);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        repoSource.close();
+        gitFixture.close();
+    }
+
+    @Test
+    void latestCommitIsTheHeadOfMaster() throws Exception {
+        CommitInfo latestCommit = repoSource.getLatestCommitInfo();
+
+        assertEquals(mergeCommitSha, latestCommit.sha);
+        assertEquals(2, latestCommit.parentShas.size());
+        assertEquals(thirdCommitSha, latestCommit.getPreviousCommitSha());
+    }
+
+    @Test
+    void commitFilesAreDiffedAgainstTheFirstParent() throws Exception {
+        Map<String, CommitFile> files = toMap(repoSource.getCommitInfo(secondCommitSha).files);
+
+        assertEquals(CommitFile.FileStatus.MODIFIED, files.get("src/A.java").status);
+        assertEquals(CommitFile.FileStatus.ADDED, files.get("src/B.java").status);
+        assertEquals(CommitFile.FileStatus.REMOVED, files.get("src/Old.java").status);
+        assertEquals(CommitFile.FileStatus.MODIFIED, files.get("README.md").status);
+
+        String patch = files.get("src/A.java").patch;
+        assertNotNull(patch);
+        assertTrue(patch.contains("-class A { void f(int a) {} }"));
+        assertTrue(patch.contains("+class A { void f(int a, int b) {} }"));
+        assertNull(files.get("README.md").patch, "only the patches of Java files are created");
+    }
+
+    @Test
+    void mergeCommitIsDiffedAgainstItsFirstParent() throws Exception {
+        Map<String, CommitFile> files = toMap(repoSource.getCommitInfo(mergeCommitSha).files);
+
+        assertEquals(Collections.singleton("src/C.java"), files.keySet());
+        assertEquals(CommitFile.FileStatus.ADDED, files.get("src/C.java").status);
+    }
+
+    @Test
+    void rootCommitHasNoPreviousCommit() throws Exception {
+        CommitInfo rootCommit = repoSource.getCommitInfo(firstCommitSha);
+
+        assertNull(rootCommit.getPreviousCommitSha());
+        assertEquals(3, rootCommit.files.size());
+    }
+
+    @Test
+    void fileVersionsAreReadByCommit() throws Exception {
+        assertEquals("class A { void f(int a) {} }\n", repoSource.getRepoFileAsString(firstCommitSha, "src/A.java"));
+        assertEquals("class A { void f(int a, int b) {} }\n", repoSource.getRepoFileAsString(secondCommitSha, "src/A.java"));
+
+        assertThrows(FileNotFoundException.class, () -> repoSource.getRepoFileAsString(secondCommitSha, "src/Old.java"));
+        assertThrows(IOException.class, () -> repoSource.getCommitInfo("0123456789012345678901234567890123456789"));
+    }
+
+    @Test
+    void firstParentHistorySkipsTheMergedBranch() throws Exception {
+        assertEquals(Arrays.asList(mergeCommitSha, thirdCommitSha, secondCommitSha, firstCommitSha),
+                repoSource.getFirstParentCommitShas(mergeCommitSha, Long.MAX_VALUE));
+        assertEquals(Arrays.asList(mergeCommitSha, thirdCommitSha),
+                repoSource.getFirstParentCommitShas(mergeCommitSha, 2));
+    }
+
+    @Test
+    void previousCommitsLeaveOutTheFilesRejectedByTheFilter() throws Exception {
+        List<CommitInfo> previousCommits = repoSource.getPreviousCommitInfos(repoSource.getCommitInfo(mergeCommitSha), 10,
+                FilePathFilter.ofJavaFiles());
+
+        assertEquals(3, previousCommits.size());
+        assertEquals(thirdCommitSha, previousCommits.get(0).sha);
+        assertEquals(secondCommitSha, previousCommits.get(1).sha);
+        assertEquals(firstCommitSha, previousCommits.get(2).sha);
+
+        Map<String, CommitFile> files = toMap(previousCommits.get(1).files);
+        assertFalse(files.containsKey("README.md"));
+        assertEquals(3, files.size());
+
+        assertEquals(1, repoSource.getPreviousCommitInfos(repoSource.getCommitInfo(mergeCommitSha), 1,
+                FilePathFilter.ofJavaFiles()).size());
+    }
+
+    private static Map<String, CommitFile> toMap(List<CommitFile> commitFiles) {
+        Map<String, CommitFile> files = new HashMap<>();
+        for (CommitFile commitFile : commitFiles) {
+            files.put(commitFile.fileName, commitFile);
+        }
+
+        return files;
+    }
+}
@@ -0,0 +1,155 @@
+package restApi;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import testUtil.StubHttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JavaHttpTransportTest {
+    private StubHttpServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new StubHttpServer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void gzippedBodyIsDecodedWithTheCharsetOfTheContentType() throws Exception {
+        AtomicReference<String> acceptEncoding = new AtomicReference<>();
+        server.handle("/gzip", exchange -> {
+            acceptEncoding.set(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+
+            ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(byteArrayOutputStream)) {
+                gzipOutputStream.write("caf\u00e9".getBytes(StandardCharsets.ISO_8859_1));
+            }
+
+            Map<String, String> headers = new HashMap<>();
+            headers.put("Content-Encoding", "gzip");
+            headers.put("Content-Type", "text/plain; charset=ISO-8859-1");
+            StubHttpServer.respond(exchange, 200, headers, byteArrayOutputStream.toByteArray());
+        });
+
+        HttpTransportResponse response = new JavaHttpTransport().getAsync(server.getUri("/gzip"), Collections.emptyMap())
+                .get(10, TimeUnit.SECONDS);
+
+        assertEquals("gzip", acceptEncoding.get());
+        assertEquals(200, response.statusCode);
+        assertEquals("caf\u00e9", response.body);
+        assertEquals("text/plain; charset=ISO-8859-1", response.getFirstHeader("content-type"));
+    }
+
+    @Test
+    void requestHeadersAndErrorResponsesArePassedThrough() throws Exception {
+        server.handle("/missing", exchange -> StubHttpServer.respond(exchange, 404, Collections.singletonMap("ETag", "\"x\""),
+                exchange.getRequestHeaders().getFirst("Authorization").getBytes(StandardCharsets.UTF_8)));
+
+        HttpTransportResponse response = new JavaHttpTransport().getAsync(server.getUri("/missing"),
+                Collections.singletonMap("Authorization", "token abc")).get(10, TimeUnit.SECONDS);
+
+        assertEquals(404, response.statusCode);
+        assertEquals("token abc", response.body);
+        assertEquals("\"x\"", response.getFirstHeader("ETag"));
+    }
+
+    @Test
+    void concurrentRequestsToAHostAreLimited() throws Exception {
+        AtomicInteger runningRequestCount = new AtomicInteger();
+        AtomicInteger maxRunningRequestCount = new AtomicInteger();
+        server.handle("/slow", exchange -> {
+            int running = runningRequestCount.incrementAndGet();
+            maxRunningRequestCount.accumulateAndGet(running, Math::max);
+            try {
+                Thread.sleep(100L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            runningRequestCount.decrementAndGet();
+
+            StubHttpServer.respond(exchange, 200, Collections.emptyMap(), exchange.getRequestURI().getQuery()
+                    .getBytes(StandardCharsets.UTF_8));
+        });
+
+        JavaHttpTransport httpTransport = new JavaHttpTransport(2);
+        List<CompletableFuture<HttpTransportResponse>> responses = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            responses.add(httpTransport.getAsync(server.getUri("/slow?" + i), Collections.emptyMap()));
+        }
+
+        for (int i = 0; i < responses.size(); i++) {
+            assertEquals(Integer.toString(i), responses.get(i).get(30, TimeUnit.SECONDS).body);
+        }
+        assertTrue(maxRunningRequestCount.get() <= 2, "at most 2 requests run at the same time");
+        assertTrue(maxRunningRequestCount.get() >= 1);
+    }
+
+    @Test
+    void streamedBodyIsDecodedWhileItIsRead() throws Exception {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            text.append("line ").append(i).append('\n');
+        }
+        server.handle("/large", exchange -> {
+            ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(byteArrayOutputStream)) {
+                gzipOutputStream.write(text.toString().getBytes(StandardCharsets.UTF_8));
+            }
+            StubHttpServer.respond(exchange, 200, Collections.singletonMap("Content-Encoding", "gzip"),
+                    byteArrayOutputStream.toByteArray());
+        });
+
+        try (HttpTransportStreamResponse response = new JavaHttpTransport().getStreamAsync(server.getUri("/large"),
+                Collections.emptyMap()).get(10, TimeUnit.SECONDS)) {
+            assertEquals(200, response.statusCode);
+            assertEquals("", response.body);
+
+            char[] firstChars = new char[7];
+            int firstCharCount = 0;
+            while (firstCharCount < firstChars.length) {
+                firstCharCount += response.bodyReader.read(firstChars, firstCharCount, firstChars.length - firstCharCount);
+            }
+            assertEquals("line 0\n", new String(firstChars));
+            assertEquals(text.substring(7), response.readBody().body);
+        }
+    }
+
+    @Test
+    void streamedResponseHoldsItsRequestSlotUntilItIsClosed() throws Exception {
+        server.handle("/stream", exchange -> StubHttpServer.respond(exchange, 200, Collections.emptyMap(),
+                "body".getBytes(StandardCharsets.UTF_8)));
+
+        JavaHttpTransport httpTransport = new JavaHttpTransport(1);
+        HttpTransportStreamResponse firstResponse = httpTransport.getStreamAsync(server.getUri("/stream"),
+                Collections.emptyMap()).get(10, TimeUnit.SECONDS);
+        CompletableFuture<HttpTransportStreamResponse> secondResponse = httpTransport.getStreamAsync(server.getUri("/stream"),
+                Collections.emptyMap());
+
+        Thread.sleep(200L);
+        assertFalse(secondResponse.isDone(), "the second request waits while the first body is open");
+
+        firstResponse.close();
+        try (HttpTransportStreamResponse response = secondResponse.get(10, TimeUnit.SECONDS)) {
+            assertEquals("body", response.readBody().body);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package restApi;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitSchedulerTest {
+    @Test
+    void requestsAreNotPacedBeforeTheBudgetIsKnown() {
+        RateLimitScheduler rateLimitScheduler = new RateLimitScheduler(2);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(rateLimitScheduler.acquire().isDone());
+        }
+    }
+
+    @Test
+    void exhaustedBudgetWaitsForTheResetAndIsRestored() throws Exception {
+        RateLimitScheduler rateLimitScheduler = new RateLimitScheduler();
+        long resetTimeSeconds = System.currentTimeMillis() / 1000L + 1L;
+        assertFalse(rateLimitScheduler.onResponse(createResponse(200, 5000L, 0L, resetTimeSeconds)));
+
+        CompletableFuture<Void> request = rateLimitScheduler.acquire();
+        assertFalse(request.isDone(), "a request must wait for the reset instead of being sent at once");
+
+        request.get(10L, TimeUnit.SECONDS);
+        assertTrue(System.currentTimeMillis() >= resetTimeSeconds * 1000L);
+        assertEquals(4999L, rateLimitScheduler.getRemaining(), "the full budget is restored after the reset");
+
+        // the next requests of the restored window are not paused until the end of time
+        rateLimitScheduler.acquire().get(10L, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void rejectedRequestWithAnExhaustedBudgetIsNotSentAgainAtOnce() throws Exception {
+        RateLimitScheduler rateLimitScheduler = new RateLimitScheduler();
+        long resetTimeSeconds = System.currentTimeMillis() / 1000L + 1L;
+        assertTrue(rateLimitScheduler.onResponse(createResponse(403, 60L, 0L, resetTimeSeconds)));
+        assertEquals(1L, rateLimitScheduler.getRateLimitedResponseCount());
+
+        CompletableFuture<Void> retry = rateLimitScheduler.acquire();
+        assertFalse(retry.isDone());
+        retry.get(10L, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void hugeRetryAfterDoesNotOverflow() {
+        RateLimitScheduler rateLimitScheduler = new RateLimitScheduler();
+        HttpTransportResponse response = new HttpTransportResponse(429,
+                Collections.singletonMap("Retry-After", Collections.singletonList("99999999999999999")), "");
+        assertTrue(rateLimitScheduler.onResponse(response));
+
+        assertTrue(rateLimitScheduler.getAvailableTimeMillis() > System.currentTimeMillis());
+        assertFalse(rateLimitScheduler.acquire().isDone());
+    }
+
+    private static HttpTransportResponse createResponse(int statusCode, long limit, long remaining, long resetTimeSeconds) {
+        Map<String, List<String>> headers = new HashMap<>();
+        headers.put("X-RateLimit-Limit", Collections.singletonList(Long.toString(limit)));
+        headers.put("X-RateLimit-Remaining", Collections.singletonList(Long.toString(remaining)));
+        headers.put("X-RateLimit-Reset", Collections.singletonList(Long.toString(resetTimeSeconds)));
+        return new HttpTransportResponse(statusCode, headers, "");
+    }
+}
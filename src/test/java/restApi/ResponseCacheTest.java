@@ -0,0 +1,97 @@
+package restApi;
+
+import com.google.gson.JsonElement;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import testUtil.StubHttpServer;
+
+import javax.ws.rs.client.WebTarget;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheTest {
+    private static final String ETAG = "\"v1\"";
+
+    @TempDir
+    File cacheDirectory;
+
+    private StubHttpServer server;
+    private final List<String> receivedIfNoneMatchHeaders = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new StubHttpServer();
+        server.handle("/resource", exchange -> {
+            String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+            receivedIfNoneMatchHeaders.add(String.valueOf(ifNoneMatch));
+
+            if (ETAG.equals(ifNoneMatch))
+                StubHttpServer.respond(exchange, 304, Collections.singletonMap("ETag", ETAG), null);
+            else
+                StubHttpServer.respond(exchange, 200, Collections.singletonMap("ETag", ETAG),
+                        "{\"name\":\"first\"}".getBytes(StandardCharsets.UTF_8));
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void cachedResponseIsRevalidatedByItsETag() throws Exception {
+        ResponseCache responseCache = new ResponseCache(cacheDirectory);
+        RestApiClient restApiClient = createRestApiClient(responseCache);
+        WebTarget webTarget = restApiClient.getRootWebTarget().path("resource");
+
+        JsonElement firstResponse = restApiClient.getJsonResponse(webTarget);
+        JsonElement secondResponse = restApiClient.getJsonResponse(webTarget);
+
+        assertEquals("first", firstResponse.getAsJsonObject().get("name").getAsString());
+        assertEquals(firstResponse, secondResponse);
+        assertEquals(Arrays.asList("null", ETAG), receivedIfNoneMatchHeaders);
+        assertEquals(1L, responseCache.getStoredCount());
+        assertEquals(1L, responseCache.getNotModifiedCount());
+    }
+
+    @Test
+    void immutableResponseIsServedFromTheCacheWithoutARequest() throws Exception {
+        RestApiClient firstRestApiClient = createRestApiClient(new ResponseCache(cacheDirectory));
+        firstRestApiClient.getJsonResponse(firstRestApiClient.getRootWebTarget().path("resource"), true);
+
+        // a new cache on the same directory (as in a later run) still has the response
+        ResponseCache responseCache = new ResponseCache(cacheDirectory);
+        RestApiClient restApiClient = createRestApiClient(responseCache);
+        JsonElement response = restApiClient.getJsonResponse(restApiClient.getRootWebTarget().path("resource"), true);
+
+        assertEquals("first", response.getAsJsonObject().get("name").getAsString());
+        assertEquals(1, receivedIfNoneMatchHeaders.size());
+        assertEquals(1L, responseCache.getImmutableHitCount());
+    }
+
+    @Test
+    void responseIsNotCachedWithoutACache() throws Exception {
+        RestApiClient restApiClient = createRestApiClient(null);
+        WebTarget webTarget = restApiClient.getRootWebTarget().path("resource");
+
+        restApiClient.getJsonResponse(webTarget, true);
+        restApiClient.getJsonResponse(webTarget, true);
+
+        assertEquals(Arrays.asList("null", "null"), receivedIfNoneMatchHeaders);
+        assertEquals(0, cacheDirectory.list().length);
+    }
+
+    private RestApiClient createRestApiClient(ResponseCache responseCache) {
+        RestApiClient restApiClient = new RestApiClient(server.getUrl(), "", "", new JavaHttpTransport());
+        restApiClient.setResponseCache(responseCache);
+        return restApiClient;
+    }
+}
@@ -0,0 +1,44 @@
+package restApi.github;
+
+import com.google.gson.stream.JsonReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GithubCommitFileTest {
+    private static final String FILES_JSON = "[" +
+            "{\"sha\":\"1\",\"filename\":\"src/A.java\",\"status\":\"modified\",\"additions\":1,\"patch\":\"@@ -1 +1 @@\\n-a\\n+b\"}," +
+            "{\"sha\":\"2\",\"filename\":\"src/B.java\",\"status\":\"added\",\"patch\":\"@@ -0,0 +1 @@\\n+b\"}," +
+            "{\"sha\":\"3\",\"filename\":\"README.md\",\"status\":\"modified\",\"patch\":\"@@ -1 +1 @@\\n-a\\n+b\"}," +
+            "{\"patch\":\"@@ -1 +1 @@\\n-c\\n+d\",\"status\":\"modified\",\"filename\":\"src/C.java\"}," +
+            "{\"patch\":\"@@ -1 +1 @@\\n-c\\n+d\",\"filename\":\"src/D.java\",\"status\":\"removed\"}," +
+            "{\"filename\":\"src/E.java\",\"status\":\"modified\"}" +
+            "]";
+
+    @Test
+    void onlyThePatchesOfModifiedJavaFilesAreKept() throws Exception {
+        List<GithubCommitFile> files = GithubCommitFile.readList(new JsonReader(new StringReader(FILES_JSON)), true);
+
+        assertEquals(6, files.size());
+        assertEquals("src/A.java", files.get(0).fileName);
+        assertEquals("modified", files.get(0).status);
+        assertEquals("@@ -1 +1 @@\n-a\n+b", files.get(0).patch);
+        assertNull(files.get(1).patch, "the patch of an added file is not kept");
+        assertNull(files.get(2).patch, "the patch of a file which is not a Java file is not kept");
+        assertEquals("@@ -1 +1 @@\n-c\n+d", files.get(3).patch, "the order of the fields does not matter");
+        assertNull(files.get(4).patch);
+        assertNull(files.get(5).patch, "Github omits the patch of a large diff");
+    }
+
+    @Test
+    void patchesAreNotReadIfNotNeeded() throws Exception {
+        List<GithubCommitFile> files = GithubCommitFile.readList(new JsonReader(new StringReader(FILES_JSON)), false);
+
+        for (GithubCommitFile file : files) {
+            assertNull(file.patch);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package testUtil;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.MergeCommand;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.revwalk.RevCommit;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * This class builds a small Git repository for tests, one commit at a time.
+ */
+public class GitFixture implements Closeable {
+    //region constant variables
+
+    public static final String MASTER_BRANCH = "master";
+
+    //endregion
+
+
+    //region variables
+
+    private final File directory;
+    private final Git git;
+
+    //endregion
+
+
+    //region constructors
+
+    /**
+     * @param directory working directory of the repository (created if it does not exist)
+     * @throws GitAPIException if the repository cannot be created
+     */
+    public GitFixture(File directory) throws GitAPIException {
+        this.directory = directory;
+        this.git = Git.init().setDirectory(directory).setInitialBranch(MASTER_BRANCH).call();
+    }
+
+    //endregion
+
+
+    //region directory getter
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    //endregion
+
+
+    //region methods
+
+    /**
+     * This method writes a file into the working directory and stages it.
+     *
+     * @param path    path of the file in the repository
+     * @param content content of the file
+     * @return this fixture
+     * @throws Exception if any error occurs
+     */
+    public GitFixture write(String path, String content) throws Exception {
+        File file = new File(directory, path);
+        Files.createDirectories(file.getParentFile().toPath());
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+
+        git.add().addFilepattern(path).call();
+        return this;
+    }
+
+    /**
+     * This method deletes a file from the working directory and stages the deletion.
+     *
+     * @param path path of the file in the repository
+     * @return this fixture
+     * @throws Exception if any error occurs
+     */
+    public GitFixture delete(String path) throws Exception {
+        git.rm().addFilepattern(path).call();
+        return this;
+    }
+
+    /**
+     * This method commits the staged changes.
+     *
+     * @param message commit message
+     * @return the SHA value of the commit
+     * @throws GitAPIException if the commit fails
+     */
+    public String commit(String message) throws GitAPIException {
+        RevCommit commit = git.commit().setMessage(message).setAuthor("tester", "tester@example.com")
+                .setCommitter("tester", "tester@example.com").call();
+        return commit.getName();
+    }
+
+    /**
+     * This method switches to a branch, creating it at the current commit if it does not exist.
+     *
+     * @param branchName name of the branch
+     * @param created    true to create the branch
+     * @throws GitAPIException if the checkout fails
+     */
+    public void checkout(String branchName, boolean created) throws GitAPIException {
+        git.checkout().setName(branchName).setCreateBranch(created).call();
+    }
+
+    /**
+     * This method merges a branch into the current branch with a merge commit.
+     *
+     * @param branchName name of the merged branch
+     * @return the SHA value of the merge commit
+     * @throws Exception if the merge fails
+     */
+    public String merge(String branchName) throws Exception {
+        return git.merge().include(git.getRepository().resolve(branchName))
+                .setFastForward(MergeCommand.FastForwardMode.NO_FF).setMessage("merge " + branchName)
+                .call().getNewHead().getName();
+    }
+
+    @Override
+    public void close() throws IOException {
+        git.close();
+    }
+
+    //endregion
+}
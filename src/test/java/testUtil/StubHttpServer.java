@@ -0,0 +1,107 @@
+package testUtil;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * This class is an in-process HTTP server on a free local port, for testing HTTP clients without the network.
+ */
+public class StubHttpServer implements Closeable {
+    //region constant variables
+
+    private static final int HANDLER_THREAD_COUNT = 16;
+
+    //endregion
+
+
+    //region variables
+
+    private final HttpServer httpServer;
+    private final ExecutorService executorService = Executors.newFixedThreadPool(HANDLER_THREAD_COUNT);
+
+    //endregion
+
+
+    //region constructors
+
+    /**
+     * @throws IOException if the server cannot be started
+     */
+    public StubHttpServer() throws IOException {
+        httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        httpServer.setExecutor(executorService);
+        httpServer.start();
+    }
+
+    //endregion
+
+
+    //region methods
+
+    /**
+     * This method sets the handler of the requests whose paths start with a given path.
+     *
+     * @param path    path of the requests
+     * @param handler handler of the requests
+     * @return this server
+     */
+    public StubHttpServer handle(String path, HttpHandler handler) {
+        httpServer.createContext(path, handler);
+        return this;
+    }
+
+    /**
+     * @return the root URL of the server (without a trailing slash)
+     */
+    public String getUrl() {
+        return "http://" + httpServer.getAddress().getHostString() + ":" + httpServer.getAddress().getPort();
+    }
+
+    public URI getUri(String path) {
+        return URI.create(getUrl() + path);
+    }
+
+    @Override
+    public void close() {
+        httpServer.stop(0);
+        executorService.shutdownNow();
+    }
+
+    //endregion
+
+
+    //region static methods
+
+    /**
+     * This method sends a response with the given headers and body.
+     *
+     * @param exchange   exchange of the request
+     * @param statusCode status code of the response
+     * @param headers    headers of the response
+     * @param body       body of the response (here, null means no body)
+     * @throws IOException if the response cannot be sent
+     */
+    public static void respond(HttpExchange exchange, int statusCode, Map<String, String> headers, byte[] body) throws IOException {
+        headers.forEach(exchange.getResponseHeaders()::set);
+        exchange.sendResponseHeaders(statusCode, (body == null) ? -1 : body.length);
+        if (body != null) {
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        }
+        exchange.close();
+    }
+
+    //endregion
+}
@@ -0,0 +1,90 @@
+package threadUtil;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FairSharePermitsTest {
+    private static final long TIMEOUT_MILLIS = 10_000L;
+
+    @Test
+    void repositoryWithSeveralPipelinesCannotStarveAnother() throws Exception {
+        FairSharePermits fetchPermits = new FairSharePermits(1);
+        fetchPermits.acquire("large");
+
+        // the 4 commit range pipelines of the large repository wait before the only pipeline of the small repository
+        List<String> grantedParties = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> pipelineThreads = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            pipelineThreads.add(startPipeline(fetchPermits, "large", i, grantedParties));
+        }
+        pipelineThreads.add(startPipeline(fetchPermits, "small", 1, grantedParties));
+
+        fetchPermits.release();
+        for (Thread pipelineThread : pipelineThreads) {
+            pipelineThread.join(TIMEOUT_MILLIS);
+            assertFalse(pipelineThread.isAlive());
+        }
+
+        // in arrival order, the small repository would have waited for all of the large one
+        assertEquals(Arrays.asList("large", "small", "large", "large", "large"), grantedParties);
+        assertEquals(1, fetchPermits.getAvailablePermitCount());
+    }
+
+    @Test
+    void interruptedWaitHoldsNoPermitAndLeavesTheTurns() throws Exception {
+        FairSharePermits fetchPermits = new FairSharePermits(1);
+        fetchPermits.acquire("a");
+
+        List<String> grantedParties = Collections.synchronizedList(new ArrayList<>());
+        Thread interruptedThread = startPipeline(fetchPermits, "b", 1, grantedParties);
+        interruptedThread.interrupt();
+        interruptedThread.join(TIMEOUT_MILLIS);
+        assertFalse(interruptedThread.isAlive());
+        assertEquals(0, fetchPermits.getWaitingCount("b"));
+
+        fetchPermits.release();
+        assertEquals(1, fetchPermits.getAvailablePermitCount());
+
+        fetchPermits.acquire("c");
+        assertEquals(0, fetchPermits.getAvailablePermitCount());
+        assertTrue(grantedParties.isEmpty());
+    }
+
+    /**
+     * This method starts a thread which takes a permit for a download, and waits until the thread is in the queue.
+     *
+     * @param fetchPermits   permits
+     * @param party          name of the repository
+     * @param waitingCount   number of the waiting downloads of the repository with the new one
+     * @param grantedParties repositories in the order of the granted permits
+     * @return the thread
+     */
+    private static Thread startPipeline(FairSharePermits fetchPermits, String party, int waitingCount,
+                                        List<String> grantedParties) throws InterruptedException {
+        Thread pipelineThread = new Thread(() -> {
+            try {
+                fetchPermits.acquire(party);
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            grantedParties.add(party);
+            fetchPermits.release();
+        }, "pipeline-" + party + "-" + waitingCount);
+        pipelineThread.start();
+
+        long deadlineMillis = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (fetchPermits.getWaitingCount(party) < waitingCount) {
+            assertTrue(System.currentTimeMillis() < deadlineMillis, "the download waits for a permit");
+            Thread.sleep(1L);
+        }
+
+        return pipelineThread;
+    }
+}